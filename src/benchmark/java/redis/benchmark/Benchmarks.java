@@ -0,0 +1,46 @@
+package redis.benchmark;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.Main;
+
+/**
+ * Run the JMH benchmarks and keep their results as JSON, so that two releases can be compared with a plain diff.
+ * <p>
+ * The arguments are the ones of JMH; the result file and format are only added when they are not given. Benchmarks build their data from fixed seeds, so that every run measures the same work.
+ *
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark.args="SortedSetBenchmark" -Dbenchmark.result=target/jmh/sorted-set.json
+ * </pre>
+ */
+public class Benchmarks {
+
+	public static final String RESULT_PROPERTY = "benchmark.result";
+	public static final String DEFAULT_RESULT = "target/jmh/result.json";
+
+	public static void main(String[] args) throws Exception {
+		final var arguments = new ArrayList<>(List.of(args));
+
+		if (!arguments.contains("-rf")) {
+			arguments.addAll(List.of("-rf", "json"));
+		}
+
+		if (!arguments.contains("-rff")) {
+			final var result = Path.of(System.getProperty(RESULT_PROPERTY, DEFAULT_RESULT));
+
+			final var parent = result.toAbsolutePath().getParent();
+			if (parent != null) {
+				Files.createDirectories(parent);
+			}
+
+			arguments.addAll(List.of("-rff", result.toString()));
+		}
+
+		Main.main(arguments.toArray(String[]::new));
+	}
+
+}
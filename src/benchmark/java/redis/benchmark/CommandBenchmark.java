@@ -0,0 +1,110 @@
+package redis.benchmark;
+
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import redis.Redis;
+import redis.client.Client;
+import redis.command.Arguments;
+import redis.configuration.Configuration;
+import redis.serial.IncrementalDeserializer;
+import redis.serial.Serializer;
+import redis.store.Storage;
+
+/**
+ * Whole path of a command without the socket: parse, execute and serialize the response.
+ * <p>
+ * Run with <code>-prof gc</code> to see the allocations per command.
+ *
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark.args="CommandBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CommandBenchmark {
+
+	private static final byte[] GET = "*2\r\n$3\r\nGET\r\n$3\r\nkey\r\n".getBytes();
+	private static final byte[] SET = "*3\r\n$3\r\nSET\r\n$3\r\nkey\r\n$16\r\nvvvvvvvvvvvvvvvv\r\n".getBytes();
+	private static final byte[] INCR = "*2\r\n$4\r\nINCR\r\n$7\r\ncounter\r\n".getBytes();
+	private static final byte[] PING = "*1\r\n$4\r\nPING\r\n".getBytes();
+
+	@Param({ "yes", "no" })
+	private String latencyTracking;
+
+	private final Client client = new Client() {};
+	private final Arguments arguments = new Arguments();
+
+	private Redis redis;
+	private IncrementalDeserializer deserializer;
+	private Serializer serializer;
+
+	@Setup
+	public void setup() {
+		final var configuration = new Configuration();
+		configuration.latencyTracking().set(latencyTracking);
+
+		redis = new Redis(configuration, new Storage());
+		redis.start();
+
+		deserializer = new IncrementalDeserializer();
+		serializer = new Serializer(OutputStream.nullOutputStream());
+
+		execute(SET);
+	}
+
+	@Benchmark
+	public Object get() {
+		return execute(GET);
+	}
+
+	@Benchmark
+	public Object set() {
+		return execute(SET);
+	}
+
+	@Benchmark
+	public Object incr() {
+		return execute(INCR);
+	}
+
+	@Benchmark
+	public Object ping() {
+		return execute(PING);
+	}
+
+	private Object execute(byte[] request) {
+		final var buffer = ByteBuffer.wrap(request);
+		if (!deserializer.readArguments(buffer, arguments)) {
+			throw new IllegalStateException("request not read");
+		}
+
+		final var response = redis.evaluate(client, arguments, request.length, () -> buffer.flip());
+
+		try {
+			serializer.write(response.value());
+		} catch (Exception exception) {
+			throw new IllegalStateException(exception);
+		}
+
+		return response;
+	}
+
+}
@@ -0,0 +1,317 @@
+package redis.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import redis.Main;
+import redis.Redis;
+import redis.configuration.Configuration;
+import redis.server.Server;
+import redis.store.Storage;
+
+/**
+ * Compare the I/O modes with many connections open at once, most of them idle.
+ * <p>
+ * Every connection sends a first command so that the server really serves it, then only the active ones keep sending it in a closed loop.
+ * The command is either <code>PING</code>, or a <code>GET</code> or <code>SET</code> of a value of <code>--value-size</code> bytes.
+ * <p>
+ * Client and server share the process: 50k connections need <code>ulimit -n</code> above 100k.
+ *
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark.main=redis.benchmark.ConnectionBenchmark -Dbenchmark.args="--modes blocking,nio --connections 1000,10000,50000 --active 100 --duration 10"
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark.main=redis.benchmark.ConnectionBenchmark -Dbenchmark.args="--modes nio --io-threads 0,2,4 --command get --value-size 4096 --connections 200 --active 200"
+ * </pre>
+ */
+public class ConnectionBenchmark {
+
+	private static final byte[] KEY = "key".getBytes();
+
+	private final PrintStream out;
+	private final int port;
+	private final int active;
+	private final long durationNanos;
+	private final String command;
+	private final byte[] value;
+	private final byte[] request;
+	private final int responseLength;
+
+	private ConnectionBenchmark(PrintStream out, int port, int active, long durationNanos, String command, int valueSize) {
+		this.out = out;
+		this.port = port;
+		this.active = active;
+		this.durationNanos = durationNanos;
+		this.command = command;
+		this.value = "v".repeat(valueSize).getBytes();
+
+		this.request = switch (command) {
+			case "ping" -> encode("PING".getBytes());
+			case "get" -> encode("GET".getBytes(), KEY);
+			case "set" -> encode("SET".getBytes(), KEY, value);
+			default -> throw new IllegalArgumentException("unknown command: " + command);
+		};
+
+		this.responseLength = switch (command) {
+			case "ping" -> "+PONG\r\n".length();
+			case "get" -> "$%d\r\n".formatted(valueSize).length() + valueSize + 2;
+			default -> "+OK\r\n".length();
+		};
+	}
+
+	public static void main(String[] args) throws Exception {
+		var modes = List.of("blocking", "nio");
+		var connections = List.of(1_000, 10_000, 50_000);
+		var active = 100;
+		var duration = 10;
+		var port = 16379;
+		var ioThreads = List.of(0);
+		var command = "ping";
+		var valueSize = 16;
+
+		for (var index = 0; index < args.length; index += 2) {
+			final var value = args[index + 1];
+
+			switch (args[index]) {
+				case "--modes" -> modes = List.of(value.split(","));
+				case "--connections" -> connections = Arrays.stream(value.split(",")).map(Integer::valueOf).toList();
+				case "--active" -> active = Integer.parseInt(value);
+				case "--duration" -> duration = Integer.parseInt(value);
+				case "--port" -> port = Integer.parseInt(value);
+				case "--io-threads" -> ioThreads = Arrays.stream(value.split(",")).map(Integer::valueOf).toList();
+				case "--command" -> command = value.toLowerCase();
+				case "--value-size" -> valueSize = Integer.parseInt(value);
+				default -> throw new IllegalArgumentException("unknown option: " + args[index]);
+			}
+		}
+
+		/* the server logs every command and every disconnection */
+		final var out = System.out;
+		System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+		System.setErr(new PrintStream(OutputStream.nullOutputStream()));
+
+		final var benchmark = new ConnectionBenchmark(out, port, active, TimeUnit.SECONDS.toNanos(duration), command, valueSize);
+
+		out.println("mode      io  command  connections  active     ops/sec    p50 us    p99 us  p99.9 us  heap MiB  threads");
+		for (final var mode : modes) {
+			/* the blocking mode has no I/O threads */
+			final var modeIoThreads = "nio".equals(mode) ? ioThreads : List.of(0);
+
+			for (final var modeIoThread : modeIoThreads) {
+				for (final var count : connections) {
+					benchmark.run(mode, modeIoThread, count);
+				}
+			}
+		}
+	}
+
+	private void run(String mode, int ioThreads, int connectionCount) throws Exception {
+		final var configuration = new Configuration();
+		configuration.ioMode().set(mode);
+		configuration.ioThreads().set(String.valueOf(ioThreads));
+
+		final var redis = new Redis(configuration, new Storage());
+		redis.start();
+
+		final var server = Main.createServer(redis, port);
+		final var serverThread = Thread.ofPlatform().start(() -> {
+			try {
+				server.serve();
+			} catch (IOException exception) {
+				/* closed */
+			}
+		});
+
+		final var channels = new ArrayList<SocketChannel>(connectionCount);
+		try (final var selector = Selector.open()) {
+			final var address = new InetSocketAddress("127.0.0.1", port);
+			populate(address);
+
+			for (var index = 0; index < connectionCount; ++index) {
+				final var channel = SocketChannel.open(address);
+				channels.add(channel);
+
+				channel.configureBlocking(false);
+				channel.register(selector, 0, new Connection(channel));
+			}
+
+			pingAll(selector);
+
+			System.gc();
+			final var memory = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+			final var threads = ManagementFactory.getThreadMXBean().getThreadCount();
+
+			final var latencies = measure(selector, Math.min(active, connectionCount));
+			final var operations = latencies.length;
+			Arrays.sort(latencies);
+
+			out.printf(
+				"%-8s  %2d  %-7s  %11d  %6d  %10.0f  %8.1f  %8.1f  %8.1f  %8d  %7d%n",
+				mode,
+				ioThreads,
+				command,
+				connectionCount,
+				Math.min(active, connectionCount),
+				operations / (durationNanos / 1e9),
+				percentile(latencies, 0.50),
+				percentile(latencies, 0.99),
+				percentile(latencies, 0.999),
+				memory / (1024 * 1024),
+				threads
+			);
+		} finally {
+			for (final var channel : channels) {
+				channel.close();
+			}
+
+			close(server, serverThread);
+		}
+	}
+
+	/** Set the key once, so that every <code>GET</code> finds the value. */
+	private void populate(InetSocketAddress address) throws IOException {
+		try (final var channel = SocketChannel.open(address)) {
+			channel.write(ByteBuffer.wrap(encode("SET".getBytes(), KEY, value)));
+
+			final var response = ByteBuffer.allocate(5);
+			while (response.hasRemaining()) {
+				if (channel.read(response) == -1) {
+					throw new IOException("connection closed by the server");
+				}
+			}
+		}
+	}
+
+	private static byte[] encode(byte[]... arguments) {
+		final var output = new ByteArrayOutputStream();
+		output.writeBytes("*%d\r\n".formatted(arguments.length).getBytes());
+
+		for (final var argument : arguments) {
+			output.writeBytes("$%d\r\n".formatted(argument.length).getBytes());
+			output.writeBytes(argument);
+			output.writeBytes("\r\n".getBytes());
+		}
+
+		return output.toByteArray();
+	}
+
+	private void pingAll(Selector selector) throws IOException {
+		var remaining = selector.keys().size();
+
+		for (final var key : selector.keys()) {
+			((Connection) key.attachment()).send(key);
+		}
+
+		while (remaining != 0) {
+			selector.select();
+
+			final var iterator = selector.selectedKeys().iterator();
+			while (iterator.hasNext()) {
+				final var key = iterator.next();
+				iterator.remove();
+
+				if (((Connection) key.attachment()).receive(key)) {
+					key.interestOps(0);
+					--remaining;
+				}
+			}
+		}
+	}
+
+	private long[] measure(Selector selector, int activeCount) throws IOException {
+		var latencies = new long[1 << 16];
+		var count = 0;
+
+		final var activeKeys = selector.keys().stream().limit(activeCount).toList();
+		for (final var key : activeKeys) {
+			((Connection) key.attachment()).send(key);
+		}
+
+		final var end = System.nanoTime() + durationNanos;
+		while (System.nanoTime() < end) {
+			selector.select(100);
+
+			final var iterator = selector.selectedKeys().iterator();
+			while (iterator.hasNext()) {
+				final var key = iterator.next();
+				iterator.remove();
+
+				final var connection = (Connection) key.attachment();
+				if (connection.receive(key)) {
+					if (count == latencies.length) {
+						latencies = Arrays.copyOf(latencies, count * 2);
+					}
+
+					latencies[count++] = System.nanoTime() - connection.sentAt;
+					connection.send(key);
+				}
+			}
+		}
+
+		return Arrays.copyOf(latencies, count);
+	}
+
+	private static double percentile(long[] sorted, double percentile) {
+		if (sorted.length == 0) {
+			return Double.NaN;
+		}
+
+		final var index = (int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1);
+		return sorted[Math.max(0, index)] / 1000.0;
+	}
+
+	private static void close(Server server, Thread serverThread) throws Exception {
+		server.close();
+		serverThread.join();
+
+		/* let the server notice the closed connections */
+		Thread.sleep(1000);
+	}
+
+	private class Connection {
+
+		private final SocketChannel channel;
+		private final ByteBuffer readBuffer = ByteBuffer.allocate(responseLength);
+		private long sentAt;
+
+		Connection(SocketChannel channel) {
+			this.channel = channel;
+		}
+
+		void send(SelectionKey key) throws IOException {
+			sentAt = System.nanoTime();
+
+			final var buffer = ByteBuffer.wrap(request);
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+
+			key.interestOps(SelectionKey.OP_READ);
+		}
+
+		boolean receive(SelectionKey key) throws IOException {
+			if (channel.read(readBuffer) == -1) {
+				throw new IOException("connection closed by the server");
+			}
+
+			if (readBuffer.hasRemaining()) {
+				return false;
+			}
+
+			readBuffer.clear();
+			return true;
+		}
+
+	}
+
+}
@@ -0,0 +1,165 @@
+package redis.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import redis.serial.Deserializer;
+import redis.serial.IncrementalDeserializer;
+
+/**
+ * Parse a pipeline of <code>SET</code> commands, either available at once or arriving in small fragments.
+ * <p>
+ * The {@link Deserializer} reads from a stream that returns at most one fragment per read, as a socket would.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DeserializerBenchmark {
+
+	@Param({ "100" })
+	public int pipeline;
+
+	@Param({ "16", "1024" })
+	public int valueSize;
+
+	@Param({ "7" })
+	public int fragmentSize;
+
+	private byte[] input;
+	private List<byte[]> fragments;
+	private ByteBuffer buffer;
+
+	@Setup
+	public void setup() {
+		final var value = "x".repeat(valueSize);
+		final var command = "*3\r\n$3\r\nSET\r\n$8\r\nkey:0000\r\n$%d\r\n%s\r\n".formatted(valueSize, value);
+
+		input = command.repeat(pipeline).getBytes();
+
+		fragments = new ArrayList<>();
+		for (var index = 0; index < input.length; index += fragmentSize) {
+			final var fragment = new byte[Math.min(fragmentSize, input.length - index)];
+			System.arraycopy(input, index, fragment, 0, fragment.length);
+
+			fragments.add(fragment);
+		}
+
+		buffer = ByteBuffer.allocate(input.length);
+	}
+
+	@Benchmark
+	public void deserializerPipelined(Blackhole blackhole) throws IOException {
+		final var deserializer = new Deserializer(new ByteArrayInputStream(input));
+
+		for (var index = 0; index < pipeline; ++index) {
+			blackhole.consume(deserializer.read());
+		}
+	}
+
+	@Benchmark
+	public void incrementalPipelined(Blackhole blackhole) {
+		final var deserializer = new IncrementalDeserializer();
+		final var buffer = ByteBuffer.wrap(input);
+
+		for (var index = 0; index < pipeline; ++index) {
+			blackhole.consume(deserializer.read(buffer));
+		}
+	}
+
+	@Benchmark
+	public void deserializerFragmented(Blackhole blackhole) throws IOException {
+		final var deserializer = new Deserializer(new FragmentedInputStream(fragments));
+
+		for (var index = 0; index < pipeline; ++index) {
+			blackhole.consume(deserializer.read());
+		}
+	}
+
+	@Benchmark
+	public void incrementalFragmented(Blackhole blackhole) {
+		final var deserializer = new IncrementalDeserializer();
+		buffer.clear();
+
+		for (final var fragment : fragments) {
+			buffer.put(fragment).flip();
+
+			var value = deserializer.read(buffer);
+			while (value != null) {
+				blackhole.consume(value);
+				value = deserializer.read(buffer);
+			}
+
+			buffer.compact();
+		}
+	}
+
+	private static class FragmentedInputStream extends InputStream {
+
+		private final List<byte[]> fragments;
+		private int fragmentIndex;
+		private int offset;
+
+		FragmentedInputStream(List<byte[]> fragments) {
+			this.fragments = fragments;
+		}
+
+		@Override
+		public int read() {
+			if (fragmentIndex == fragments.size()) {
+				return -1;
+			}
+
+			final var fragment = fragments.get(fragmentIndex);
+			final var value = fragment[offset++] & 0xff;
+
+			if (offset == fragment.length) {
+				++fragmentIndex;
+				offset = 0;
+			}
+
+			return value;
+		}
+
+		@Override
+		public int read(byte[] bytes, int off, int len) {
+			if (fragmentIndex == fragments.size()) {
+				return -1;
+			}
+
+			final var fragment = fragments.get(fragmentIndex);
+			final var count = Math.min(len, fragment.length - offset);
+			System.arraycopy(fragment, offset, bytes, off, count);
+			offset += count;
+
+			if (offset == fragment.length) {
+				++fragmentIndex;
+				offset = 0;
+			}
+
+			return count;
+		}
+
+	}
+
+}
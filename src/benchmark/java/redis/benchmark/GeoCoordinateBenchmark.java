@@ -0,0 +1,76 @@
+package redis.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import redis.type.GeoCoordinate;
+
+/** Encode, decode and measure the distance between coordinates drawn from a fixed seed. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GeoCoordinateBenchmark {
+
+	private static final long SEED = 42;
+	private static final int COUNT = 1024;
+
+	private GeoCoordinate[] coordinates;
+	private long[] encoded;
+	private int index;
+
+	@Setup
+	public void setup() {
+		final var random = new Random(SEED);
+
+		coordinates = new GeoCoordinate[COUNT];
+		encoded = new long[COUNT];
+
+		for (var index = 0; index < COUNT; ++index) {
+			coordinates[index] = new GeoCoordinate(
+				random.nextDouble(-180, 180),
+				random.nextDouble(-85, 85)
+			);
+
+			encoded[index] = coordinates[index].encode();
+		}
+	}
+
+	@Benchmark
+	public long encode() {
+		return coordinates[next()].encode();
+	}
+
+	@Benchmark
+	public GeoCoordinate decode() {
+		return GeoCoordinate.decode(encoded[next()]);
+	}
+
+	@Benchmark
+	public double distanceTo() {
+		final var index = next();
+
+		return coordinates[index].distanceTo(coordinates[(index + 1) & (COUNT - 1)]);
+	}
+
+	private int next() {
+		final var next = index;
+		index = (next + 1) & (COUNT - 1);
+
+		return next;
+	}
+
+}
@@ -0,0 +1,85 @@
+package redis.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+
+import redis.serial.Deserializer;
+import redis.store.Storage;
+import redis.type.RArray;
+import redis.type.RString;
+
+/**
+ * Heap used per key, for string values of a few sizes.
+ * <p>
+ * Keys and values go through the {@link Deserializer} and are stored as a <code>SET</code> would, so that the measure includes how they are parsed.
+ *
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark.main=redis.benchmark.MemoryBenchmark -Dbenchmark.args="--keys 200000 --value-sizes 16,128,4096"
+ * </pre>
+ */
+public class MemoryBenchmark {
+
+	public static void main(String[] args) throws Exception {
+		var keys = 200_000;
+		var valueSizes = List.of(16, 128, 4096);
+
+		for (var index = 0; index < args.length; index += 2) {
+			final var value = args[index + 1];
+
+			switch (args[index]) {
+				case "--keys" -> keys = Integer.parseInt(value);
+				case "--value-sizes" -> valueSizes = Arrays.stream(value.split(",")).map(Integer::valueOf).toList();
+				default -> throw new IllegalArgumentException("unknown option: " + args[index]);
+			}
+		}
+
+		System.out.println("value bytes      keys  bytes/key");
+		for (final var valueSize : valueSizes) {
+			run(keys, valueSize);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static void run(int keys, int valueSize) throws Exception {
+		final var value = "v".repeat(valueSize);
+		final var before = usedHeap();
+
+		final var storage = new Storage();
+		final var batch = 10_000;
+
+		for (var start = 0; start < keys; start += batch) {
+			final var output = new ByteArrayOutputStream();
+			for (var index = start; index < Math.min(keys, start + batch); ++index) {
+				final var key = "key:%08d".formatted(index);
+				output.writeBytes("*3\r\n$3\r\nSET\r\n$%d\r\n%s\r\n$%d\r\n%s\r\n".formatted(key.length(), key, valueSize, value).getBytes());
+			}
+
+			final var deserializer = new Deserializer(new ByteArrayInputStream(output.toByteArray()));
+			for (var index = start; index < Math.min(keys, start + batch); ++index) {
+				final var arguments = (RArray<RString>) deserializer.read();
+				storage.set(arguments.get(1), arguments.get(2));
+			}
+		}
+
+		final var after = usedHeap();
+		System.out.printf("%11d  %8d  %9.1f%n", valueSize, keys, (after - before) / (double) keys);
+
+		/* keep the storage reachable until measured */
+		storage.clear();
+	}
+
+	private static long usedHeap() throws InterruptedException {
+		final var memory = ManagementFactory.getMemoryMXBean();
+
+		for (var index = 0; index < 3; ++index) {
+			System.gc();
+			Thread.sleep(100);
+		}
+
+		return memory.getHeapMemoryUsage().getUsed();
+	}
+
+}
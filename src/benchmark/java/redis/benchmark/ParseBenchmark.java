@@ -0,0 +1,82 @@
+package redis.benchmark;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import redis.command.Arguments;
+import redis.command.ParsedCommand;
+import redis.command.parser.GlobalCommandParser;
+import redis.serial.IncrementalDeserializer;
+import redis.type.RArray;
+
+/**
+ * From the bytes of a request to its command, either by decoding the request into an {@link RArray} first, or by parsing the slices of the buffer.
+ * <p>
+ * Run with <code>-prof gc</code> to see the allocations per request.
+ *
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark.args="ParseBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParseBenchmark {
+
+	@Param({ "get", "set", "set-px", "lrange" })
+	private String request;
+
+	private final GlobalCommandParser parser = new GlobalCommandParser();
+	private final IncrementalDeserializer deserializer = new IncrementalDeserializer();
+	private final Arguments arguments = new Arguments();
+
+	private ByteBuffer buffer;
+
+	@Setup
+	public void setup() {
+		final var content = switch (request) {
+			case "get" -> "*2\r\n$3\r\nGET\r\n$3\r\nkey\r\n";
+			case "set" -> "*3\r\n$3\r\nSET\r\n$3\r\nkey\r\n$16\r\nvvvvvvvvvvvvvvvv\r\n";
+			case "set-px" -> "*5\r\n$3\r\nset\r\n$3\r\nkey\r\n$16\r\nvvvvvvvvvvvvvvvv\r\n$2\r\npx\r\n$5\r\n60000\r\n";
+			case "lrange" -> "*4\r\n$6\r\nLRANGE\r\n$4\r\nlist\r\n$1\r\n0\r\n$2\r\n-1\r\n";
+			default -> throw new IllegalArgumentException(request);
+		};
+
+		buffer = ByteBuffer.wrap(content.getBytes());
+	}
+
+	@Benchmark
+	public ParsedCommand decoded() {
+		buffer.rewind();
+
+		final var value = (RArray<?>) deserializer.read(buffer);
+		return parser.parse(Arguments.of(value));
+	}
+
+	@Benchmark
+	public ParsedCommand slices() {
+		buffer.rewind();
+
+		if (!deserializer.readArguments(buffer, arguments)) {
+			throw new IllegalStateException("request not read");
+		}
+
+		return parser.parse(arguments);
+	}
+
+}
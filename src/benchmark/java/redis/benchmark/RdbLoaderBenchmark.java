@@ -0,0 +1,108 @@
+package redis.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import redis.rdb.RdbLoader;
+import redis.store.Storage;
+
+/**
+ * Load an RDB file of string keys into an empty {@link Storage}.
+ * <p>
+ * The file is generated in memory, with one key out of four having an expiration.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RdbLoaderBenchmark {
+
+	private static final long EXPIRATION = 4_102_444_800_000L;
+
+	@Param({ "10000" })
+	public int keys;
+
+	@Param({ "16", "1024" })
+	public int valueSize;
+
+	private byte[] file;
+
+	@Setup
+	public void setup() {
+		final var output = new ByteArrayOutputStream();
+		output.writeBytes("REDIS0011".getBytes(StandardCharsets.US_ASCII));
+
+		output.write(RdbLoader.OPCODE_AUXILIARY_FIELDS);
+		writeString(output, "redis-ver");
+		writeString(output, "7.2.0");
+
+		output.write(RdbLoader.OPCODE_DATABASE_SELECTOR);
+		output.write(0);
+
+		output.write(RdbLoader.OPCODE_RESIZE_DATABASE);
+		writeLength(output, keys);
+		writeLength(output, keys / 4);
+
+		final var value = "x".repeat(valueSize);
+		for (var index = 0; index < keys; ++index) {
+			if (index % 4 == 0) {
+				output.write(RdbLoader.OPCODE_EXPIRE_TIME_MILLISECONDS);
+				for (var shift = 0; shift < Long.SIZE; shift += Byte.SIZE) {
+					output.write((int) (EXPIRATION >>> shift));
+				}
+			}
+
+			output.write(RdbLoader.STRING_VALUE_TYPE);
+			writeString(output, "key:%08d".formatted(index));
+			writeString(output, value);
+		}
+
+		output.write(RdbLoader.OPCODE_END_OF_FILE);
+		file = output.toByteArray();
+	}
+
+	@Benchmark
+	public Storage load() throws IOException {
+		final var storage = new Storage();
+		RdbLoader.load(new ByteArrayInputStream(file), storage);
+
+		return storage;
+	}
+
+	/** Only the 6 and 14 bits encodings are read by the loader. */
+	private static void writeLength(ByteArrayOutputStream output, int length) {
+		if (length < (1 << 6)) {
+			output.write(length);
+		} else if (length < (1 << 14)) {
+			output.write((RdbLoader.LENGTH_14BIT << 6) | (length >> 8));
+			output.write(length & 0xff);
+		} else {
+			throw new IllegalArgumentException("length too long: %d".formatted(length));
+		}
+	}
+
+	private static void writeString(ByteArrayOutputStream output, String value) {
+		final var bytes = value.getBytes(StandardCharsets.US_ASCII);
+
+		writeLength(output, bytes.length);
+		output.writeBytes(bytes);
+	}
+
+}
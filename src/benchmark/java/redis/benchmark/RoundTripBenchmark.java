@@ -0,0 +1,69 @@
+package redis.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import redis.serial.Deserializer;
+import redis.serial.Serializer;
+import redis.type.RArray;
+import redis.type.RString;
+import redis.type.RValue;
+
+/** Serialize an array of bulk strings with the {@link Serializer}, and read it back with the {@link Deserializer}. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RoundTripBenchmark {
+
+	@Param({ "1", "100" })
+	public int items;
+
+	@Param({ "16", "1024" })
+	public int valueSize;
+
+	private ByteArrayOutputStream outputStream;
+	private Serializer serializer;
+
+	private RValue value;
+
+	@Setup
+	public void setup() {
+		outputStream = new ByteArrayOutputStream(items * (valueSize + 16));
+		serializer = new Serializer(outputStream);
+
+		final var strings = new ArrayList<RString>(items);
+		for (var index = 0; index < items; ++index) {
+			strings.add(RString.bulk("x".repeat(valueSize)));
+		}
+
+		value = RArray.view(strings);
+	}
+
+	@Benchmark
+	public RValue roundTrip() throws IOException {
+		outputStream.reset();
+		serializer.write(value);
+		serializer.flush();
+
+		return new Deserializer(new ByteArrayInputStream(outputStream.toByteArray())).read();
+	}
+
+}
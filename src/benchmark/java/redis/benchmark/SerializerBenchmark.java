@@ -0,0 +1,93 @@
+package redis.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import redis.serial.Serializer;
+import redis.type.RArray;
+import redis.type.RString;
+import redis.type.RValue;
+import redis.type.stream.StreamEntry;
+import redis.type.stream.identifier.UniqueIdentifier;
+
+/** Serialize the responses of typical <code>GET</code>, <code>LRANGE</code> and <code>XRANGE</code> commands. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializerBenchmark {
+
+	private ByteArrayOutputStream outputStream;
+	private Serializer serializer;
+
+	private RValue get;
+	private RValue lrange;
+	private RValue xrange;
+
+	@Setup
+	public void setup() {
+		outputStream = new ByteArrayOutputStream(64 * 1024);
+		serializer = new Serializer(outputStream);
+
+		get = RString.bulk("value:" + "x".repeat(58));
+
+		final var items = new ArrayList<RString>();
+		for (var index = 0; index < 100; ++index) {
+			items.add(RString.bulk("item:%d".formatted(index)));
+		}
+		lrange = RArray.view(items);
+
+		final var entries = new ArrayList<StreamEntry>();
+		for (var index = 0; index < 10; ++index) {
+			entries.add(new StreamEntry(
+				new UniqueIdentifier(1700000000000L + index, 0),
+				List.of(
+					RString.bulk("temperature"),
+					RString.bulk(String.valueOf(20 + index)),
+					RString.bulk("humidity"),
+					RString.bulk(String.valueOf(40 + index))
+				)
+			));
+		}
+		xrange = StreamEntry.collectContent(entries);
+	}
+
+	@Benchmark
+	public int get() throws IOException {
+		return serialize(get);
+	}
+
+	@Benchmark
+	public int lrange() throws IOException {
+		return serialize(lrange);
+	}
+
+	@Benchmark
+	public int xrange() throws IOException {
+		return serialize(xrange);
+	}
+
+	private int serialize(RValue value) throws IOException {
+		outputStream.reset();
+		serializer.write(value);
+
+		return outputStream.size();
+	}
+
+}
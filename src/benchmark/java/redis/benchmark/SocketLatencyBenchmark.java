@@ -0,0 +1,124 @@
+package redis.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardSocketOptions;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import redis.Main;
+import redis.Redis;
+import redis.configuration.Configuration;
+import redis.server.Server;
+import redis.store.Storage;
+
+/** Round-trip latency of a <code>PING</code> over TCP loopback and over a Unix domain socket. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SocketLatencyBenchmark {
+
+	private static final byte[] PING = "*1\r\n$4\r\nPING\r\n".getBytes();
+	private static final int PONG_LENGTH = "+PONG\r\n".length();
+
+	@Param({ "blocking", "nio" })
+	public String ioMode;
+
+	@Param({ "tcp", "unix" })
+	public String transport;
+
+	@Param({ "16379" })
+	public int port;
+
+	private Path socketPath;
+	private Server server;
+	private SocketChannel channel;
+
+	private final ByteBuffer request = ByteBuffer.wrap(PING);
+	private final ByteBuffer response = ByteBuffer.allocate(64);
+
+	@Setup
+	public void setup() throws Exception {
+		/* the server logs every command */
+		System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+		System.setErr(new PrintStream(OutputStream.nullOutputStream()));
+
+		socketPath = Files.createTempDirectory("redis-benchmark").resolve("redis.sock");
+
+		final var configuration = new Configuration();
+		configuration.ioMode().set(ioMode);
+
+		final var redis = new Redis(configuration, new Storage());
+		redis.start();
+
+		final var tcpAddress = new InetSocketAddress("127.0.0.1", port);
+		final var unixAddress = UnixDomainSocketAddress.of(socketPath);
+
+		server = Main.createServer(redis, List.<SocketAddress>of(tcpAddress, unixAddress));
+		Thread.ofPlatform().daemon().start(() -> {
+			try {
+				server.serve();
+			} catch (IOException exception) {
+				/* closed */
+			}
+		});
+
+		if ("unix".equals(transport)) {
+			channel = SocketChannel.open(unixAddress);
+		} else {
+			channel = SocketChannel.open(tcpAddress);
+			channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+		}
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		channel.close();
+		server.close();
+
+		Files.deleteIfExists(socketPath);
+		Files.deleteIfExists(socketPath.getParent());
+	}
+
+	@Benchmark
+	public int ping() throws IOException {
+		request.rewind();
+		while (request.hasRemaining()) {
+			channel.write(request);
+		}
+
+		response.clear();
+		while (response.position() < PONG_LENGTH) {
+			if (channel.read(response) == -1) {
+				throw new IOException("connection closed by the server");
+			}
+		}
+
+		return response.position();
+	}
+
+}
@@ -0,0 +1,100 @@
+package redis.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import redis.type.RArray;
+import redis.type.RString;
+import redis.type.SortedSet;
+
+/**
+ * {@link SortedSet} operations on a set of a given size, with scores drawn from a fixed seed.
+ * <p>
+ * Members that are removed are added back with the same score, so that the size of the set does not drift during a measurement.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SortedSetBenchmark {
+
+	private static final long SEED = 42;
+
+	@Param({ "100", "10000" })
+	public int size;
+
+	private SortedSet sortedSet;
+	private String[] members;
+	private double[] scores;
+	private int index;
+
+	@Setup
+	public void setup() {
+		final var random = new Random(SEED);
+
+		sortedSet = new SortedSet();
+		members = new String[size];
+		scores = new double[size];
+
+		for (var index = 0; index < size; ++index) {
+			members[index] = "member:%08d".formatted(index);
+			scores[index] = random.nextDouble() * size;
+
+			sortedSet.add(members[index], scores[index]);
+		}
+	}
+
+	/** Move a member to a new score and back. */
+	@Benchmark
+	public boolean update() {
+		final var index = next();
+
+		sortedSet.add(members[index], scores[index] + 1);
+		return sortedSet.add(members[index], scores[index]);
+	}
+
+	@Benchmark
+	public boolean removeAndAdd() {
+		final var index = next();
+
+		sortedSet.remove(members[index]);
+		return sortedSet.add(members[index], scores[index]);
+	}
+
+	@Benchmark
+	public Integer getRank() {
+		return sortedSet.getRank(members[next()]);
+	}
+
+	@Benchmark
+	public RArray<RString> rangeFirst10() {
+		return sortedSet.range(0, 9);
+	}
+
+	@Benchmark
+	public RArray<RString> rangeAll() {
+		return sortedSet.range(0, -1);
+	}
+
+	private int next() {
+		final var next = index;
+		index = next + 1 == size ? 0 : next + 1;
+
+		return next;
+	}
+
+}
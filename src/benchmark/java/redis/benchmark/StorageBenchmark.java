@@ -0,0 +1,80 @@
+package redis.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import redis.store.Storage;
+import redis.type.RString;
+
+/** {@link Storage#get(RString) get}, {@link Storage#set(RString, Object) set} and {@link Storage#compute(RString, java.util.function.Function) compute} on a keyspace of a given size, walking the keys in a fixed order. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StorageBenchmark {
+
+	@Param({ "1000", "100000" })
+	public int keys;
+
+	private Storage storage;
+	private RString[] present;
+	private RString[] missing;
+	private RString value;
+	private int index;
+
+	@Setup
+	public void setup() {
+		storage = new Storage();
+		present = new RString[keys];
+		missing = new RString[keys];
+		value = RString.bulk("x".repeat(16));
+
+		for (var index = 0; index < keys; ++index) {
+			present[index] = RString.bulk("key:%08d".formatted(index));
+			missing[index] = RString.bulk("missing:%08d".formatted(index));
+
+			storage.set(present[index], value);
+		}
+	}
+
+	@Benchmark
+	public Object getHit() {
+		return storage.get(present[next()]);
+	}
+
+	@Benchmark
+	public Object getMiss() {
+		return storage.get(missing[next()]);
+	}
+
+	@Benchmark
+	public void set() {
+		storage.set(present[next()], value);
+	}
+
+	@Benchmark
+	public Object compute() {
+		return storage.<RString, RString>compute(present[next()], (previous) -> value);
+	}
+
+	private int next() {
+		final var next = index;
+		index = next + 1 == keys ? 0 : next + 1;
+
+		return next;
+	}
+
+}
@@ -0,0 +1,93 @@
+package redis.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import redis.type.RArray;
+import redis.type.RString;
+import redis.type.stream.Stream;
+import redis.type.stream.StreamEntry;
+import redis.type.stream.identifier.UniqueIdentifier;
+
+/**
+ * {@link Stream} operations on a stream of a given length, whose entries are one millisecond apart.
+ * <p>
+ * Entries are appended to a stream of their own, recreated before every iteration, so that the length of the other one does not change.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StreamBenchmark {
+
+	private static final long START = 1_700_000_000_000L;
+
+	@Param({ "100", "10000" })
+	public int length;
+
+	private final RArray<RString> content = RArray.of(
+		RString.bulk("temperature"),
+		RString.bulk("21"),
+		RString.bulk("humidity"),
+		RString.bulk("43")
+	);
+
+	private Stream stream;
+	private Stream appended;
+	private long nextMilliseconds;
+
+	private UniqueIdentifier rangeFrom;
+	private UniqueIdentifier rangeTo;
+	private UniqueIdentifier readFrom;
+
+	@Setup
+	public void setup() {
+		stream = new Stream();
+
+		for (var index = 0; index < length; ++index) {
+			stream.add(new UniqueIdentifier(START + index, 0), content);
+		}
+
+		/* ten entries from the middle, and the last ten */
+		rangeFrom = new UniqueIdentifier(START + length / 2, 0);
+		rangeTo = new UniqueIdentifier(START + length / 2 + 9, 0);
+		readFrom = new UniqueIdentifier(START + length - 11, 0);
+	}
+
+	@Setup(Level.Iteration)
+	public void setupIteration() {
+		appended = new Stream();
+		nextMilliseconds = START;
+	}
+
+	@Benchmark
+	public UniqueIdentifier add() {
+		return appended.add(new UniqueIdentifier(nextMilliseconds++, 0), content);
+	}
+
+	@Benchmark
+	public List<StreamEntry> range() {
+		return stream.range(rangeFrom, rangeTo);
+	}
+
+	@Benchmark
+	public List<StreamEntry> read() {
+		return stream.read(readFrom);
+	}
+
+}
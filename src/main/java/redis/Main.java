@@ -1,16 +1,26 @@
 package redis;
 
 import java.io.IOException;
-import java.net.ServerSocket;
+import java.net.InetSocketAddress;
 import java.net.Socket;
+import java.net.SocketAddress;
+import java.net.UnixDomainSocketAddress;
 import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
 
 import lombok.SneakyThrows;
 import redis.aof.AppendOnlyFileManager;
 import redis.client.ReplicaClient;
-import redis.client.SocketClient;
 import redis.configuration.Configuration;
+import redis.logging.Logger;
+import redis.metric.MetricsServer;
+import redis.metric.PrometheusExporter;
 import redis.rdb.RdbLoader;
+import redis.server.BlockingServer;
+import redis.server.EventLoopServer;
+import redis.server.Server;
 import redis.store.Storage;
 
 public class Main {
@@ -19,7 +29,6 @@ public class Main {
 	public static void main(String[] args) throws IOException {
 		System.out.println("codecrafters build-your-own-redis");
 
-		final var threadFactory = Thread.ofVirtual().factory();
 		final var storage = new Storage();
 		final var configuration = new Configuration();
 
@@ -63,7 +72,8 @@ public class Main {
 			if (configuration.appendOnly().isYes()) {
 				final var manager = new AppendOnlyFileManager(
 					directory.resolve(configuration.appendDirectoryName().getValue()),
-					configuration.appendFileName().getValue()
+					configuration.appendFileName().getValue(),
+					configuration.appendFileSync()::getValue
 				);
 
 				manager.initialize();
@@ -77,22 +87,71 @@ public class Main {
 		final var port = configuration.port().getValue();
 		System.out.println("port: %s".formatted(port));
 
-		try (final var serverSocket = new ServerSocket(port)) {
-			serverSocket.setReuseAddress(true);
+		final var unixSocket = configuration.unixSocket().getValue();
+		if (unixSocket != null) {
+			System.out.println("unixsocket: %s".formatted(unixSocket));
+		}
 
-			while (true) {
-				final var socket = serverSocket.accept();
-				final var client = new SocketClient(socket, redis);
+		final var metricsPort = configuration.metricsPort().getValue();
+		if (metricsPort != 0) {
+			final var metricsServer = new MetricsServer(new PrometheusExporter(redis), metricsPort);
+			metricsServer.start();
 
-				final var thread = threadFactory.newThread(client);
-				thread.start();
+			System.out.println("metrics port: %s".formatted(metricsServer.getPort()));
+		}
 
-				// FIXME codecrafters tester is failing because of out of order...
-				// Thread.sleep(100l);
-			}
+		try (final var server = createServer(redis, port)) {
+			server.serve();
 		}
 	}
 
+	/** Create a server listening on the TCP port, and on the Unix socket if there is one. */
+	public static Server createServer(Redis redis, int port) throws IOException {
+		final var configuration = redis.getConfiguration();
+
+		final var addresses = new ArrayList<SocketAddress>();
+		addresses.add(new InetSocketAddress(port));
+
+		final var unixSocket = configuration.unixSocket().getValue();
+		if (unixSocket != null) {
+			addresses.add(UnixDomainSocketAddress.of(unixSocket));
+		}
+
+		return createServer(redis, addresses);
+	}
+
+	public static Server createServer(Redis redis, List<SocketAddress> addresses) throws IOException {
+		final var configuration = redis.getConfiguration();
+		final var ioMode = configuration.ioMode().getValue();
+		final var ioThreads = configuration.ioThreads().getValue();
+
+		return switch (ioMode) {
+			case BLOCKING -> {
+				if (ioThreads != 0) {
+					Logger.warning("io-threads is only used by the nio mode, ignoring it");
+				}
+
+				yield new BlockingServer(redis, addresses);
+			}
+
+			case NIO -> {
+				if (ioThreads == 0) {
+					yield new EventLoopServer(redis, addresses, Runtime.getRuntime().availableProcessors());
+				}
+
+				/* the loops only do the I/O, so that the commands never run concurrently */
+				final var commandExecutor = Executors.newSingleThreadExecutor(
+					Thread.ofPlatform()
+						.name("command-executor")
+						.daemon()
+						.factory()
+				);
+
+				yield new EventLoopServer(redis, addresses, ioThreads, commandExecutor);
+			}
+		};
+	}
+
 	@SneakyThrows
 	public static void connectToMaster(Redis redis) {
 		final var replicaOf = redis.getConfiguration().replicaOf().getValue();
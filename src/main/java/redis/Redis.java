@@ -1,13 +1,16 @@
 package redis;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
 import java.time.Duration;
-import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Condition;
@@ -17,13 +20,20 @@ import java.util.function.Supplier;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
+import lombok.SneakyThrows;
 import redis.aof.AppendOnlyFileManager;
 import redis.client.Client;
 import redis.client.SocketClient;
+import redis.command.Arguments;
 import redis.command.CommandResponse;
 import redis.command.ParsedCommand;
 import redis.command.parser.GlobalCommandParser;
 import redis.configuration.Configuration;
+import redis.logging.Logger;
+import redis.metric.SlowLog;
+import redis.metric.Statistics;
+import redis.serial.Serializer;
+import redis.store.Monitors;
 import redis.store.PubSub;
 import redis.store.Storage;
 import redis.type.RArray;
@@ -37,16 +47,22 @@ import redis.user.UserRepository;
 @RequiredArgsConstructor
 public class Redis {
 
+	public static final int CRON_FREQUENCY = 10;
+
 	private final @Getter Configuration configuration;
 	private final @Getter Storage storage;
 	private final @Getter PubSub pubSub = new PubSub();
+	private final @Getter Monitors monitors = new Monitors();
 	private final @Getter List<SocketClient> replicas = Collections.synchronizedList(new ArrayList<>());
+	private final @Getter Map<Integer, SocketClient> clients = new ConcurrentSkipListMap<>();
 	private final @Getter AtomicLong replicationOffset = new AtomicLong();
 	private final GlobalCommandParser commandParser = new GlobalCommandParser();
 	private final ReentrantLock lock = new ReentrantLock(true);
 	private final Map<String, Condition> condititions = new ConcurrentHashMap<>();
 	private final @Getter UserRepository userRepository = new UserRepository();
-	private @Setter AppendOnlyFileManager appendOnlyFileManager;
+	private final @Getter Statistics statistics = new Statistics();
+	private final @Getter SlowLog slowLog = new SlowLog(() -> getConfiguration().slowlogMaxLength().getValue());
+	private @Getter @Setter AppendOnlyFileManager appendOnlyFileManager;
 	private boolean running;
 
 	public void start() {
@@ -55,29 +71,107 @@ public class Redis {
 		}
 
 		running = true;
+
+		final var cron = Executors.newSingleThreadScheduledExecutor(
+			Thread.ofPlatform()
+				.name("cron")
+				.daemon()
+				.factory()
+		);
+
+		final var period = 1000 / CRON_FREQUENCY;
+		cron.scheduleAtFixedRate(this::cron, period, period, TimeUnit.MILLISECONDS);
+	}
+
+	/** Background work, done {@value #CRON_FREQUENCY} times per second. */
+	private void cron() {
+		try {
+			statistics.sample();
+			storage.getActiveExpiry().cycle(TimeUnit.SECONDS.toNanos(1) / CRON_FREQUENCY, configuration.activeExpireEffort().getValue());
+
+			if (appendOnlyFileManager != null) {
+				appendOnlyFileManager.cron();
+			}
+		} catch (Exception exception) {
+			Logger.warning("cron failed: %s", exception.getMessage());
+		}
 	}
 
-	@SuppressWarnings("unchecked")
-	public CommandResponse evaluate(Client client, Object value, long read, Supplier<byte[]> commandBytes) {
+	/** @param value either a decoded request, or {@link Arguments} that are only read until the command has been parsed */
+	public CommandResponse evaluate(Client client, Object value, long read, Supplier<ByteBuffer> commandBytes) {
 		try {
-			if (value instanceof RArray array) {
-				return execute(client, array, commandBytes);
+			if (value instanceof Arguments arguments) {
+				return execute(client, arguments, commandBytes);
+			}
+
+			if (value instanceof RArray<?> array) {
+				return execute(client, Arguments.of(array), commandBytes);
 			}
 
 			return new CommandResponse(new RError("ERR command be sent in an array"));
+		} catch (RErrorException exception) {
+			return new CommandResponse(exception.getError());
 		} finally {
-			final var offset = replicationOffset.addAndGet(read);
-			log("offset: %s".formatted(offset));
+			advanceReplicationOffset(read);
+		}
+	}
+
+	private void advanceReplicationOffset(long read) {
+		final var offset = replicationOffset.addAndGet(read);
+		if (Logger.isDebugEnabled()) {
+			Logger.debug("offset: %s", offset);
+		}
+	}
+
+	private CommandResponse execute(Client client, Arguments arguments, Supplier<ByteBuffer> commandBytes) {
+		final ParsedCommand command;
+		try {
+			command = parse(client, arguments);
+		} catch (RErrorException exception) {
+			return new CommandResponse(exception.getError());
+		}
+
+		if (command.isBlocking() && client instanceof SocketClient socketClient && !socketClient.isInTransaction()) {
+			/* the buffer behind the supplier will be reused before the command completes */
+			final var bytes = commandBytes != null && command.isWriting() ? copyOf(commandBytes.get()) : null;
+
+			return socketClient.runBlocking(() -> {
+				statistics.clientBlocked();
+				try {
+					return executeAndAppend(client, command, null, () -> bytes);
+				} finally {
+					statistics.clientUnblocked();
+				}
+			});
 		}
+
+		return executeAndAppend(client, command, arguments, commandBytes);
 	}
 
-	private CommandResponse execute(Client client, RArray<RString> arguments, Supplier<byte[]> commandBytes) {
+	/** The raw arguments are only copied if they may be propagated, or if the command is executed once they are gone: blocked or queued in a transaction. */
+	private ParsedCommand parse(Client client, Arguments arguments) {
+		final var command = commandParser.parse(arguments);
+
+		final var kept = command.isPropagatable() && !replicas.isEmpty()
+			|| command.isBlocking()
+			|| client instanceof SocketClient socketClient && socketClient.isInTransaction();
+
+		return kept ? command.withRaw(arguments.raw()) : command;
+	}
+
+	/** @param arguments of the command, only used if it is slow, <code>null</code> if they are gone */
+	private CommandResponse executeAndAppend(Client client, ParsedCommand command, Arguments arguments, Supplier<ByteBuffer> commandBytes) {
 		try {
-			final var command = commandParser.parse(arguments);
-			final var result = doExecute(client, command);
+			final var result = doExecute(client, command, arguments);
 
 			if (running && command.isWriting() && appendOnlyFileManager != null) {
-				appendOnlyFileManager.log(commandBytes.get());
+				final var propagated = result.propagated();
+
+				if (propagated == null) {
+					appendOnlyFileManager.log(commandBytes.get());
+				} else if (!propagated.isEmpty()) {
+					appendOnlyFileManager.log(serialize(propagated));
+				}
 			}
 
 			return result;
@@ -86,41 +180,125 @@ public class Redis {
 		}
 	}
 
+	@SneakyThrows
+	private static ByteBuffer serialize(RArray<RString> command) {
+		final var output = new ByteArrayOutputStream();
+
+		final var serializer = new Serializer(output);
+		serializer.write(command);
+		serializer.flush();
+
+		return ByteBuffer.wrap(output.toByteArray());
+	}
+
+	private static ByteBuffer copyOf(ByteBuffer buffer) {
+		return ByteBuffer.allocate(buffer.remaining())
+			.put(buffer)
+			.flip();
+	}
+
 	public CommandResponse execute(Client client, ParsedCommand command) {
 		try {
-			return doExecute(client, command);
+			return doExecute(client, command, null);
 		} catch (RErrorException exception) {
 			return new CommandResponse(exception.getError());
 		}
 	}
 
-	private CommandResponse doExecute(Client client, ParsedCommand parsedCommand) {
-		final var command = parsedCommand.command();
-
+	private CommandResponse doExecute(Client client, ParsedCommand command, Arguments arguments) {
 		if (client instanceof SocketClient socketClient) {
 			if (command.isAuthenticationRequired() && socketClient.getUser() == null) {
+				statistics.rejected(command.name());
 				throw RError.authenticationRequired().asException();
 			}
 
 			if (socketClient.isInTransaction() && command.isQueueable()) {
-				socketClient.queueCommand(parsedCommand);
-				return new CommandResponse(ROk.QUEUED);
+				socketClient.queueCommand(command);
+				return CommandResponse.QUEUED;
 			}
 
-			if (pubSub.isSubscribed(socketClient) && !command.isPubSub()) {
-				throw RError.invalidCommandInSubscribedContextFormat(command.getName()).asException();
+			/* RESP3 clients can tell pushed messages apart from replies */
+			if (!socketClient.isResp3() && pubSub.isSubscribed(socketClient) && !command.isPubSub()) {
+				statistics.rejected(command.name());
+				throw RError.invalidCommandInSubscribedContextFormat(command.name()).asException();
 			}
 		}
 
-		final var response = command.execute(this, client);
+		final var response = executeTracked(client, command, arguments);
+
+		/* once executed, so that the commands of a transaction come before its EXEC */
+		if (running && command.isMonitored() && !monitors.isEmpty()) {
+			monitors.feed(addressOf(client), rawArguments(command, arguments));
+		}
 		// System.out.printf("Redis.doExecute() response=%s command=%s replicas=%s %n", response, command, replicas);
-		if (command.isPropagatable()) {
-			progagate(parsedCommand.raw());
+		if (command.isPropagatable() && !replicas.isEmpty()) {
+			final var propagated = response.propagated() != null ? response.propagated() : command.raw();
+
+			if (propagated != null && !propagated.isEmpty()) {
+				progagate(propagated);
+			}
 		}
 
 		return response;
 	}
 
+	/** Every command is timed for its statistics, the arguments are only copied for the slow ones. */
+	private CommandResponse executeTracked(Client client, ParsedCommand command, Arguments arguments) {
+		final var start = System.nanoTime();
+		var failed = true;
+
+		try {
+			final var response = command.command().execute(this, client);
+			failed = response != null && response.value() instanceof RError;
+
+			return response;
+		} finally {
+			final var duration = System.nanoTime() - start;
+			statistics.executed(command.name(), duration, failed, configuration.latencyTracking().isYes());
+
+			if (client instanceof SocketClient socketClient) {
+				socketClient.executed(command.name());
+			}
+
+			final int slowerThan = configuration.slowlogLogSlowerThan().getValue();
+			if (slowerThan >= 0 && duration >= slowerThan * 1000L) {
+				logSlow(client, command, arguments, duration);
+			}
+		}
+	}
+
+	private void logSlow(Client client, ParsedCommand command, Arguments arguments, long duration) {
+		final var raw = rawArguments(command, arguments);
+
+		if (client instanceof SocketClient socketClient) {
+			slowLog.add(raw, duration, socketClient.getAddress(), socketClient.getName());
+		} else {
+			slowLog.add(raw, duration, null, null);
+		}
+	}
+
+	/** @return copies of the arguments, only the name of the command if they are gone */
+	private static RArray<RString> rawArguments(ParsedCommand command, Arguments arguments) {
+		if (command.raw() != null) {
+			return command.raw();
+		}
+
+		if (arguments != null) {
+			return arguments.raw();
+		}
+
+		return RArray.of(RString.bulk(command.name()));
+	}
+
+	/** Commands that do not come from a socket are the ones of the master. */
+	private static String addressOf(Client client) {
+		if (client instanceof SocketClient socketClient) {
+			return socketClient.getAddress();
+		}
+
+		return "master";
+	}
+
 	public String getMasterReplicationId() {
 		return configuration.masterReplicationId().getValue();
 	}
@@ -173,12 +351,4 @@ public class Redis {
 		}
 	}
 
-	public static void log(String message) {
-		System.out.println("[%d] [%s] %s".formatted(ProcessHandle.current().pid(), LocalDateTime.now(), message));
-	}
-
-	public static void error(String message) {
-		System.err.println("[%d] [%s] %s".formatted(ProcessHandle.current().pid(), LocalDateTime.now(), message));
-	}
-
 }
\ No newline at end of file
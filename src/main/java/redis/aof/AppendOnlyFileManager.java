@@ -1,13 +1,20 @@
 package redis.aof;
 
 import java.io.IOException;
-import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
 
+import lombok.Getter;
 import lombok.SneakyThrows;
 import redis.Redis;
+import redis.metric.LatencyHistogram;
 import redis.serial.Deserializer;
 
 public class AppendOnlyFileManager {
@@ -15,11 +22,22 @@ public class AppendOnlyFileManager {
 	private final Path directory;
 	private final String baseFileName;
 
-	private OutputStream currentWriter;
+	/* read on every use, so that CONFIG SET applies at once */
+	private final Supplier<FsyncPolicy> fsyncPolicy;
 
-	public AppendOnlyFileManager(Path directory, String filename) {
+	private FileChannel currentWriter;
+	private final AtomicBoolean dirty = new AtomicBoolean();
+	private volatile long lastFsyncAt = System.nanoTime();
+
+	private final @Getter LatencyHistogram writeLatencies = new LatencyHistogram();
+	private final LongAdder writeNanoseconds = new LongAdder();
+	private final @Getter LatencyHistogram fsyncLatencies = new LatencyHistogram();
+	private final LongAdder fsyncNanoseconds = new LongAdder();
+
+	public AppendOnlyFileManager(Path directory, String filename, Supplier<FsyncPolicy> fsyncPolicy) {
 		this.directory = directory;
 		this.baseFileName = filename;
+		this.fsyncPolicy = fsyncPolicy;
 	}
 
 	@SneakyThrows
@@ -38,7 +56,11 @@ public class AppendOnlyFileManager {
 			Files.writeString(manifestFile, firstRecord.toString() + "\n");
 		}
 
-		currentWriter = Files.newOutputStream(firstAppendFile, StandardOpenOption.APPEND);
+		currentWriter = FileChannel.open(firstAppendFile, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+	}
+
+	public FsyncPolicy getFsyncPolicy() {
+		return fsyncPolicy.get();
 	}
 
 	public Path getManifestFile() {
@@ -72,9 +94,49 @@ public class AppendOnlyFileManager {
 	}
 
 	@SneakyThrows
-	public void log(byte[] command) {
-		currentWriter.write(command);
-		currentWriter.flush();
+	public void log(ByteBuffer command) {
+		final var start = System.nanoTime();
+
+		while (command.hasRemaining()) {
+			currentWriter.write(command);
+		}
+
+		final var duration = System.nanoTime() - start;
+		writeLatencies.record(duration);
+		writeNanoseconds.add(duration);
+
+		if (fsyncPolicy.get() == FsyncPolicy.ALWAYS) {
+			fsync();
+		} else {
+			dirty.set(true);
+		}
+	}
+
+	/** Flush the file once per second with <code>appendfsync everysec</code>, to be called periodically. */
+	public void cron() {
+		if (fsyncPolicy.get() == FsyncPolicy.EVERYSEC && System.nanoTime() - lastFsyncAt >= TimeUnit.SECONDS.toNanos(1) && dirty.getAndSet(false)) {
+			fsync();
+		}
+	}
+
+	@SneakyThrows
+	private void fsync() {
+		final var start = System.nanoTime();
+		currentWriter.force(false);
+
+		final var duration = System.nanoTime() - start;
+		fsyncLatencies.record(duration);
+		fsyncNanoseconds.add(duration);
+
+		lastFsyncAt = start + duration;
+	}
+
+	public long getWriteNanoseconds() {
+		return writeNanoseconds.sum();
+	}
+
+	public long getFsyncNanoseconds() {
+		return fsyncNanoseconds.sum();
 	}
 
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package redis.aof;
+
+/** When the append only file is flushed to the disk, as set by <code>appendfsync</code>. */
+public enum FsyncPolicy {
+
+	/** After every write. */
+	ALWAYS,
+
+	/** Once per second, from the cron. */
+	EVERYSEC,
+
+	/** Left to the operating system. */
+	NO;
+
+	@Override
+	public String toString() {
+		return name().toLowerCase();
+	}
+
+}
@@ -0,0 +1,276 @@
+package redis.client;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.SneakyThrows;
+import redis.Redis;
+import redis.command.CommandResponse;
+import redis.logging.Logger;
+import redis.serial.Deserializer;
+import redis.serial.Serializer;
+import redis.type.RBlob;
+import redis.type.RValue;
+import redis.util.OutputBuffer;
+import redis.util.TrackedInputStream;
+
+/**
+ * Client served by its own (virtual) thread, blocking on the socket.
+ * <p>
+ * Responses are written from that thread. Messages coming from other clients, such as publications or commands for a replica, are only appended to the output buffer and written from another virtual thread, so that a slow client never blocks the sender.
+ */
+public class BlockingSocketClient extends SocketClient implements Runnable {
+
+	private static final long MAX_FLUSH_DELAY = TimeUnit.MILLISECONDS.toNanos(1);
+	private static final int OUTPUT_FLUSH_THRESHOLD = 16 * 1024;
+
+	private final SocketChannel channel;
+
+	private final TrackedInputStream inputStream;
+	private final Deserializer deserializer;
+
+	private final OutputBuffer outputBuffer = new OutputBuffer();
+	private final @Getter(AccessLevel.PROTECTED) Serializer serializer = new Serializer(outputBuffer);
+	private final ReentrantLock drainLock = new ReentrantLock();
+	private final AtomicBoolean drainScheduled = new AtomicBoolean();
+	private volatile boolean overLimit;
+
+	private int unflushedCommands;
+	private long firstUnflushedAt;
+
+	/** @param channel blocking channel, either TCP or Unix domain socket */
+	public BlockingSocketClient(SocketChannel channel, Redis redis) throws IOException {
+		super(redis, channel);
+		this.channel = channel;
+
+		this.inputStream = new TrackedInputStream(Channels.newInputStream(channel));
+		this.deserializer = new Deserializer(inputStream);
+	}
+
+	@SneakyThrows
+	@Override
+	public void run() {
+		connected();
+
+		try (channel) {
+			while (channel.isConnected()) {
+				inputStream.begin();
+
+				final var request = deserializer.read();
+				if (request == null) {
+					break;
+				}
+
+				received(inputStream.count());
+				setQueryBufferSize(inputStream.buffered());
+
+				if (replicate) {
+					replicaReplied(request);
+					continue;
+				}
+
+				final var read = inputStream.count();
+
+				if (Logger.isDebugEnabled()) {
+					Logger.debug("%d: received (%d): %s", id, read, request);
+				}
+
+				final var response = redis.evaluate(this, request, read, inputStream::slice);
+
+				if (response == null) {
+					if (Logger.isDebugEnabled()) {
+						Logger.debug("%d: no response", id);
+					}
+				} else {
+					if (Logger.isDebugEnabled()) {
+						Logger.debug("%d: responding: %s (replicate=%s)", id, response, replicate);
+					}
+
+					write(response.value());
+
+					if (unflushedCommands++ == 0) {
+						firstUnflushedAt = System.nanoTime();
+					}
+				}
+
+				/* a whole pipelined command is already there, answer it with the others, unless the replies are already large */
+				if (!Deserializer.containsValue(inputStream.pending())
+					|| outputBuffer.size() >= OUTPUT_FLUSH_THRESHOLD
+					|| System.nanoTime() - firstUnflushedAt >= MAX_FLUSH_DELAY) {
+					flush();
+				}
+			}
+
+			flush();
+		} catch (Exception exception) {
+			if (!overLimit) {
+				Logger.warning("%d: returned an error: %s", id, exception.getMessage());
+
+				final var writer = new StringWriter();
+				exception.printStackTrace(new PrintWriter(writer));
+
+				for (final var line : writer.getBuffer().toString().split("\n")) {
+					Logger.warning("%d:   %s", id, line.replace("\r", ""));
+				}
+			}
+		}
+
+		disconnected();
+	}
+
+	private void write(RValue value) {
+		synchronized (outputBuffer) {
+			if (overLimit) {
+				return;
+			}
+
+			try {
+				serializer.write(value);
+			} catch (IOException exception) {
+				throw new IllegalStateException("output buffer cannot fail", exception);
+			}
+
+			checkOutputBufferLimit();
+		}
+	}
+
+	/** Close the channel if the client cannot keep up, the blocked read will then end the client thread. */
+	private void checkOutputBufferLimit() {
+		synchronized (outputBuffer) {
+			if (overLimit || isWithinOutputBufferLimit(outputBuffer.size())) {
+				return;
+			}
+
+			overLimit = true;
+		}
+
+		/* the caller may be holding the output buffer or the pub/sub lock */
+		Thread.ofVirtual().start(this::close);
+	}
+
+	private void close() {
+		try {
+			channel.close();
+		} catch (IOException exception) {
+			Logger.warning("%d: could not close: %s", id, exception.getMessage());
+		}
+	}
+
+	/** Must be called from the client thread. */
+	private void flush() {
+		drain();
+
+		if (unflushedCommands != 0) {
+			redis.getStatistics().flushed(unflushedCommands);
+			unflushedCommands = 0;
+		}
+	}
+
+	/** Write everything that is pending, the output buffer stays free for other threads meanwhile. */
+	private void drain() {
+		drainLock.lock();
+		try {
+			while (!outputBuffer.isEmpty()) {
+				final var pending = outputBuffer.take();
+
+				while (pending.hasRemaining()) {
+					sent(channel.write(pending));
+				}
+
+				outputBuffer.recycle(pending);
+			}
+		} catch (IOException exception) {
+			if (channel.isOpen()) {
+				Logger.warning("%d: could not write: %s", id, exception.getMessage());
+			}
+		} finally {
+			drainLock.unlock();
+		}
+
+		checkOutputBufferLimit();
+	}
+
+	/** Drain from another virtual thread, unless one is already about to. */
+	private void scheduleDrain() {
+		if (drainScheduled.compareAndSet(false, true)) {
+			Thread.ofVirtual().start(() -> {
+				drainScheduled.set(false);
+				drain();
+			});
+		}
+	}
+
+	@Override
+	public void command(CommandResponse value) {
+		if (Logger.isDebugEnabled()) {
+			Logger.debug("%d: send command: %s", id, value);
+		}
+
+		synchronized (outputBuffer) {
+			final var before = outputBuffer.count();
+			write(value.value());
+
+			if (value.value() instanceof RBlob) {
+				setOffset(0);
+				if (Logger.isDebugEnabled()) {
+					Logger.debug("%d: reset offset", id);
+				}
+			} else {
+				setOffset(getOffset() + outputBuffer.count() - before);
+				if (Logger.isDebugEnabled()) {
+					Logger.debug("%d: offset: %d", id, getOffset());
+				}
+			}
+		}
+
+		scheduleDrain();
+	}
+
+	@Override
+	public void notifySubscription(RValue value) {
+		if (Logger.isDebugEnabled()) {
+			Logger.debug("%d: notifying subscription: %s", id, value);
+		}
+
+		write(value);
+		scheduleDrain();
+	}
+
+	@Override
+	public void notifySubscriptions(List<RValue> values) {
+		for (final var value : values) {
+			write(value);
+		}
+
+		scheduleDrain();
+	}
+
+	@Override
+	public int getPendingOutputSize() {
+		return outputBuffer.size();
+	}
+
+	@Override
+	public void kill() {
+		close();
+	}
+
+	@Override
+	public CommandResponse runBlocking(Supplier<CommandResponse> task) {
+		/* do not hold the previous responses while waiting */
+		flush();
+
+		return task.get();
+	}
+
+}
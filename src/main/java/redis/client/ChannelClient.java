@@ -0,0 +1,491 @@
+package redis.client;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import redis.Redis;
+import redis.command.Arguments;
+import redis.command.CommandResponse;
+import redis.logging.Logger;
+import redis.serial.IncrementalDeserializer;
+import redis.serial.Serializer;
+import redis.server.EventLoop;
+import redis.type.RBlob;
+import redis.type.RErrorException;
+import redis.type.RValue;
+import redis.util.OutputBuffer;
+
+/**
+ * Client served by an {@link EventLoop}, reading and writing a non-blocking channel.
+ * <p>
+ * Everything but the writes is done from the loop thread. Commands that may block are run on their own virtual thread, and the client stops reading until they answer, to keep the responses in order.
+ * <p>
+ * With a command executor, the loop thread only reads, parses and serializes: every command parsed from a read is handed to the executor at once, and the client stops reading until they have all been executed.
+ * The executor is not the only thread touching the keyspace though: a blocking command still completes on its own virtual thread, and the cron expires keys from its own, so the storage must stay safe to use concurrently.
+ */
+public class ChannelClient extends SocketClient {
+
+	private static final int READ_BUFFER_SIZE = 16 * 1024;
+	private static final int OUTPUT_FLUSH_THRESHOLD = 16 * 1024;
+
+	private final SocketChannel channel;
+	private final EventLoop eventLoop;
+	private final Executor commandExecutor;
+	private SelectionKey key;
+
+	private final IncrementalDeserializer deserializer = new IncrementalDeserializer();
+	private final Arguments arguments = new Arguments();
+	private ByteBuffer readBuffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+	private int frameStart;
+	private int parsed;
+	private int unflushedCommands;
+	private final OutputBuffer outputBuffer = new OutputBuffer();
+	private final @Getter(AccessLevel.PROTECTED) Serializer serializer = new Serializer(outputBuffer);
+
+	private boolean suspended;
+	private boolean closed;
+	private volatile boolean overLimit;
+
+	/** Blocking task of the command being executed by the command executor. */
+	private Supplier<CommandResponse> blockingTask;
+
+	/** @param commandExecutor single thread executing every command, <code>null</code> to execute them from the loop thread */
+	public ChannelClient(SocketChannel channel, Redis redis, EventLoop eventLoop, Executor commandExecutor) {
+		super(redis, channel);
+		this.channel = channel;
+		this.eventLoop = eventLoop;
+		this.commandExecutor = commandExecutor;
+	}
+
+	/** Must be called from the loop thread. */
+	public void register() throws IOException {
+		key = eventLoop.register(channel, SelectionKey.OP_READ, this);
+		connected();
+	}
+
+	public void onReadable() {
+		/* the buffer is still needed by the commands being executed */
+		if (suspended) {
+			return;
+		}
+
+		try {
+			final var read = channel.read(readBuffer);
+			if (read == -1) {
+				close();
+				return;
+			}
+
+			received(read);
+
+			process();
+		} catch (RErrorException exception) {
+			/* the protocol is broken, tell the client why before leaving */
+			Logger.warning("%d: returned an error: %s", id, exception.getError());
+
+			write(exception.getError());
+			flush();
+			close();
+		} catch (Exception exception) {
+			Logger.warning("%d: returned an error: %s", id, exception.getMessage());
+			close();
+		}
+	}
+
+	public void onWritable() {
+		flush();
+	}
+
+	private void process() throws IOException {
+		readBuffer.flip();
+		readBuffer.position(parsed);
+
+		final var array = readBuffer.array();
+		final var batch = commandExecutor != null ? new ArrayList<Request>() : null;
+
+		while (!suspended && !closed && readBuffer.hasRemaining()) {
+			/* the arguments point into the read buffer, which is kept as is while a batch is executed */
+			final var arguments = batch != null ? new Arguments() : this.arguments;
+
+			final Object request;
+			if (!replicate && deserializer.readArguments(readBuffer, arguments)) {
+				request = arguments;
+			} else {
+				request = deserializer.read(readBuffer);
+
+				if (request == null) {
+					break;
+				}
+			}
+
+			final var start = frameStart;
+			final var length = readBuffer.position() - start;
+			frameStart = readBuffer.position();
+
+			if (replicate) {
+				replicaReplied((RValue) request);
+				continue;
+			}
+
+			if (Logger.isDebugEnabled()) {
+				Logger.debug("%d: received (%d): %s", id, length, request);
+			}
+
+			if (batch != null) {
+				batch.add(new Request(request, length, () -> ByteBuffer.wrap(array, start, length)));
+				continue;
+			}
+
+			final var response = redis.evaluate(this, request, length, () -> ByteBuffer.wrap(array, start, length));
+			onResponse(response);
+
+			if (outputBuffer.size() >= OUTPUT_FLUSH_THRESHOLD) {
+				flush();
+			}
+		}
+
+		if (batch != null && !batch.isEmpty()) {
+			/* the read buffer is left untouched until then */
+			suspended = true;
+			commandExecutor.execute(() -> execute(batch, 0));
+		} else {
+			compactReadBuffer();
+		}
+
+		/* everything that could be parsed has been answered, send it all at once */
+		flush();
+	}
+
+	private void compactReadBuffer() {
+		if (frameStart == readBuffer.position() && !readBuffer.hasRemaining() && readBuffer.capacity() != READ_BUFFER_SIZE) {
+			/* a large command is gone, do not hold its buffer forever */
+			readBuffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+			parsed = 0;
+			frameStart = 0;
+
+			setQueryBufferSize(0);
+			return;
+		}
+
+		/* keep the bytes of the partial frame, the parser will not look at them again but they are needed for the AOF */
+		parsed = readBuffer.position() - frameStart;
+		readBuffer.position(frameStart);
+		frameStart = 0;
+
+		readBuffer.compact();
+		if (!readBuffer.hasRemaining()) {
+			readBuffer = ByteBuffer.allocate(readBuffer.capacity() * 2)
+				.put(readBuffer.flip());
+		}
+
+		setQueryBufferSize(readBuffer.position());
+	}
+
+	private void onResponse(CommandResponse response) {
+		if (response == null) {
+			if (Logger.isDebugEnabled()) {
+				Logger.debug("%d: no response", id);
+			}
+
+			return;
+		}
+
+		if (Logger.isDebugEnabled()) {
+			Logger.debug("%d: responding: %s (replicate=%s)", id, response, replicate);
+		}
+
+		write(response.value());
+		++unflushedCommands;
+	}
+
+	/** Must be called from the command executor, the responses are serialized back on the loop thread. */
+	private void execute(List<Request> batch, int from) {
+		final var responses = new ArrayList<CommandResponse>(batch.size() - from);
+
+		for (var index = from; index < batch.size(); ++index) {
+			final var request = batch.get(index);
+			final var response = redis.evaluate(this, request.value(), request.length(), request.bytes());
+
+			if (blockingTask != null) {
+				final var task = blockingTask;
+				blockingTask = null;
+
+				/* the executor must not wait, the rest of the batch will come back once the task is done, the task itself runs concurrently with the executor */
+				final var next = index + 1;
+				eventLoop.execute(() -> onExecuted(responses, false));
+
+				Thread.ofVirtual().start(() -> {
+					try {
+						final var blockingResponse = task.get();
+						eventLoop.execute(() -> onExecuted(blockingResponse == null ? List.of() : List.of(blockingResponse), false));
+
+						commandExecutor.execute(() -> execute(batch, next));
+					} catch (Exception exception) {
+						Logger.warning("%d: blocking command returned an error: %s", id, exception.getMessage());
+						eventLoop.execute(this::close);
+					}
+				});
+
+				return;
+			}
+
+			responses.add(response);
+		}
+
+		eventLoop.execute(() -> onExecuted(responses, true));
+	}
+
+	private void onExecuted(List<CommandResponse> responses, boolean last) {
+		if (closed) {
+			return;
+		}
+
+		for (final var response : responses) {
+			onResponse(response);
+		}
+
+		if (!last) {
+			flush();
+			return;
+		}
+
+		compactReadBuffer();
+		resume();
+	}
+
+	private void write(RValue value) {
+		synchronized (outputBuffer) {
+			if (overLimit) {
+				return;
+			}
+
+			try {
+				serializer.write(value);
+			} catch (IOException exception) {
+				throw new IllegalStateException("output buffer cannot fail", exception);
+			}
+
+			if (!checkOutputBufferLimit()) {
+				eventLoop.execute(this::close);
+			}
+		}
+	}
+
+	/** @return whether the client is still within its output buffer limits, it must be closed otherwise */
+	private boolean checkOutputBufferLimit() {
+		synchronized (outputBuffer) {
+			if (!overLimit && !isWithinOutputBufferLimit(outputBuffer.size())) {
+				overLimit = true;
+			}
+
+			return !overLimit;
+		}
+	}
+
+	private void flush() {
+		if (!eventLoop.inEventLoop()) {
+			eventLoop.execute(this::flush);
+			return;
+		}
+
+		if (closed) {
+			return;
+		}
+
+		try {
+			final var before = outputBuffer.drained();
+			final var drained = outputBuffer.writeTo(channel);
+			sent(outputBuffer.drained() - before);
+
+			if (!checkOutputBufferLimit()) {
+				close();
+				return;
+			}
+
+			if (unflushedCommands != 0) {
+				redis.getStatistics().flushed(unflushedCommands);
+				unflushedCommands = 0;
+			}
+
+			updateInterest(drained);
+		} catch (IOException exception) {
+			Logger.warning("%d: could not write: %s", id, exception.getMessage());
+			close();
+		}
+	}
+
+	private void updateInterest(boolean drained) {
+		var operations = 0;
+
+		if (!suspended) {
+			operations |= SelectionKey.OP_READ;
+		}
+
+		if (!drained) {
+			operations |= SelectionKey.OP_WRITE;
+		}
+
+		key.interestOps(operations);
+	}
+
+	@Override
+	public void command(CommandResponse value) {
+		if (Logger.isDebugEnabled()) {
+			Logger.debug("%d: send command: %s", id, value);
+		}
+
+		/* keep the order with the responses that the loop has not serialized yet */
+		if (commandExecutor != null && !eventLoop.inEventLoop()) {
+			eventLoop.execute(() -> sendCommand(value));
+			return;
+		}
+
+		sendCommand(value);
+	}
+
+	private void sendCommand(CommandResponse value) {
+		synchronized (outputBuffer) {
+			final var before = outputBuffer.count();
+			write(value.value());
+
+			if (value.value() instanceof RBlob) {
+				setOffset(0);
+				if (Logger.isDebugEnabled()) {
+					Logger.debug("%d: reset offset", id);
+				}
+			} else {
+				setOffset(getOffset() + outputBuffer.count() - before);
+				if (Logger.isDebugEnabled()) {
+					Logger.debug("%d: offset: %d", id, getOffset());
+				}
+			}
+		}
+
+		flush();
+	}
+
+	@Override
+	public void notifySubscription(RValue value) {
+		if (Logger.isDebugEnabled()) {
+			Logger.debug("%d: notifying subscription: %s", id, value);
+		}
+
+		if (commandExecutor != null && !eventLoop.inEventLoop()) {
+			eventLoop.execute(() -> {
+				write(value);
+				flush();
+			});
+
+			return;
+		}
+
+		write(value);
+		flush();
+	}
+
+	@Override
+	public void notifySubscriptions(List<RValue> values) {
+		if (commandExecutor != null && !eventLoop.inEventLoop()) {
+			eventLoop.execute(() -> notifySubscriptions(values));
+			return;
+		}
+
+		for (final var value : values) {
+			write(value);
+		}
+
+		flush();
+	}
+
+	@Override
+	public int getPendingOutputSize() {
+		return outputBuffer.size();
+	}
+
+	@Override
+	public void kill() {
+		eventLoop.execute(this::close);
+	}
+
+	@Override
+	public CommandResponse runBlocking(Supplier<CommandResponse> task) {
+		if (commandExecutor != null) {
+			/* picked up by the batch being executed */
+			blockingTask = task;
+			return null;
+		}
+
+		suspended = true;
+
+		Thread.ofVirtual().start(() -> {
+			try {
+				final var response = task.get();
+
+				if (response != null) {
+					write(response.value());
+				}
+
+				eventLoop.execute(this::resume);
+			} catch (Exception exception) {
+				Logger.warning("%d: blocking command returned an error: %s", id, exception.getMessage());
+				eventLoop.execute(this::close);
+			}
+		});
+
+		return null;
+	}
+
+	private void resume() {
+		if (closed) {
+			return;
+		}
+
+		suspended = false;
+
+		try {
+			process();
+		} catch (RErrorException exception) {
+			/* the protocol is broken, tell the client why before leaving */
+			Logger.warning("%d: returned an error: %s", id, exception.getError());
+
+			write(exception.getError());
+			flush();
+			close();
+		} catch (Exception exception) {
+			Logger.warning("%d: returned an error: %s", id, exception.getMessage());
+			close();
+		}
+	}
+
+	private void close() {
+		if (closed) {
+			return;
+		}
+
+		closed = true;
+
+		try {
+			channel.close();
+		} catch (IOException exception) {
+			Logger.warning("%d: could not close: %s", id, exception.getMessage());
+		}
+
+		disconnected();
+	}
+
+	/** @param value either the {@link Arguments} or the decoded value */
+	private record Request(
+		Object value,
+		long length,
+		Supplier<ByteBuffer> bytes
+	) {}
+
+}
@@ -0,0 +1,15 @@
+package redis.client;
+
+/** Kind of client, each with its own output buffer limits. */
+public enum ClientClass {
+
+	NORMAL,
+	REPLICA,
+	PUBSUB;
+
+	@Override
+	public String toString() {
+		return name().toLowerCase();
+	}
+
+}
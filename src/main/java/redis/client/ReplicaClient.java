@@ -7,6 +7,7 @@ import java.net.Socket;
 
 import lombok.SneakyThrows;
 import redis.Redis;
+import redis.logging.Logger;
 import redis.rdb.RdbLoader;
 import redis.serial.Deserializer;
 import redis.serial.Serializer;
@@ -52,14 +53,14 @@ public class ReplicaClient implements Client, Runnable {
 
 				final var read = inputStream.count();
 
-				Redis.log("replica: received (%s): %s".formatted(read, request));
-				final var response = redis.evaluate(this, request, read, inputStream::buffer);
+				Logger.debug("replica: received (%s): %s", read, request);
+				final var response = redis.evaluate(this, request, read, inputStream::slice);
 
 				if (response == null) {
-					Redis.log("replica: no response");
+					Logger.debug("replica: no response");
 					continue;
 				} else {
-					Redis.log("replica: responding: %s".formatted(response));
+					Logger.debug("replica: responding: %s", response);
 
 					if (!response.ignorableByReplica()) {
 						serializer.write(response.value());
@@ -69,17 +70,17 @@ public class ReplicaClient implements Client, Runnable {
 				serializer.flush();
 			}
 		} catch (Exception exception) {
-			Redis.error("replica: returned an error: %s".formatted(exception.getMessage()));
+			Logger.warning("replica: returned an error: %s", exception.getMessage());
 
 			final var writer = new StringWriter();
 			exception.printStackTrace(new PrintWriter(writer));
 
 			for (final var line : writer.getBuffer().toString().split("\n")) {
-				Redis.error("replica:   %s".formatted(line.replace("\r", "")));
+				Logger.warning("replica:   %s", line.replace("\r", ""));
 			}
 		}
 
-		Redis.log("replica: disconnected");
+		Logger.verbose("replica: disconnected");
 	}
 
 	@SneakyThrows
@@ -117,11 +118,11 @@ public class ReplicaClient implements Client, Runnable {
 
 	@SneakyThrows
 	public Object send(RArray<RValue> command) {
-		Redis.log("replica: sending: %s".formatted(command));
+		Logger.debug("replica: sending: %s", command);
 		serializer.write(command);
 
 		final var answer = deserializer.read();
-		Redis.log("replica: received: %s".formatted(answer));
+		Logger.debug("replica: received: %s", answer);
 
 		return answer;
 	}
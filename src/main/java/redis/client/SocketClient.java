@@ -1,159 +1,124 @@
 package redis.client;
 
 import java.io.IOException;
-import java.io.PrintWriter;
-import java.io.StringWriter;
-import java.net.Socket;
+import java.net.InetSocketAddress;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.SocketChannel;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.TreeSet;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
+import lombok.AccessLevel;
 import lombok.Getter;
-import lombok.Locked;
 import lombok.Setter;
-import lombok.SneakyThrows;
 import redis.Redis;
 import redis.command.CommandResponse;
 import redis.command.ParsedCommand;
-import redis.serial.Deserializer;
+import redis.logging.Logger;
+import redis.serial.Protocol;
 import redis.serial.Serializer;
-import redis.type.RBlob;
+import redis.type.RArray;
+import redis.type.RString;
 import redis.type.RValue;
 import redis.user.User;
-import redis.util.TrackedInputStream;
-import redis.util.TrackedOutputStream;
 
-public class SocketClient implements Client, Runnable {
+/**
+ * State shared by every client connected through a socket, whatever the I/O model serving it.
+ *
+ * @see BlockingSocketClient
+ * @see ChannelClient
+ */
+public abstract class SocketClient implements Client {
 
 	private static final AtomicInteger ID_INCREMENT = new AtomicInteger();
 
-	private final int id;
-	private final Socket socket;
-	private final Redis redis;
+	protected final @Getter int id;
+	private final @Getter String address;
+	private @Getter @Setter String name;
+	protected final Redis redis;
 	private boolean connected;
 	private Consumer<SocketClient> disconnectListener;
-	private boolean replicate;
-	private @Getter @Setter long offset = 0;
-	private final BlockingQueue<CommandResponse> pendingCommands = new ArrayBlockingQueue<>(128, true);
-	private @Setter Consumer<Object> replicateConsumer;
+	protected volatile boolean replicate;
+
+	/* bytes propagated to the replica since its synchronization, and the last of them that it has acknowledged */
+	private volatile @Getter @Setter long offset = 0;
+	private volatile @Getter long acknowledgedOffset = -1;
+	private @Getter @Setter Consumer<Object> replicateConsumer;
+
+	/* kept by the pub/sub under its lock, and read without it on every write to find the class of the client */
+	private volatile @Getter @Setter boolean subscribed;
+
+	/* run after each write to the socket, so that a monitor waiting for the client to catch up does not have to poll */
+	private volatile @Setter Runnable outputListener;
 
 	private @Getter @Setter List<ParsedCommand> queuedCommands;
-	private final Set<String> watchedKeys = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+	private final Set<RString> watchedKeys = new HashSet<>();
 	private boolean watchedKeyChanged = false;
 
 	private @Getter @Setter User user;
-
-	private final TrackedInputStream inputStream;
-	private final TrackedOutputStream outputStream;
-	private final Deserializer deserializer;
-	private final Serializer serializer;
-
-	public SocketClient(Socket socket, Redis redis) throws IOException {
+	private @Getter int protocolVersion = Protocol.RESP2;
+	private long softOutputLimitReachedAt;
+
+	/* written by one thread at a time, the one reading or executing for the client, and read without locking by CLIENT LIST */
+	private final @Getter long createdAt = System.currentTimeMillis();
+	private volatile @Getter long lastInteractionAt = createdAt;
+	private volatile @Getter String lastCommand;
+	private volatile @Getter long commandsProcessed;
+	private volatile @Getter @Setter(AccessLevel.PROTECTED) int queryBufferSize;
+	private volatile @Getter long networkInputBytes;
+	private volatile @Getter long networkOutputBytes;
+
+	protected SocketClient(Redis redis, SocketChannel channel) {
 		this.id = ID_INCREMENT.incrementAndGet();
-		this.socket = socket;
+		this.address = formatAddress(channel);
 		this.redis = redis;
 
-		this.inputStream = new TrackedInputStream(socket.getInputStream());
-		this.outputStream = new TrackedOutputStream(socket.getOutputStream());
-		this.deserializer = new Deserializer(inputStream);
-		this.serializer = new Serializer(outputStream);
-
 		this.user = redis.getUserRepository()
 			.authenticateDefaultNoPassword()
 			.orElse(null);
 	}
 
-	@SneakyThrows
-	@Override
-	public void run() {
-		connected = true;
-		Redis.log("%d: connected".formatted(id));
-
-		try (socket) {
-			while (!replicate) {
-				inputStream.begin();
-
-				final var request = deserializer.read();
-				if (request == null) {
-					break;
-				}
+	/** Queue a command to be sent to the replica behind this client. */
+	public abstract void command(CommandResponse value);
 
-				final var read = inputStream.count();
+	/** Send a message that has not been requested by the client. */
+	public abstract void notifySubscription(RValue value);
 
-				Redis.log("%d: received (%d): %s".formatted(id, read, request));
-				final var response = redis.evaluate(this, request, read, inputStream::buffer);
+	/** Send messages that have not been requested by the client, flushing them at once. */
+	public abstract void notifySubscriptions(List<RValue> values);
 
-				if (response == null) {
-					Redis.log("%d: no response".formatted(id));
-					continue;
-				} else {
-					Redis.log("%d: responding: %s (replicate=%s)".formatted(id, response, replicate));
-					serialize(response.value());
-				}
+	/** @return the number of bytes waiting to be sent to the client */
+	public abstract int getPendingOutputSize();
 
-				outputStream.flush();
-			}
+	/** Close the connection, from any thread. */
+	public abstract void kill();
 
-			if (replicate) {
-				Thread.ofVirtual().start(new Runnable() {
-
-					@Override
-					@SneakyThrows
-					public void run() {
-						while (socket.isConnected()) {
-							final var request = deserializer.read();
-							if (request == null) {
-								break;
-							}
-
-							final var consumer = replicateConsumer;
-							if (consumer != null) {
-								consumer.accept(request);
-							}
-						}
-					}
-
-				});
-			}
+	/**
+	 * Run a command that may block until some other client does something.
+	 *
+	 * @return the response, or <code>null</code> if the response will be sent later by the client itself
+	 */
+	public abstract CommandResponse runBlocking(Supplier<CommandResponse> task);
 
-			while (replicate && socket.isConnected()) {
-				final var command = pendingCommands.poll(1, TimeUnit.MINUTES);
-				if (command == null) {
-					continue;
-				}
-
-				Redis.log("%d: send command: %s".formatted(id, command));
-
-				outputStream.begin();
-				serialize(command.value());
-				serializer.flush();
-
-				if (command.value() instanceof RBlob) {
-					offset = 0;
-					Redis.log("%d: reset offset".formatted(id));
-				} else {
-					offset += outputStream.count();
-					Redis.log("%d: offset: %d".formatted(id, offset));
-				}
-			}
-		} catch (Exception exception) {
-			Redis.error("%d: returned an error: %s".formatted(id, exception.getMessage()));
+	/** @return the serializer used to answer, whose version follows the protocol negotiated by the client */
+	protected abstract Serializer getSerializer();
 
-			final var writer = new StringWriter();
-			exception.printStackTrace(new PrintWriter(writer));
-
-			for (final var line : writer.getBuffer().toString().split("\n")) {
-				Redis.error("%d:   %s".formatted(id, line.replace("\r", "")));
-			}
-		}
+	protected void connected() {
+		connected = true;
+		redis.getClients().put(id, this);
+		redis.getStatistics().clientConnected();
+		Logger.verbose("%d: connected", id);
+	}
 
-		Redis.log("%d: disconnected".formatted(id));
+	protected void disconnected() {
+		Logger.verbose("%d: disconnected", id);
+		redis.getClients().remove(id);
+		redis.getStatistics().clientDisconnected();
 
 		synchronized (this) {
 			connected = false;
@@ -164,9 +129,102 @@ public class SocketClient implements Client, Runnable {
 		}
 
 		redis.getPubSub().unsubscribeAll(this);
+		redis.getMonitors().remove(this);
 		discardTransaction();
 	}
 
+	/** Must be called by the thread executing the commands of the client. */
+	public void executed(String command) {
+		lastInteractionAt = System.currentTimeMillis();
+		lastCommand = command;
+		++commandsProcessed;
+	}
+
+	/** Must be called by the thread reading from the client. */
+	protected void received(long bytes) {
+		networkInputBytes += bytes;
+
+		redis.getStatistics().received(bytes);
+	}
+
+	/** Must be called by the thread writing to the client. */
+	protected void sent(long bytes) {
+		networkOutputBytes += bytes;
+
+		redis.getStatistics().sent(bytes);
+
+		final var listener = outputListener;
+		if (listener != null) {
+			listener.run();
+		}
+	}
+
+	public boolean isReplica() {
+		return replicate;
+	}
+
+	public ClientClass getClientClass() {
+		if (replicate) {
+			return ClientClass.REPLICA;
+		}
+
+		if (subscribed) {
+			return ClientClass.PUBSUB;
+		}
+
+		return ClientClass.NORMAL;
+	}
+
+	/**
+	 * Check the pending output against the limits of the client class.
+	 * Must be called every time the output grows or shrinks, with the output locked.
+	 *
+	 * @return whether the client can keep up, if not it must be disconnected
+	 */
+	protected boolean isWithinOutputBufferLimit(long pending) {
+		final var limit = redis.getConfiguration()
+			.clientOutputBufferLimit()
+			.getValue()
+			.get(getClientClass());
+
+		if (limit.hard() != 0 && pending >= limit.hard()) {
+			return outputBufferLimitReached(pending, "hard");
+		}
+
+		if (limit.soft() == 0 || pending < limit.soft()) {
+			softOutputLimitReachedAt = 0;
+			return true;
+		}
+
+		final var now = System.nanoTime();
+		if (softOutputLimitReachedAt == 0) {
+			softOutputLimitReachedAt = now;
+			return true;
+		}
+
+		if (now - softOutputLimitReachedAt >= TimeUnit.SECONDS.toNanos(limit.softSeconds())) {
+			return outputBufferLimitReached(pending, "soft");
+		}
+
+		return true;
+	}
+
+	private boolean outputBufferLimitReached(long pending, String kind) {
+		Logger.warning("%d: closing for overcoming of output buffer %s limits (class=%s pending=%d)", id, kind, getClientClass(), pending);
+		redis.getStatistics().outputBufferLimitReached();
+
+		return false;
+	}
+
+	public void setProtocolVersion(int protocolVersion) {
+		this.protocolVersion = protocolVersion;
+		getSerializer().setVersion(protocolVersion);
+	}
+
+	public boolean isResp3() {
+		return protocolVersion == Protocol.RESP3;
+	}
+
 	public void enableReplicate() {
 		if (replicate) {
 			throw new IllegalStateException("replication is already enabled");
@@ -175,19 +233,21 @@ public class SocketClient implements Client, Runnable {
 		replicate = true;
 	}
 
-	@SneakyThrows
-	@Locked
-	private void serialize(RValue value) {
-		serializer.write(value);
-	}
-
-	public void command(CommandResponse value) {
-		final var inserted = pendingCommands.offer(value);
-		Redis.log("%d: queue command: %s - inserted?=%s newSize=%s".formatted(id, value, inserted, pendingCommands.size()));
+	/** Handle what a replica sent, either the acknowledgement of its offset or the reply to a command of the master. */
+	protected void replicaReplied(RValue reply) {
+		/* REPLCONF ACK <offset> */
+		if (reply instanceof RArray<?> array
+			&& array.size() == 3
+			&& array.get(0) instanceof RString command && RString.equalsIgnoreCase(command, "REPLCONF")
+			&& array.get(1) instanceof RString action && RString.equalsIgnoreCase(action, "ACK")
+			&& array.get(2) instanceof RString offset
+		) {
+			acknowledgedOffset = offset.asLong();
+		}
 
-		if (!inserted) {
-			Redis.log("%d: retry queue command: %s".formatted(id, value));
-			pendingCommands.add(value);
+		final var consumer = getReplicateConsumer();
+		if (consumer != null) {
+			consumer.accept(reply);
 		}
 	}
 
@@ -237,15 +297,13 @@ public class SocketClient implements Client, Runnable {
 		return false;
 	}
 
-	public void notifySubscription(RValue value) {
-		Redis.log("%d: notifying subscription: %s".formatted(id, value));
-		serialize(value);
-	}
-
-	public void watch(String key) {
+	public void watch(RString key) {
 		if (watchedKeys.add(key)) {
 			redis.getStorage().watch(key, this);
-			Redis.log("%d: watching key: %s".formatted(id, key));
+
+			if (Logger.isDebugEnabled()) {
+				Logger.debug("%d: watching key: %s", id, key);
+			}
 		}
 	}
 
@@ -253,9 +311,12 @@ public class SocketClient implements Client, Runnable {
 		return watchedKeyChanged;
 	}
 
-	public void notifyWatchedKeyChanged(String key) {
+	public void notifyWatchedKeyChanged(RString key) {
 		final var ignored = !isInTransaction();
-		Redis.log("%d: notified that watched key changed: %s (ignored=%s)".formatted(id, key, ignored));
+
+		if (Logger.isDebugEnabled()) {
+			Logger.debug("%d: notified that watched key changed: %s (ignored=%s)", id, key, ignored);
+		}
 
 		if (!ignored) {
 			watchedKeyChanged = true;
@@ -268,6 +329,23 @@ public class SocketClient implements Client, Runnable {
 		}
 	}
 
+	/** @return the address of the peer as <code>ip:port</code>, or the path of the socket followed by <code>:0</code> for Unix domain sockets */
+	private static String formatAddress(SocketChannel channel) {
+		try {
+			if (channel.getRemoteAddress() instanceof InetSocketAddress inet) {
+				return "%s:%d".formatted(inet.getAddress().getHostAddress(), inet.getPort());
+			}
+
+			if (channel.getLocalAddress() instanceof UnixDomainSocketAddress unix) {
+				return "%s:0".formatted(unix.getPath());
+			}
+		} catch (IOException __) {
+			/* already disconnected */
+		}
+
+		return "?:0";
+	}
+
 	public static SocketClient cast(Client client) {
 		if (client instanceof SocketClient socketClient) {
 			return socketClient;
@@ -276,4 +354,4 @@ public class SocketClient implements Client, Runnable {
 		throw new UnsupportedOperationException("client must be a SocketClient");
 	}
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,284 @@
+package redis.command;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.OptionalInt;
+
+import redis.type.RArray;
+import redis.type.RError;
+import redis.type.RErrorException;
+import redis.type.RString;
+import redis.util.NumberUtils;
+
+/**
+ * Arguments of a command, as slices of the bytes they have been read from.
+ * <p>
+ * Nothing is copied until an argument is {@link #get(int) asked} as a string: options are compared and numbers are parsed from the slices directly. The instance is meant to be reused from one request to the next, and the slices are only valid until the buffer behind them is reused.
+ * <p>
+ * Indexes are relative to the first argument that has not been {@link #shift() shifted} yet, so that a parser only sees its own arguments.
+ */
+public class Arguments {
+
+	private static final int INITIAL_CAPACITY = 8;
+
+	private byte[][] arrays = new byte[INITIAL_CAPACITY][];
+	private int[] offsets = new int[INITIAL_CAPACITY];
+	private int[] lengths = new int[INITIAL_CAPACITY];
+	private RString[] strings = new RString[INITIAL_CAPACITY];
+	private int count;
+	private int start;
+
+	public void clear() {
+		Arrays.fill(arrays, 0, count, null);
+		Arrays.fill(strings, 0, count, null);
+		count = 0;
+		start = 0;
+	}
+
+	/** @param array kept as is, it must not be modified until the arguments are cleared */
+	public void add(byte[] array, int offset, int length) {
+		if (count == arrays.length) {
+			final var capacity = count * 2;
+
+			arrays = Arrays.copyOf(arrays, capacity);
+			offsets = Arrays.copyOf(offsets, capacity);
+			lengths = Arrays.copyOf(lengths, capacity);
+			strings = Arrays.copyOf(strings, capacity);
+		}
+
+		arrays[count] = array;
+		offsets[count] = offset;
+		lengths[count] = length;
+		++count;
+	}
+
+	private void add(RString string) {
+		add(string.bytes(), 0, string.length());
+		strings[count - 1] = string;
+	}
+
+	/** Move past the first argument, such as the name of a command before handing the rest to its parser. */
+	public Arguments shift() {
+		if (start == count) {
+			throw new IllegalStateException("no argument left");
+		}
+
+		++start;
+		return this;
+	}
+
+	public int size() {
+		return count - start;
+	}
+
+	public boolean isEmpty() {
+		return count == start;
+	}
+
+	public int length(int index) {
+		return lengths[checkIndex(index)];
+	}
+
+	/** @return the argument as a bulk string, copied out of the slice the first time */
+	public RString get(int index) {
+		final var absolute = checkIndex(index);
+
+		var string = strings[absolute];
+		if (string == null) {
+			final var offset = offsets[absolute];
+			string = RString.bulk(Arrays.copyOfRange(arrays[absolute], offset, offset + lengths[absolute]));
+			strings[absolute] = string;
+		}
+
+		return string;
+	}
+
+	public RString getFirst() {
+		return get(0);
+	}
+
+	/** @return copies of the arguments between the indexes */
+	public RArray<RString> subList(int fromIndex, int toIndex) {
+		final var items = new ArrayList<RString>(toIndex - fromIndex);
+
+		for (var index = fromIndex; index < toIndex; ++index) {
+			items.add(get(index));
+		}
+
+		return RArray.view(items);
+	}
+
+	/** @return copies of the arguments that have not been shifted */
+	public RArray<RString> asArray() {
+		return subList(0, size());
+	}
+
+	/** @return copies of every argument, including the shifted ones */
+	public RArray<RString> raw() {
+		final var shifted = start;
+		start = 0;
+
+		try {
+			return asArray();
+		} finally {
+			start = shifted;
+		}
+	}
+
+	/** Compare with an ASCII string, such as an option. */
+	public boolean equalsIgnoreCase(int index, String other) {
+		final var absolute = checkIndex(index);
+		final var array = arrays[absolute];
+		final var offset = offsets[absolute];
+		final var length = lengths[absolute];
+
+		if (length != other.length()) {
+			return false;
+		}
+
+		for (var jndex = 0; jndex < length; ++jndex) {
+			final var value = (char) (array[offset + jndex] & 0xff);
+			final var character = other.charAt(jndex);
+
+			if (value != character && toUpperCase(value) != toUpperCase(character)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/** Same as {@link #equalsIgnoreCase(int, String)}, with a name that is already upper case. */
+	public boolean equalsUpperCase(int index, byte[] upperCase) {
+		final var absolute = checkIndex(index);
+		final var array = arrays[absolute];
+		final var offset = offsets[absolute];
+		final var length = lengths[absolute];
+
+		if (length != upperCase.length) {
+			return false;
+		}
+
+		for (var jndex = 0; jndex < length; ++jndex) {
+			if (toUpperCase(array[offset + jndex]) != upperCase[jndex]) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/** @return a hash of the argument that ignores the case of ASCII letters */
+	public int hashIgnoreCase(int index) {
+		final var absolute = checkIndex(index);
+
+		return hashUpperCase(arrays[absolute], offsets[absolute], lengths[absolute]);
+	}
+
+	/** @throws RErrorException if the argument is not a 64 bit integer */
+	public long asLong(int index) {
+		try {
+			return parseLong(index);
+		} catch (NumberFormatException exception) {
+			throw RError.valueNotAnInteger().asException();
+		}
+	}
+
+	public OptionalInt asInteger(int index) {
+		try {
+			final var value = parseLong(index);
+			if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+				return OptionalInt.empty();
+			}
+
+			return OptionalInt.of((int) value);
+		} catch (NumberFormatException __) {
+			return OptionalInt.empty();
+		}
+	}
+
+	/** @throws RErrorException if the argument is not a 32 bit integer */
+	public int asInt(int index) {
+		return asInteger(index).orElseThrow(RError.valueNotAnInteger()::asException);
+	}
+
+	private long parseLong(int index) {
+		final var absolute = checkIndex(index);
+
+		return NumberUtils.parseLong(arrays[absolute], offsets[absolute], lengths[absolute]);
+	}
+
+	public double asDouble(int index) {
+		final var absolute = checkIndex(index);
+
+		try {
+			return Double.parseDouble(new String(arrays[absolute], offsets[absolute], lengths[absolute], StandardCharsets.ISO_8859_1));
+		} catch (NumberFormatException exception) {
+			throw RError.valueNotAFloat().asException();
+		}
+	}
+
+	private int checkIndex(int index) {
+		return start + Objects.checkIndex(index, count - start);
+	}
+
+	@Override
+	public String toString() {
+		final var builder = new StringBuilder("Arguments[");
+
+		for (var index = 0; index < count; ++index) {
+			if (index != 0) {
+				builder.append(", ");
+			}
+
+			builder.append(new String(arrays[index], offsets[index], lengths[index], StandardCharsets.UTF_8));
+		}
+
+		return builder.append(']').toString();
+	}
+
+	/** @return the arguments of an already decoded request, the strings are used as they are */
+	public static Arguments of(RArray<?> request) {
+		final var arguments = new Arguments();
+
+		for (final var item : request.items()) {
+			if (!(item instanceof RString string)) {
+				throw new RError("ERR Protocol error: expected bulk strings, got %s".formatted(item.getClass().getSimpleName())).asException();
+			}
+
+			arguments.add(string);
+		}
+
+		return arguments;
+	}
+
+	/** @return a hash that ignores the case of ASCII letters, the same as {@link #hashIgnoreCase(int)} */
+	public static int hashUpperCase(byte[] array, int offset, int length) {
+		var hash = 1;
+
+		for (var index = 0; index < length; ++index) {
+			hash = 31 * hash + toUpperCase(array[offset + index]);
+		}
+
+		return hash;
+	}
+
+	private static byte toUpperCase(byte value) {
+		if (value >= 'a' && value <= 'z') {
+			return (byte) (value - ('a' - 'A'));
+		}
+
+		return value;
+	}
+
+	private static char toUpperCase(char character) {
+		if (character >= 'a' && character <= 'z') {
+			return (char) (character - ('a' - 'A'));
+		}
+
+		return character;
+	}
+
+}
@@ -3,37 +3,18 @@ package redis.command;
 import redis.Redis;
 import redis.client.Client;
 
+/**
+ * Parsed command, ready to be executed.
+ * <p>
+ * What does not depend on the arguments, such as the name or the flags, is in its {@link CommandDefinition}.
+ */
 public interface Command {
 
 	CommandResponse execute(Redis redis, Client client);
 
-	default String getName() {
-		return getClass().getSimpleName().replace("Command", "").toLowerCase();
-	}
-
-	/** @return Whether the command is writing any kind of data and should be stored in the AOF file. */
-	default boolean isWriting() {
-		return false;
-	}
-
-	/** @return Whether the command can be queued and executed when executing a transaction. */
-	default boolean isQueueable() {
-		return true;
-	}
-
-	/** @return Whether the command should also be sent to replicas. */
-	default boolean isPropagatable() {
-		return false;
-	}
-
-	/** @return Whether the command can be executed while subscribed. */
-	default boolean isPubSub() {
-		return false;
-	}
-
-	/** @return Whether the command only be executed if the user is authenticated. */
-	default boolean isAuthenticationRequired() {
+	/** @return Whether this invocation of a {@link CommandFlag#BLOCKING blocking} command may actually wait. */
+	default boolean mayBlock() {
 		return true;
 	}
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,76 @@
+package redis.command;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+import lombok.NonNull;
+import redis.type.RArray;
+import redis.type.RString;
+
+/**
+ * Entry of the command table: everything that is known about a command before parsing its arguments.
+ * <p>
+ * Positions count the name of the command, as with Redis. Sub-commands count from their own name.
+ *
+ * @param arity number of arguments including the name, or minus the minimum number when there can be more
+ * @param firstKey position of the first key, <code>0</code> if the command has no key
+ * @param lastKey position of the last key, negative to count from the end
+ * @param keyStep distance between two keys
+ */
+public record CommandDefinition(
+	@NonNull String name,
+	int arity,
+	@NonNull Set<CommandFlag> flags,
+	int firstKey,
+	int lastKey,
+	int keyStep
+) {
+
+	public CommandDefinition {
+		flags = Collections.unmodifiableSet(flags.isEmpty() ? EnumSet.noneOf(CommandFlag.class) : EnumSet.copyOf(flags));
+	}
+
+	public CommandDefinition keys(int firstKey, int lastKey, int keyStep) {
+		return new CommandDefinition(name, arity, flags, firstKey, lastKey, keyStep);
+	}
+
+	/** @param count number of arguments including the name */
+	public boolean acceptsArity(int count) {
+		if (arity >= 0) {
+			return count == arity;
+		}
+
+		return count >= -arity;
+	}
+
+	/**
+	 * @param arguments shifted past the name, as given to the parser of the command
+	 * @return the arguments at the positions of the keys
+	 */
+	public RArray<RString> extractKeys(Arguments arguments) {
+		final var keys = new ArrayList<RString>();
+		if (firstKey == 0) {
+			return RArray.view(keys);
+		}
+
+		final var count = arguments.size() + 1;
+		final var last = lastKey < 0 ? count + lastKey : lastKey;
+
+		for (var position = firstKey; position <= last && position < count; position += keyStep) {
+			keys.add(arguments.get(position - 1));
+		}
+
+		return RArray.view(keys);
+	}
+
+	public boolean has(CommandFlag flag) {
+		return flags.contains(flag);
+	}
+
+	public static CommandDefinition of(String name, int arity, CommandFlag... flags) {
+		return new CommandDefinition(name, arity, Set.of(flags), 0, 0, 0);
+	}
+
+}
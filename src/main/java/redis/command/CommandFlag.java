@@ -0,0 +1,27 @@
+package redis.command;
+
+/** Properties of a command that are known before parsing its arguments. */
+public enum CommandFlag {
+
+	/** Writes any kind of data, and is stored in the AOF file. */
+	WRITE,
+
+	/** Is sent to the replicas once executed. */
+	PROPAGATE,
+
+	/** Can be executed while subscribed. */
+	PUBSUB,
+
+	/** Cannot be queued in a transaction, it is executed right away. */
+	NO_MULTI,
+
+	/** May wait for another client, and must not be executed on a shared thread. */
+	BLOCKING,
+
+	/** Can be executed before being authenticated. */
+	NO_AUTH,
+
+	/** Is not shown to the monitors, because of credentials in its arguments or because it is part of the replication. */
+	SKIP_MONITOR;
+
+}
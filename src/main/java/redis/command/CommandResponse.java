@@ -1,18 +1,72 @@
 package redis.command;
 
+import redis.type.RArray;
+import redis.type.RInteger;
+import redis.type.RNil;
+import redis.type.ROk;
+import redis.type.RString;
 import redis.type.RValue;
 
+/**
+ * Value returned by a command.
+ * <p>
+ * Responses of constant replies and small integers are shared, to not allocate anything for them.
+ *
+ * @param propagated command sent to the replicas and the append only file instead of the one received, empty to send nothing, <code>null</code> to send the one received
+ */
 public record CommandResponse(
 	RValue value,
-	boolean ignorableByReplica
+	boolean ignorableByReplica,
+	RArray<RString> propagated
 ) {
 
+	public static final CommandResponse OK = new CommandResponse(ROk.OK);
+	public static final CommandResponse QUEUED = new CommandResponse(ROk.QUEUED);
+	public static final CommandResponse NIL_BULK = new CommandResponse(RNil.BULK);
+	public static final CommandResponse NIL_ARRAY = new CommandResponse(RNil.ARRAY);
+	public static final CommandResponse EMPTY_ARRAY = new CommandResponse(RArray.empty());
+	public static final CommandResponse EMPTY_BULK = new CommandResponse(RString.empty(true));
+
+	private static final CommandResponse[] INTEGERS = new CommandResponse[RInteger.SHARED_MAXIMUM - RInteger.SHARED_MINIMUM + 1];
+
+	static {
+		for (var index = 0; index < INTEGERS.length; ++index) {
+			INTEGERS[index] = new CommandResponse(RInteger.of(index + RInteger.SHARED_MINIMUM));
+		}
+	}
+
 	public CommandResponse(RValue value) {
 		this(value, true);
 	}
 
+	public CommandResponse(RValue value, boolean ignorableByReplica) {
+		this(value, ignorableByReplica, null);
+	}
+
+	/** @param command sent to the replicas and the append only file instead of the one received */
+	public CommandResponse propagating(RArray<RString> command) {
+		return new CommandResponse(value, ignorableByReplica, command);
+	}
+
+	/** Send nothing to the replicas and the append only file, such as when nothing has changed. */
+	public CommandResponse withoutPropagation() {
+		return new CommandResponse(value, ignorableByReplica, RArray.empty());
+	}
+
 	public String toString() {
 		return "{%s, ignorable?=%s}".formatted(value, ignorableByReplica);
 	}
 
-}
\ No newline at end of file
+	public static CommandResponse of(int value) {
+		if (RInteger.isShared(value)) {
+			return INTEGERS[value - RInteger.SHARED_MINIMUM];
+		}
+
+		return new CommandResponse(RInteger.of(value));
+	}
+
+	public static CommandResponse of(boolean value) {
+		return of(value ? 1 : 0);
+	}
+
+}
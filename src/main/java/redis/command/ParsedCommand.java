@@ -3,13 +3,47 @@ package redis.command;
 import redis.type.RArray;
 import redis.type.RString;
 
+/** @param raw arguments of the command, only kept if it may be propagated */
 public record ParsedCommand(
 	RArray<RString> raw,
-	Command command
+	Command command,
+	CommandDefinition definition
 ) {
 
+	public ParsedCommand withRaw(RArray<RString> raw) {
+		return new ParsedCommand(raw, command, definition);
+	}
+
+	public String name() {
+		return definition.name();
+	}
+
 	public boolean isWriting() {
-		return command.isWriting();
+		return definition.has(CommandFlag.WRITE);
+	}
+
+	public boolean isPropagatable() {
+		return definition.has(CommandFlag.PROPAGATE);
+	}
+
+	public boolean isQueueable() {
+		return !definition.has(CommandFlag.NO_MULTI);
+	}
+
+	public boolean isPubSub() {
+		return definition.has(CommandFlag.PUBSUB);
+	}
+
+	public boolean isBlocking() {
+		return definition.has(CommandFlag.BLOCKING) && command.mayBlock();
+	}
+
+	public boolean isAuthenticationRequired() {
+		return !definition.has(CommandFlag.NO_AUTH);
+	}
+
+	public boolean isMonitored() {
+		return !definition.has(CommandFlag.SKIP_MONITOR);
 	}
 
-}
\ No newline at end of file
+}
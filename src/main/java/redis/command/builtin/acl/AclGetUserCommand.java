@@ -5,6 +5,7 @@ import redis.client.Client;
 import redis.command.Command;
 import redis.command.CommandResponse;
 import redis.type.RArray;
+import redis.type.RMap;
 import redis.type.RString;
 
 public record AclGetUserCommand(
@@ -17,7 +18,7 @@ public record AclGetUserCommand(
 
 		final var user = userRepository.getByName(username);
 
-		return new CommandResponse(RArray.of(
+		return new CommandResponse(RMap.of(
 			RString.bulk("flags"),
 			RArray.view(
 				user.getFlags()
@@ -35,9 +36,4 @@ public record AclGetUserCommand(
 		));
 	}
 
-	@Override
-	public boolean isQueueable() {
-		return false;
-	}
-
 }
\ No newline at end of file
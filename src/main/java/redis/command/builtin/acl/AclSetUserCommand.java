@@ -24,12 +24,7 @@ public record AclSetUserCommand(
 		final var password = newPassword.content().substring(1); /* remove the leading '>' character */
 		user.addPassword(password);
 
-		return new CommandResponse(ROk.OK);
-	}
-
-	@Override
-	public boolean isQueueable() {
-		return false;
+		return CommandResponse.OK;
 	}
 
 }
\ No newline at end of file
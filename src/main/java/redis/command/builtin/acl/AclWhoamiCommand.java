@@ -17,9 +17,4 @@ public record AclWhoamiCommand() implements Command {
 		return new CommandResponse(RString.bulk(user.getName()));
 	}
 
-	@Override
-	public boolean isQueueable() {
-		return false;
-	}
-
 }
\ No newline at end of file
@@ -28,17 +28,7 @@ public record AuthCommand(
 		}
 
 		socketClient.setUser(user.get());
-		return new CommandResponse(ROk.OK);
-	}
-
-	@Override
-	public boolean isQueueable() {
-		return false;
-	}
-
-	@Override
-	public boolean isAuthenticationRequired() {
-		return false;
+		return CommandResponse.OK;
 	}
 
 }
\ No newline at end of file
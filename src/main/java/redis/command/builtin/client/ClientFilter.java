@@ -0,0 +1,43 @@
+package redis.command.builtin.client;
+
+import java.util.List;
+import java.util.Optional;
+
+import redis.client.ClientClass;
+import redis.client.SocketClient;
+
+/**
+ * Criteria of CLIENT LIST and CLIENT KILL, a client must match all of them.
+ *
+ * @param ids of the clients, any if empty
+ */
+public record ClientFilter(
+	List<Integer> ids,
+	Optional<String> address,
+	Optional<ClientClass> type,
+	Optional<String> user
+) {
+
+	public static final ClientFilter ANY = new ClientFilter(List.of(), Optional.empty(), Optional.empty(), Optional.empty());
+
+	public boolean matches(SocketClient client) {
+		if (!ids.isEmpty() && !ids.contains(client.getId())) {
+			return false;
+		}
+
+		if (address.isPresent() && !address.get().equals(client.getAddress())) {
+			return false;
+		}
+
+		if (type.isPresent() && type.get() != client.getClientClass()) {
+			return false;
+		}
+
+		if (user.isPresent() && (client.getUser() == null || !user.get().equals(client.getUser().getName()))) {
+			return false;
+		}
+
+		return true;
+	}
+
+}
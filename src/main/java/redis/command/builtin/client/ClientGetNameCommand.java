@@ -0,0 +1,22 @@
+package redis.command.builtin.client;
+
+import redis.Redis;
+import redis.client.Client;
+import redis.client.SocketClient;
+import redis.command.Command;
+import redis.command.CommandResponse;
+import redis.type.RString;
+
+public record ClientGetNameCommand() implements Command {
+
+	@Override
+	public CommandResponse execute(Redis redis, Client client) {
+		final var name = SocketClient.cast(client).getName();
+		if (name == null) {
+			return CommandResponse.NIL_BULK;
+		}
+
+		return new CommandResponse(RString.bulk(name));
+	}
+
+}
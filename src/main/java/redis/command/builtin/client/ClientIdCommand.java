@@ -0,0 +1,16 @@
+package redis.command.builtin.client;
+
+import redis.Redis;
+import redis.client.Client;
+import redis.client.SocketClient;
+import redis.command.Command;
+import redis.command.CommandResponse;
+
+public record ClientIdCommand() implements Command {
+
+	@Override
+	public CommandResponse execute(Redis redis, Client client) {
+		return CommandResponse.of(SocketClient.cast(client).getId());
+	}
+
+}
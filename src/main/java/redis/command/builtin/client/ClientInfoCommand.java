@@ -0,0 +1,19 @@
+package redis.command.builtin.client;
+
+import redis.Redis;
+import redis.client.Client;
+import redis.client.SocketClient;
+import redis.command.Command;
+import redis.command.CommandResponse;
+import redis.type.RString;
+
+public record ClientInfoCommand() implements Command {
+
+	@Override
+	public CommandResponse execute(Redis redis, Client client) {
+		final var line = ClientListCommand.describe(redis, SocketClient.cast(client));
+
+		return new CommandResponse(RString.bulk(line + "\n"));
+	}
+
+}
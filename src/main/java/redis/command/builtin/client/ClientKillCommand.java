@@ -0,0 +1,45 @@
+package redis.command.builtin.client;
+
+import redis.Redis;
+import redis.client.Client;
+import redis.command.Command;
+import redis.command.CommandResponse;
+import redis.type.RError;
+
+/**
+ * @param legacy whether the client has only been given by its address, which answers OK instead of the number of clients killed
+ * @param skipMe whether the client sending the command is spared
+ */
+public record ClientKillCommand(
+	ClientFilter filter,
+	boolean legacy,
+	boolean skipMe
+) implements Command {
+
+	public static final RError NO_SUCH_CLIENT = new RError("ERR No such client");
+
+	@Override
+	public CommandResponse execute(Redis redis, Client client) {
+		var killed = 0;
+
+		for (final var other : redis.getClients().values()) {
+			if (skipMe && other == client || !filter.matches(other)) {
+				continue;
+			}
+
+			other.kill();
+			++killed;
+		}
+
+		if (!legacy) {
+			return CommandResponse.of(killed);
+		}
+
+		if (killed == 0) {
+			throw NO_SUCH_CLIENT.asException();
+		}
+
+		return CommandResponse.OK;
+	}
+
+}
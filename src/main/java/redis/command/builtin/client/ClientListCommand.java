@@ -0,0 +1,78 @@
+package redis.command.builtin.client;
+
+import java.util.Locale;
+
+import redis.Redis;
+import redis.client.Client;
+import redis.client.SocketClient;
+import redis.command.Command;
+import redis.command.CommandResponse;
+import redis.type.RString;
+
+public record ClientListCommand(
+	ClientFilter filter
+) implements Command {
+
+	@Override
+	public CommandResponse execute(Redis redis, Client client) {
+		final var builder = new StringBuilder();
+
+		for (final var other : redis.getClients().values()) {
+			if (filter.matches(other)) {
+				builder.append(describe(redis, other)).append('\n');
+			}
+		}
+
+		return new CommandResponse(RString.bulk(builder.toString()));
+	}
+
+	/** @return the properties of the client, on a single line, as Redis shows them */
+	public static String describe(Redis redis, SocketClient client) {
+		final var now = System.currentTimeMillis();
+		final var queuedCommands = client.getQueuedCommands();
+		final var lastCommand = client.getLastCommand();
+		final var user = client.getUser();
+
+		return "id=%d addr=%s name=%s age=%d idle=%d flags=%s db=0 sub=%d psub=0 multi=%d qbuf=%d omem=%d tot-net-in=%d tot-net-out=%d tot-cmds=%d cmd=%s user=%s resp=%d".formatted(
+			client.getId(),
+			client.getAddress(),
+			client.getName() != null ? client.getName() : "",
+			(now - client.getCreatedAt()) / 1000,
+			(now - client.getLastInteractionAt()) / 1000,
+			flags(redis, client),
+			redis.getPubSub().getSubscriptionCount(client),
+			queuedCommands != null ? queuedCommands.size() : -1,
+			client.getQueryBufferSize(),
+			client.getPendingOutputSize(),
+			client.getNetworkInputBytes(),
+			client.getNetworkOutputBytes(),
+			client.getCommandsProcessed(),
+			lastCommand != null ? lastCommand.toLowerCase(Locale.ROOT) : "NULL",
+			user != null ? user.getName() : "",
+			client.getProtocolVersion()
+		);
+	}
+
+	private static String flags(Redis redis, SocketClient client) {
+		final var flags = new StringBuilder();
+
+		if (client.isReplica()) {
+			flags.append('S');
+		}
+
+		if (redis.getPubSub().isSubscribed(client)) {
+			flags.append('P');
+		}
+
+		if (client.isInTransaction()) {
+			flags.append('x');
+		}
+
+		if (redis.getMonitors().contains(client)) {
+			flags.append('O');
+		}
+
+		return flags.isEmpty() ? "N" : flags.toString();
+	}
+
+}
@@ -0,0 +1,35 @@
+package redis.command.builtin.client;
+
+import redis.Redis;
+import redis.client.Client;
+import redis.client.SocketClient;
+import redis.command.Command;
+import redis.command.CommandResponse;
+import redis.type.RError;
+import redis.type.RString;
+
+public record ClientSetNameCommand(
+	RString name
+) implements Command {
+
+	public static final RError INVALID_NAME = new RError("ERR Client names cannot contain spaces, newlines or special characters.");
+
+	@Override
+	public CommandResponse execute(Redis redis, Client client) {
+		SocketClient.cast(client).setName(validate(name));
+
+		return CommandResponse.OK;
+	}
+
+	/** @return the name to set, <code>null</code> to remove it */
+	public static String validate(RString name) {
+		for (final var value : name.bytes()) {
+			if (value <= ' ' || value > '~') {
+				throw INVALID_NAME.asException();
+			}
+		}
+
+		return name.isEmpty() ? null : name.content();
+	}
+
+}
@@ -0,0 +1,19 @@
+package redis.command.builtin.core;
+
+import redis.Redis;
+import redis.client.Client;
+import redis.command.Command;
+import redis.command.CommandResponse;
+import redis.type.RArray;
+import redis.type.RString;
+
+public record CommandGetKeysCommand(
+	RArray<RString> keys
+) implements Command {
+
+	@Override
+	public CommandResponse execute(Redis redis, Client client) {
+		return new CommandResponse(keys);
+	}
+
+}
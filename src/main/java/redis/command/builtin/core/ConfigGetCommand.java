@@ -0,0 +1,27 @@
+package redis.command.builtin.core;
+
+import redis.Redis;
+import redis.client.Client;
+import redis.command.Command;
+import redis.command.CommandResponse;
+import redis.type.RMap;
+import redis.type.RString;
+
+public record ConfigGetCommand(
+	RString key
+) implements Command {
+
+	@Override
+	public CommandResponse execute(Redis redis, Client client) {
+		final var property = redis.getConfiguration().option(key.content());
+		if (property == null) {
+			return new CommandResponse(RMap.empty());
+		}
+
+		return new CommandResponse(RMap.of(
+			key,
+			RString.bulk(String.valueOf(property.getValue()))
+		));
+	}
+
+}
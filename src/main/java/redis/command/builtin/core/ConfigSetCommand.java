@@ -0,0 +1,50 @@
+package redis.command.builtin.core;
+
+import java.util.Map;
+
+import redis.Redis;
+import redis.client.Client;
+import redis.command.Command;
+import redis.command.CommandResponse;
+import redis.configuration.Option;
+import redis.type.RError;
+import redis.type.ROk;
+import redis.type.RString;
+
+public record ConfigSetCommand(
+	Map<RString, RString> values
+) implements Command {
+
+	@SuppressWarnings("rawtypes")
+	@Override
+	public CommandResponse execute(Redis redis, Client client) {
+		final var configuration = redis.getConfiguration();
+
+		/* validate everything first, so that nothing is set if a value is wrong */
+		for (final var entry : values.entrySet()) {
+			final var key = entry.getKey().content();
+
+			final Option option = configuration.option(key);
+			if (option == null) {
+				throw new RError("ERR Unknown option or number of arguments for CONFIG SET - '%s'".formatted(key)).asException();
+			}
+
+			if (!option.isMutable()) {
+				throw new RError("ERR CONFIG SET failed (possibly related to argument '%s') - can't set immutable config".formatted(key)).asException();
+			}
+
+			try {
+				option.parse(entry.getValue().content());
+			} catch (IllegalArgumentException exception) {
+				throw new RError("ERR CONFIG SET failed (possibly related to argument '%s') - %s".formatted(key, exception.getMessage())).asException();
+			}
+		}
+
+		for (final var entry : values.entrySet()) {
+			configuration.option(entry.getKey().content()).set(entry.getValue().content());
+		}
+
+		return CommandResponse.OK;
+	}
+
+}
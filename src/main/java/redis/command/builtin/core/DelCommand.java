@@ -0,0 +1,28 @@
+package redis.command.builtin.core;
+
+import redis.Redis;
+import redis.client.Client;
+import redis.command.Command;
+import redis.command.CommandResponse;
+import redis.type.RArray;
+import redis.type.RString;
+
+public record DelCommand(
+	RArray<RString> keys
+) implements Command {
+
+	@Override
+	public CommandResponse execute(Redis redis, Client client) {
+		final var storage = redis.getStorage();
+		var deleted = 0;
+
+		for (final var key : keys.items()) {
+			if (storage.delete(key)) {
+				++deleted;
+			}
+		}
+
+		return CommandResponse.of(deleted);
+	}
+
+}
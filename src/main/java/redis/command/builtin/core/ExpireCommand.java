@@ -0,0 +1,57 @@
+package redis.command.builtin.core;
+
+import redis.Redis;
+import redis.client.Client;
+import redis.command.Command;
+import redis.command.CommandResponse;
+import redis.store.ExpireCondition;
+import redis.type.RArray;
+import redis.type.RString;
+
+/**
+ * EXPIRE, PEXPIRE, EXPIREAT and PEXPIREAT.
+ * <p>
+ * A relative time is only added to the clock when the command is executed, so that it does not start while the command is queued in a transaction.
+ * <p>
+ * As Redis does, replicas and the append only file receive the deadline as a <code>PEXPIREAT</code>, so that it does not move with their own clock, or a <code>DEL</code> if it has already passed.
+ */
+public record ExpireCommand(
+	RString key,
+	long milliseconds,
+	boolean absolute,
+	ExpireCondition condition
+) implements Command {
+
+	private static final RString PEXPIREAT = RString.bulk("PEXPIREAT");
+	private static final RString DEL = RString.bulk("DEL");
+
+	@Override
+	public CommandResponse execute(Redis redis, Client client) {
+		final var until = absolute
+			? milliseconds
+			: saturatedAdd(System.currentTimeMillis(), milliseconds);
+
+		final var changed = redis.getStorage().expire(key, until, condition);
+		if (!changed) {
+			return CommandResponse.of(false).withoutPropagation();
+		}
+
+		/* read after the change, the key has been removed if the deadline was already passed then */
+		if (until <= System.currentTimeMillis()) {
+			return CommandResponse.of(true).propagating(RArray.of(DEL, key));
+		}
+
+		return CommandResponse.of(true).propagating(RArray.of(PEXPIREAT, key, RString.bulk(Long.toString(until))));
+	}
+
+	private static long saturatedAdd(long left, long right) {
+		final var sum = left + right;
+
+		if (((left ^ sum) & (right ^ sum)) < 0) {
+			return right < 0 ? Long.MIN_VALUE : Long.MAX_VALUE;
+		}
+
+		return sum;
+	}
+
+}
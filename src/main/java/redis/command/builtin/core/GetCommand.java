@@ -17,7 +17,7 @@ public record GetCommand(
 		final var value = redis.getStorage().get(key);
 
 		if (value == null) {
-			return new CommandResponse(RNil.BULK);
+			return CommandResponse.NIL_BULK;
 		}
 
 		return new CommandResponse((RValue) value);
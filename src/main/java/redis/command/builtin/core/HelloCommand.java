@@ -0,0 +1,78 @@
+package redis.command.builtin.core;
+
+import java.util.Optional;
+import java.util.OptionalInt;
+
+import redis.Redis;
+import redis.client.Client;
+import redis.client.SocketClient;
+import redis.command.Command;
+import redis.command.CommandResponse;
+import redis.command.builtin.acl.AuthCommand;
+import redis.command.builtin.client.ClientSetNameCommand;
+import redis.serial.Protocol;
+import redis.type.RArray;
+import redis.type.RError;
+import redis.type.RInteger;
+import redis.type.RMap;
+import redis.type.RString;
+
+public record HelloCommand(
+	OptionalInt protocolVersion,
+	Optional<Credentials> credentials,
+	Optional<RString> clientName
+) implements Command {
+
+	public static final String SERVER_VERSION = "7.4.0";
+
+	private static final RError UNSUPPORTED_PROTOCOL = new RError("NOPROTO unsupported protocol version");
+	private static final RError AUTHENTICATION_REQUIRED = new RError("NOAUTH HELLO must be called with the client already authenticated, otherwise the HELLO <proto> AUTH <user> <pass> option can be used to authenticate the client and select the RESP protocol version at the same time");
+
+	@Override
+	public CommandResponse execute(Redis redis, Client client) {
+		final var socketClient = SocketClient.cast(client);
+
+		final var version = protocolVersion.orElse(socketClient.getProtocolVersion());
+		if (version != Protocol.RESP2 && version != Protocol.RESP3) {
+			throw UNSUPPORTED_PROTOCOL.asException();
+		}
+
+		final var name = clientName.map(ClientSetNameCommand::validate);
+
+		if (credentials.isPresent()) {
+			final var user = redis.getUserRepository().authenticate(credentials.get().username(), credentials.get().password());
+			if (user.isEmpty()) {
+				throw AuthCommand.WRONG_CREDENTIALS.asException();
+			}
+
+			socketClient.setUser(user.get());
+		} else if (socketClient.getUser() == null) {
+			throw AUTHENTICATION_REQUIRED.asException();
+		}
+
+		socketClient.setProtocolVersion(version);
+		if (clientName.isPresent()) {
+			socketClient.setName(name.orElse(null));
+		}
+
+		final var role = redis.getConfiguration().isSlave()
+			? "replica"
+			: "master";
+
+		return new CommandResponse(RMap.of(
+			RString.bulk("server"), RString.bulk("redis"),
+			RString.bulk("version"), RString.bulk(SERVER_VERSION),
+			RString.bulk("proto"), RInteger.of(version),
+			RString.bulk("id"), RInteger.of(socketClient.getId()),
+			RString.bulk("mode"), RString.bulk("standalone"),
+			RString.bulk("role"), RString.bulk(role),
+			RString.bulk("modules"), RArray.empty()
+		));
+	}
+
+	public record Credentials(
+		RString username,
+		RString password
+	) {}
+
+}
@@ -5,7 +5,6 @@ import redis.client.Client;
 import redis.command.Command;
 import redis.command.CommandResponse;
 import redis.type.RError;
-import redis.type.RInteger;
 import redis.type.RString;
 
 public record IncrCommand(
@@ -16,13 +15,7 @@ public record IncrCommand(
 
 	@Override
 	public CommandResponse execute(Redis redis, Client client) {
-		final var newValueBox = new Object() {
-
-			int x;
-
-		};
-
-		redis.getStorage().compute(
+		final RString newValue = redis.getStorage().compute(
 			key,
 			(previous) -> {
 				var value = 0;
@@ -31,17 +24,11 @@ public record IncrCommand(
 					value = string.asInteger().orElseThrow(VALUE_OUT_OF_RANGE::asException);
 				}
 
-				final var newValue = newValueBox.x = value + 1;
-				return RString.bulk(String.valueOf(newValue));
+				return RString.number(value + 1);
 			}
 		);
 
-		return new CommandResponse(RInteger.of(newValueBox.x));
-	}
-
-	@Override
-	public boolean isWriting() {
-		return true;
+		return CommandResponse.of((int) newValue.asLong());
 	}
 
 }
\ No newline at end of file
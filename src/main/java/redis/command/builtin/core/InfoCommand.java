@@ -1,22 +1,129 @@
 package redis.command.builtin.core;
 
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+
 import redis.Redis;
 import redis.client.Client;
 import redis.command.Command;
 import redis.command.CommandResponse;
+import redis.type.RArray;
 import redis.type.RString;
 
+/** @param sections names of the sections to show, the default ones if empty */
 public record InfoCommand(
-	RString action
+	RArray<RString> sections
 ) implements Command {
 
+	public static final List<String> ALL_SECTIONS = List.of("server", "clients", "memory", "stats", "replication", "commandstats", "latencystats", "keyspace");
+	public static final List<String> DEFAULT_SECTIONS = List.of("server", "clients", "memory", "stats", "replication", "keyspace");
+
 	@Override
 	public CommandResponse execute(Redis redis, Client client) {
-		if (RString.equalsIgnoreCase(action, "REPLICATION")) {
-			return new CommandResponse(RString.bulk(getReplicationContent(redis)));
+		final var selected = new LinkedHashSet<String>();
+
+		if (sections.isEmpty()) {
+			selected.addAll(DEFAULT_SECTIONS);
+		}
+
+		for (final var section : sections.items()) {
+			final var name = section.content().toLowerCase(Locale.ROOT);
+
+			switch (name) {
+				case "default" -> selected.addAll(DEFAULT_SECTIONS);
+				case "all", "everything" -> selected.addAll(ALL_SECTIONS);
+				default -> selected.add(name);
+			}
 		}
 
-		return new CommandResponse(RString.empty(true));
+		final var builder = new StringBuilder();
+		for (final var section : ALL_SECTIONS) {
+			if (!selected.contains(section)) {
+				continue;
+			}
+
+			if (!builder.isEmpty()) {
+				builder.append('\n');
+			}
+
+			builder.append(getContent(redis, section));
+		}
+
+		return new CommandResponse(RString.bulk(builder.toString()));
+	}
+
+	public String getContent(Redis redis, String section) {
+		return switch (section) {
+			case "server" -> getServerContent(redis);
+			case "clients" -> getClientsContent(redis);
+			case "memory" -> getMemoryContent(redis);
+			case "stats" -> getStatsContent(redis);
+			case "replication" -> getReplicationContent(redis);
+			case "commandstats" -> getCommandStatsContent(redis);
+			case "latencystats" -> getLatencyStatsContent(redis);
+			case "keyspace" -> getKeyspaceContent(redis);
+			default -> throw new IllegalArgumentException(section);
+		};
+	}
+
+	public String getServerContent(Redis redis) {
+		final var uptime = redis.getStatistics().getUptimeSeconds();
+
+		return """
+			# Server
+			process_id:%d
+			tcp_port:%d
+			io_mode:%s
+			io_threads:%d
+			uptime_in_seconds:%d
+			uptime_in_days:%d
+			hz:%d
+			""".formatted(
+			ProcessHandle.current().pid(),
+			redis.getConfiguration().port().getValue(),
+			redis.getConfiguration().ioMode().getValue(),
+			redis.getConfiguration().ioThreads().getValue(),
+			uptime,
+			uptime / 86_400,
+			Redis.CRON_FREQUENCY
+		);
+	}
+
+	public String getClientsContent(Redis redis) {
+		final var statistics = redis.getStatistics();
+
+		return """
+			# Clients
+			connected_clients:%d
+			blocked_clients:%d
+			""".formatted(
+			statistics.getConnectedClients(),
+			statistics.getBlockedClients()
+		);
+	}
+
+	public String getMemoryContent(Redis redis) {
+		final var statistics = redis.getStatistics();
+		final var used = statistics.getUsedMemory();
+		final var peak = statistics.getPeakMemory();
+
+		return """
+			# Memory
+			used_memory:%d
+			used_memory_human:%s
+			used_memory_peak:%d
+			used_memory_peak_human:%s
+			maxmemory:0
+			mem_allocator:jvm
+			jvm_heap_max:%d
+			""".formatted(
+			used,
+			humanBytes(used),
+			peak,
+			humanBytes(peak),
+			Runtime.getRuntime().maxMemory()
+		);
 	}
 
 	public String getReplicationContent(Redis redis) {
@@ -36,4 +143,118 @@ public record InfoCommand(
 		);
 	}
 
-}
\ No newline at end of file
+	public String getStatsContent(Redis redis) {
+		final var statistics = redis.getStatistics();
+		final var storage = redis.getStorage();
+
+		return String.format(Locale.ROOT, """
+			# Stats
+			total_connections_received:%d
+			total_commands_processed:%d
+			instantaneous_ops_per_sec:%d
+			total_net_input_bytes:%d
+			total_net_output_bytes:%d
+			instantaneous_input_kbps:%.2f
+			instantaneous_output_kbps:%.2f
+			expired_keys:%d
+			expired_stale_perc:%.2f
+			expired_time_cap_reached_count:%d
+			expire_cycle_cpu_milliseconds:%d
+			evicted_keys:0
+			keyspace_hits:%d
+			keyspace_misses:%d
+			total_flushes:%d
+			total_flushed_commands:%d
+			avg_commands_per_flush:%.2f
+			client_output_buffer_limit_disconnections:%d
+			monitor_dropped_commands:%d
+			""",
+			statistics.getConnectionsReceived(),
+			statistics.getCommandsProcessed(),
+			Math.round(statistics.getOperationsPerSecond()),
+			statistics.getNetworkInputBytes(),
+			statistics.getNetworkOutputBytes(),
+			statistics.getNetworkInputKilobytesPerSecond(),
+			statistics.getNetworkOutputKilobytesPerSecond(),
+			storage.getExpired(),
+			storage.getActiveExpiry().getStalePercent(),
+			storage.getActiveExpiry().getTimeCapReached(),
+			storage.getActiveExpiry().getMilliseconds(),
+			storage.getHits(),
+			storage.getMisses(),
+			statistics.getFlushes(),
+			statistics.getFlushedCommands(),
+			statistics.getAverageCommandsPerFlush(),
+			statistics.getOutputBufferLimitDisconnections(),
+			redis.getMonitors().getDropped()
+		);
+	}
+
+	public String getCommandStatsContent(Redis redis) {
+		final var builder = new StringBuilder("# Commandstats\n");
+
+		redis.getStatistics().getCommands().forEach((name, statistics) -> {
+			builder.append(String.format(Locale.ROOT, "cmdstat_%s:calls=%d,usec=%d,usec_per_call=%.2f,rejected_calls=%d,failed_calls=%d\n",
+				name.toLowerCase(Locale.ROOT),
+				statistics.getCalls(),
+				statistics.getMicroseconds(),
+				statistics.getMicrosecondsPerCall(),
+				statistics.getRejectedCalls(),
+				statistics.getFailedCalls()
+			));
+		});
+
+		return builder.toString();
+	}
+
+	public String getLatencyStatsContent(Redis redis) {
+		final var builder = new StringBuilder("# Latencystats\n");
+
+		redis.getStatistics().getLatencies().forEach((name, snapshot) -> {
+			builder.append(String.format(Locale.ROOT, "latency_percentiles_usec_%s:p50=%.3f,p99=%.3f,p99.9=%.3f\n",
+				name.toLowerCase(Locale.ROOT),
+				snapshot.percentile(50) / 1000d,
+				snapshot.percentile(99) / 1000d,
+				snapshot.percentile(99.9) / 1000d
+			));
+		});
+
+		return builder.toString();
+	}
+
+	public String getKeyspaceContent(Redis redis) {
+		final var storage = redis.getStorage();
+		final var keys = storage.size();
+
+		if (keys == 0) {
+			return "# Keyspace\n";
+		}
+
+		return """
+			# Keyspace
+			db0:keys=%d,expires=%d,avg_ttl=%d
+			""".formatted(
+			keys,
+			storage.countExpiring(),
+			storage.averageTtl()
+		);
+	}
+
+	private static String humanBytes(long bytes) {
+		if (bytes < 1024) {
+			return "%dB".formatted(bytes);
+		}
+
+		final var units = "KMGTPE";
+		var value = bytes / 1024d;
+		var unit = 0;
+
+		while (value >= 1024 && unit < units.length() - 1) {
+			value /= 1024;
+			++unit;
+		}
+
+		return String.format(Locale.ROOT, "%.2f%c", value, units.charAt(unit));
+	}
+
+}
@@ -0,0 +1,65 @@
+package redis.command.builtin.core;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+
+import redis.Redis;
+import redis.client.Client;
+import redis.command.Command;
+import redis.command.CommandResponse;
+import redis.type.RArray;
+import redis.type.RInteger;
+import redis.type.RMap;
+import redis.type.RString;
+import redis.type.RValue;
+
+/** @param commands names to show, with the sub-commands of a container, everything if empty */
+public record LatencyHistogramCommand(
+	RArray<RString> commands
+) implements Command {
+
+	@Override
+	public CommandResponse execute(Redis redis, Client client) {
+		final var histograms = new LinkedHashMap<RString, RMap>();
+
+		redis.getStatistics().getLatencies().forEach((name, snapshot) -> {
+			if (!isSelected(name)) {
+				return;
+			}
+
+			final var buckets = new LinkedHashMap<RValue, RValue>();
+			snapshot.cumulativeMicroseconds().forEach((bound, count) -> {
+				buckets.put(integer(bound), integer(count));
+			});
+
+			histograms.put(RString.bulk(name.toLowerCase(Locale.ROOT)), RMap.of(
+				RString.bulk("calls"), integer(snapshot.count()),
+				RString.bulk("histogram_usec"), RMap.view(buckets)
+			));
+		});
+
+		return new CommandResponse(RMap.view(histograms));
+	}
+
+	private boolean isSelected(String name) {
+		if (commands.isEmpty()) {
+			return true;
+		}
+
+		for (final var command : commands.items()) {
+			final var selected = command.content();
+
+			if (name.equalsIgnoreCase(selected) || name.regionMatches(true, 0, selected + "|", 0, selected.length() + 1)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/** Integer replies are 32 bits, counts are not expected to go past them. */
+	private static RInteger integer(long value) {
+		return RInteger.of((int) Math.min(value, Integer.MAX_VALUE));
+	}
+
+}
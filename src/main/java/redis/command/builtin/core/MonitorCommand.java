@@ -0,0 +1,18 @@
+package redis.command.builtin.core;
+
+import redis.Redis;
+import redis.client.Client;
+import redis.client.SocketClient;
+import redis.command.Command;
+import redis.command.CommandResponse;
+
+public record MonitorCommand() implements Command {
+
+	@Override
+	public CommandResponse execute(Redis redis, Client client) {
+		redis.getMonitors().add(SocketClient.cast(client));
+
+		return CommandResponse.OK;
+	}
+
+}
@@ -0,0 +1,18 @@
+package redis.command.builtin.core;
+
+import redis.Redis;
+import redis.client.Client;
+import redis.command.Command;
+import redis.command.CommandResponse;
+import redis.type.RString;
+
+public record PersistCommand(
+	RString key
+) implements Command {
+
+	@Override
+	public CommandResponse execute(Redis redis, Client client) {
+		return CommandResponse.of(redis.getStorage().persist(key));
+	}
+
+}
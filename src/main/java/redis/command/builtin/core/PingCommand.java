@@ -11,21 +11,16 @@ import redis.type.RString;
 
 public record PingCommand() implements Command {
 
-	private static final RString PONG = RString.simple("PONG");
-	private static final RArray<RString> PONG_SUBSCRIPTION = RArray.of(PubSub.MessageKeys.PONG, RString.empty(true));
+	private static final CommandResponse PONG = new CommandResponse(RString.simple("PONG"));
+	private static final CommandResponse PONG_SUBSCRIPTION = new CommandResponse(RArray.of(PubSub.MessageKeys.PONG, RString.empty(true)));
 
 	@Override
 	public CommandResponse execute(Redis redis, Client client) {
-		if (client instanceof SocketClient socketClient && redis.getPubSub().isSubscribed(socketClient)) {
-			return new CommandResponse(PONG_SUBSCRIPTION);
+		if (client instanceof SocketClient socketClient && !socketClient.isResp3() && redis.getPubSub().isSubscribed(socketClient)) {
+			return PONG_SUBSCRIPTION;
 		}
 
-		return new CommandResponse(PONG);
-	}
-
-	@Override
-	public boolean isPubSub() {
-		return true;
+		return PONG;
 	}
 
 }
\ No newline at end of file
@@ -0,0 +1,74 @@
+package redis.command.builtin.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import redis.Redis;
+import redis.client.Client;
+import redis.command.Command;
+import redis.command.CommandResponse;
+import redis.type.RArray;
+import redis.type.RString;
+import redis.type.RValue;
+import redis.util.Glob;
+
+/**
+ * Walk the keyspace a few keys at a time, without blocking the server as KEYS does.
+ * <p>
+ * COUNT is the number of keys visited, MATCH and TYPE are only applied afterwards, so that a call does a bounded amount of work even when nothing matches.
+ */
+public record ScanCommand(
+	long cursor,
+	Options options
+) implements Command {
+
+	@Override
+	public CommandResponse execute(Redis redis, Client client) {
+		final var keys = new ArrayList<RValue>(Math.min(options.count(), Options.DEFAULT_COUNT));
+
+		final var next = redis.getStorage().scan(
+			cursor,
+			options.count(),
+			(key, value) -> {
+				if (options.matches(key) && options.type().map((type) -> type.equals(TypeCommand.nameOf(value))).orElse(true)) {
+					keys.add(RString.bulk(key));
+				}
+			}
+		);
+
+		return new CommandResponse(reply(next, keys));
+	}
+
+	/** @return the cursor, as a string since it is unsigned, and the items */
+	public static RArray<RValue> reply(long cursor, List<RValue> items) {
+		return RArray.of(
+			RString.bulk(Long.toUnsignedString(cursor)),
+			RArray.view(items)
+		);
+	}
+
+	/**
+	 * Options shared by SCAN and the scans of a value.
+	 *
+	 * @param type only for SCAN
+	 */
+	public record Options(
+		Optional<RString> pattern,
+		int count,
+		Optional<String> type
+	) {
+
+		public static final int DEFAULT_COUNT = 10;
+
+		public boolean matches(RString string) {
+			return pattern.isEmpty() || Glob.matches(pattern.get().bytes(), string.bytes());
+		}
+
+		public boolean matches(String string) {
+			return pattern.isEmpty() || matches(RString.bulk(string));
+		}
+
+	}
+
+}
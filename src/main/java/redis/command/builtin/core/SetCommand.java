@@ -25,17 +25,7 @@ public record SetCommand(
 			redis.getStorage().set(key, value);
 		}
 
-		return new CommandResponse(ROk.OK);
-	}
-
-	@Override
-	public boolean isWriting() {
-		return true;
-	}
-
-	@Override
-	public boolean isPropagatable() {
-		return true;
+		return CommandResponse.OK;
 	}
 
 }
\ No newline at end of file
@@ -0,0 +1,49 @@
+package redis.command.builtin.core;
+
+import java.util.ArrayList;
+
+import redis.Redis;
+import redis.client.Client;
+import redis.command.Command;
+import redis.command.CommandResponse;
+import redis.metric.SlowLog;
+import redis.type.RArray;
+import redis.type.RInteger;
+import redis.type.RString;
+import redis.type.RValue;
+
+/** @param count maximum number of entries, <code>-1</code> for all of them */
+public record SlowLogGetCommand(
+	int count
+) implements Command {
+
+	@Override
+	public CommandResponse execute(Redis redis, Client client) {
+		final var entries = redis.getSlowLog().entries(count);
+		final var values = new ArrayList<RValue>(entries.size());
+
+		for (final var entry : entries) {
+			values.add(toArray(entry));
+		}
+
+		return new CommandResponse(RArray.view(values));
+	}
+
+	private static RArray<RValue> toArray(SlowLog.Entry entry) {
+		final var values = new ArrayList<RValue>(6);
+		values.add(integer(entry.id()));
+		values.add(integer(entry.timestamp()));
+		values.add(integer(entry.duration()));
+		values.add(entry.arguments());
+		values.add(RString.bulk(entry.address()));
+		values.add(RString.bulk(entry.name()));
+
+		return RArray.view(values);
+	}
+
+	/** Integer replies are 32 bits, the values are not expected to go past them. */
+	private static RInteger integer(long value) {
+		return RInteger.of((int) Math.min(value, Integer.MAX_VALUE));
+	}
+
+}
@@ -0,0 +1,15 @@
+package redis.command.builtin.core;
+
+import redis.Redis;
+import redis.client.Client;
+import redis.command.Command;
+import redis.command.CommandResponse;
+
+public record SlowLogLenCommand() implements Command {
+
+	@Override
+	public CommandResponse execute(Redis redis, Client client) {
+		return CommandResponse.of(redis.getSlowLog().size());
+	}
+
+}
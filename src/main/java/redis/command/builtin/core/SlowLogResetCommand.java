@@ -0,0 +1,17 @@
+package redis.command.builtin.core;
+
+import redis.Redis;
+import redis.client.Client;
+import redis.command.Command;
+import redis.command.CommandResponse;
+
+public record SlowLogResetCommand() implements Command {
+
+	@Override
+	public CommandResponse execute(Redis redis, Client client) {
+		redis.getSlowLog().reset();
+
+		return CommandResponse.OK;
+	}
+
+}
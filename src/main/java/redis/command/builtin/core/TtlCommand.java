@@ -0,0 +1,33 @@
+package redis.command.builtin.core;
+
+import java.util.concurrent.TimeUnit;
+
+import redis.Redis;
+import redis.client.Client;
+import redis.command.Command;
+import redis.command.CommandResponse;
+import redis.type.RString;
+
+/** TTL and PTTL, <code>-1</code> for a key without expiration and <code>-2</code> for a missing key. */
+public record TtlCommand(
+	RString key,
+	TimeUnit unit
+) implements Command {
+
+	@Override
+	public CommandResponse execute(Redis redis, Client client) {
+		final var until = redis.getStorage().getExpiration(key);
+		if (until < 0) {
+			return CommandResponse.of((int) until);
+		}
+
+		final var remaining = Math.max(0, until - System.currentTimeMillis());
+		final var value = unit == TimeUnit.SECONDS
+			? (remaining + 500) / 1000
+			: remaining;
+
+		/* integer replies are 32 bits, a remaining time past 24 days in milliseconds is capped */
+		return CommandResponse.of((int) Math.min(value, Integer.MAX_VALUE));
+	}
+
+}
@@ -16,13 +16,18 @@ public record TypeCommand(
 	public CommandResponse execute(Redis redis, Client client) {
 		final var value = redis.getStorage().get(key);
 
-		return new CommandResponse(RString.simple(switch (value) {
+		return new CommandResponse(RString.simple(nameOf(value)));
+	}
+
+	/** @return the name of the type of a value, as shown by TYPE and filtered by SCAN */
+	public static String nameOf(Object value) {
+		return switch (value) {
 			case null -> "none";
 			case RArray<?> __ -> "list";
 			case RString __ -> "string";
 			case Stream __ -> "stream";
 			default -> throw new IllegalStateException("unknown type: %s".formatted(value.getClass()));
-		}));
+		};
 	}
 
 }
\ No newline at end of file
@@ -19,17 +19,12 @@ public record GeoAddCommand(
 		final var score = coordinate.encode();
 
 		redis.getStorage().addToSet(
-			key.content(),
+			key,
 			member,
 			score
 		);
 
-		return new CommandResponse(RInteger.ONE);
-	}
-
-	@Override
-	public boolean isWriting() {
-		return true;
+		return CommandResponse.of(1);
 	}
 
 }
\ No newline at end of file
@@ -5,9 +5,9 @@ import redis.client.Client;
 import redis.command.Command;
 import redis.command.CommandResponse;
 import redis.type.GeoCoordinate;
+import redis.type.RDouble;
 import redis.type.RNil;
 import redis.type.RString;
-import redis.util.NumberUtils;
 
 public record GeoDistCommand(
 	RString key,
@@ -17,19 +17,19 @@ public record GeoDistCommand(
 
 	@Override
 	public CommandResponse execute(Redis redis, Client client) {
-		final var sortedSet = redis.getStorage().getSortedSet(key.content());
+		final var sortedSet = redis.getStorage().getSortedSet(key);
 		if (sortedSet == null) {
-			return new CommandResponse(RNil.BULK);
+			return CommandResponse.NIL_BULK;
 		}
 
 		final var leftScore = sortedSet.getScore(leftMember.content());
 		if (leftScore == null) {
-			return new CommandResponse(RNil.BULK);
+			return CommandResponse.NIL_BULK;
 		}
 
 		final var rightScore = sortedSet.getScore(rightMember.content());
 		if (rightScore == null) {
-			return new CommandResponse(RNil.BULK);
+			return CommandResponse.NIL_BULK;
 		}
 
 		final var leftCoordinate = GeoCoordinate.decode(leftScore.longValue());
@@ -37,7 +37,7 @@ public record GeoDistCommand(
 
 		final var distance = leftCoordinate.distanceTo(rightCoordinate);
 
-		return new CommandResponse(RString.bulk(NumberUtils.formatDoubleNoScientific(distance)));
+		return new CommandResponse(RDouble.of(distance));
 	}
 
 }
\ No newline at end of file
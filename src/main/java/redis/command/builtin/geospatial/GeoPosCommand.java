@@ -16,7 +16,7 @@ public record GeoPosCommand(
 
 	@Override
 	public CommandResponse execute(Redis redis, Client client) {
-		final var sortedSet = redis.getStorage().getSortedSet(key.content());
+		final var sortedSet = redis.getStorage().getSortedSet(key);
 		if (sortedSet == null) {
 			final var scores = members.stream()
 				.map((__) -> RNil.ARRAY)
@@ -22,9 +22,9 @@ public record GeoSearchCommand(
 
 	@Override
 	public CommandResponse execute(Redis redis, Client client) {
-		final var sortedSet = redis.getStorage().getSortedSet(key.content());
+		final var sortedSet = redis.getStorage().getSortedSet(key);
 		if (sortedSet == null) {
-			return new CommandResponse(RNil.BULK);
+			return CommandResponse.NIL_BULK;
 		}
 
 		final var closeEntries = StreamSupport.stream(Spliterators.spliteratorUnknownSize(sortedSet.iterator(), Spliterator.ORDERED), false)
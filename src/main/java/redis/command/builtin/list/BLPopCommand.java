@@ -26,7 +26,7 @@ public record BLPopCommand(
 			value = redis.awaitKey(key, timeout);
 
 			if (value == null) {
-				return new CommandResponse(RNil.ARRAY);
+				return CommandResponse.NIL_ARRAY;
 			}
 
 			if (!(value instanceof RArray<?>)) {
@@ -40,9 +40,4 @@ public record BLPopCommand(
 		return new CommandResponse(RArray.of(key, first));
 	}
 
-	@Override
-	public boolean isWriting() {
-		return true;
-	}
-
 }
\ No newline at end of file
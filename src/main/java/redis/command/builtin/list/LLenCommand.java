@@ -16,10 +16,10 @@ public record LLenCommand(
 	public CommandResponse execute(Redis redis, Client client) {
 		final var value = redis.getStorage().get(key);
 		if (value == null || !(value instanceof RArray<?> array) || array.isEmpty()) {
-			return new CommandResponse(RInteger.ZERO);
+			return CommandResponse.of(0);
 		}
 
-		return new CommandResponse(RInteger.of(array.size()));
+		return CommandResponse.of(array.size());
 	}
 
 }
\ No newline at end of file
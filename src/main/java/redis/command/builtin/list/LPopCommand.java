@@ -19,7 +19,7 @@ public record LPopCommand(
 	public CommandResponse execute(Redis redis, Client client) {
 		final var value = redis.getStorage().get(key);
 		if (value == null || !(value instanceof RArray<?> array) || array.isEmpty()) {
-			return new CommandResponse(RNil.BULK);
+			return CommandResponse.NIL_BULK;
 		}
 
 		final var popped = new ArrayList<RString>(count);
@@ -34,14 +34,4 @@ public record LPopCommand(
 		return new CommandResponse(RArray.view(popped));
 	}
 
-	@Override
-	public boolean isWriting() {
-		return true;
-	}
-
-	@Override
-	public boolean isPropagatable() {
-		return true;
-	}
-
 }
\ No newline at end of file
@@ -24,7 +24,7 @@ public record LPushCommand(
 
 		redis.notifyKey(key);
 
-		return new CommandResponse(RInteger.of(size));
+		return CommandResponse.of(size);
 	}
 
 	@SuppressWarnings("unchecked")
@@ -42,14 +42,4 @@ public record LPushCommand(
 		throw RError.wrongtypeWrongKindOfValue().asException();
 	}
 
-	@Override
-	public boolean isWriting() {
-		return true;
-	}
-
-	@Override
-	public boolean isPropagatable() {
-		return true;
-	}
-
 }
\ No newline at end of file
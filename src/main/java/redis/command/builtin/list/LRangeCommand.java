@@ -18,14 +18,14 @@ public record LRangeCommand(
 	public CommandResponse execute(Redis redis, Client client) {
 		final var value = redis.getStorage().get(key);
 		if (value == null || !(value instanceof RArray<?> array) || array.isEmpty()) {
-			return new CommandResponse(RArray.empty());
+			return CommandResponse.EMPTY_ARRAY;
 		}
 
 		final var size = array.size();
 		final var range = new Range(size, startIndex, endIndex);
 
 		if (range.isEmpty()) {
-			return new CommandResponse(RArray.empty());
+			return CommandResponse.EMPTY_ARRAY;
 		}
 
 		return new CommandResponse(range.subList(array));
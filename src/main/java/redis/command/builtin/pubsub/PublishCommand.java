@@ -16,22 +16,7 @@ public record PublishCommand(
 	public CommandResponse execute(Redis redis, Client client) {
 		final var count = redis.getPubSub().publish(key, value);
 
-		return new CommandResponse(RInteger.of(count));
-	}
-
-	@Override
-	public boolean isWriting() {
-		return true;
-	}
-
-	@Override
-	public boolean isQueueable() {
-		return false;
-	}
-
-	@Override
-	public boolean isPubSub() {
-		return true;
+		return CommandResponse.of(count);
 	}
 
 }
\ No newline at end of file
@@ -6,8 +6,8 @@ import redis.client.SocketClient;
 import redis.command.Command;
 import redis.command.CommandResponse;
 import redis.store.PubSub;
-import redis.type.RArray;
 import redis.type.RInteger;
+import redis.type.RPush;
 import redis.type.RString;
 
 public record UnsubscribeCommand(
@@ -18,21 +18,11 @@ public record UnsubscribeCommand(
 	public CommandResponse execute(Redis redis, Client client) {
 		final var count = redis.getPubSub().unsubscribe((SocketClient) client, key);
 
-		return new CommandResponse(RArray.of(
+		return new CommandResponse(RPush.of(
 			PubSub.MessageKeys.UNSUBSCRIBE,
 			RString.bulk(key),
 			RInteger.of(count)
 		));
 	}
 
-	@Override
-	public boolean isQueueable() {
-		return false;
-	}
-
-	@Override
-	public boolean isPubSub() {
-		return true;
-	}
-
 }
\ No newline at end of file
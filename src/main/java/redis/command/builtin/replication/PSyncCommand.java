@@ -36,9 +36,4 @@ public record PSyncCommand() implements Command {
 		return null;
 	}
 
-	@Override
-	public boolean isQueueable() {
-		return false;
-	}
-
 }
\ No newline at end of file
@@ -26,12 +26,7 @@ public record ReplConfCommand(
 			);
 		}
 
-		return new CommandResponse(ROk.OK);
-	}
-
-	@Override
-	public boolean isQueueable() {
-		return false;
+		return CommandResponse.OK;
 	}
 
 }
\ No newline at end of file
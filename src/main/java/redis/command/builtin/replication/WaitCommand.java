@@ -14,6 +14,7 @@ import redis.client.Client;
 import redis.client.SocketClient;
 import redis.command.Command;
 import redis.command.CommandResponse;
+import redis.logging.Logger;
 import redis.type.RArray;
 import redis.type.RInteger;
 import redis.type.RString;
@@ -28,7 +29,7 @@ public record WaitCommand(
 		final var replicas = redis.getReplicas();
 
 		if (redis.getReplicationOffset().get() == 0) {
-			return new CommandResponse(RInteger.of(replicas.size()));
+			return CommandResponse.of(replicas.size());
 		}
 
 		final var acks = new AtomicInteger();
@@ -70,7 +71,7 @@ public record WaitCommand(
 					acks.incrementAndGet();
 				}
 
-				Redis.log("no time left isDone=%s acks=%d".formatted(isDone, acks.get()));
+				Logger.debug("no time left isDone=%s acks=%d", isDone, acks.get());
 				continue;
 			}
 
@@ -82,12 +83,12 @@ public record WaitCommand(
 				final var took = System.currentTimeMillis() - start;
 				remaining -= took;
 
-				Redis.log("future ended took=%d remaining=%d acks=%d".formatted(took, remaining, acks.get()));
+				Logger.debug("future ended took=%d remaining=%d acks=%d", took, remaining, acks.get());
 			} catch (TimeoutException exception) {
 				final var took = System.currentTimeMillis() - start;
 
 				remaining = 0;
-				Redis.log("future timeout took=%d".formatted(took));
+				Logger.debug("future timeout took=%d", took);
 			} catch (Exception exception) {
 				exception.printStackTrace();
 			}
@@ -95,12 +96,7 @@ public record WaitCommand(
 
 		futures.forEach((entry) -> entry.getKey().setReplicateConsumer(null));
 
-		return new CommandResponse(RInteger.of(acks.get()));
-	}
-
-	@Override
-	public boolean isQueueable() {
-		return false;
+		return CommandResponse.of(acks.get());
 	}
 
 }
\ No newline at end of file
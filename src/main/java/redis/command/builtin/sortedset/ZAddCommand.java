@@ -16,17 +16,12 @@ public record ZAddCommand(
 	@Override
 	public CommandResponse execute(Redis redis, Client client) {
 		final var added = redis.getStorage().addToSet(
-			key.content(),
+			key,
 			value,
 			score
 		);
 
-		return new CommandResponse(RInteger.of(added));
-	}
-
-	@Override
-	public boolean isWriting() {
-		return true;
+		return CommandResponse.of(added);
 	}
 
 }
\ No newline at end of file
@@ -13,13 +13,13 @@ public record ZCardCommand(
 
 	@Override
 	public CommandResponse execute(Redis redis, Client client) {
-		final var sortedSet = redis.getStorage().getSortedSet(key.content());
+		final var sortedSet = redis.getStorage().getSortedSet(key);
 		if (sortedSet == null) {
-			return new CommandResponse(RInteger.ZERO);
+			return CommandResponse.of(0);
 		}
 
 		final var cardinality = sortedSet.cardinality();
-		return new CommandResponse(RInteger.of(cardinality));
+		return CommandResponse.of(cardinality);
 	}
 
 }
\ No newline at end of file
@@ -15,7 +15,7 @@ public record ZRangeCommand(
 
 	@Override
 	public CommandResponse execute(Redis redis, Client client) {
-		final var sortedSet = redis.getStorage().getSortedSet(key.content());
+		final var sortedSet = redis.getStorage().getSortedSet(key);
 		if (sortedSet == null) {
 			return new CommandResponse(
 				RArray.empty()
@@ -15,17 +15,17 @@ public record ZRankCommand(
 
 	@Override
 	public CommandResponse execute(Redis redis, Client client) {
-		final var sortedSet = redis.getStorage().getSortedSet(key.content());
+		final var sortedSet = redis.getStorage().getSortedSet(key);
 		if (sortedSet == null) {
-			return new CommandResponse(RNil.BULK);
+			return CommandResponse.NIL_BULK;
 		}
 
 		final var index = sortedSet.getRank(value.content());
 		if (index == null) {
-			return new CommandResponse(RNil.BULK);
+			return CommandResponse.NIL_BULK;
 		}
 
-		return new CommandResponse(RInteger.of(index));
+		return CommandResponse.of(index);
 	}
 
 }
\ No newline at end of file
@@ -14,9 +14,9 @@ public record ZRemCommand(
 
 	@Override
 	public CommandResponse execute(Redis redis, Client client) {
-		final var sortedSet = redis.getStorage().getSortedSet(key.content());
+		final var sortedSet = redis.getStorage().getSortedSet(key);
 		if (sortedSet == null) {
-			return new CommandResponse(RInteger.ZERO);
+			return CommandResponse.of(0);
 		}
 
 		final var removed = sortedSet.remove(value.content());
@@ -26,9 +26,4 @@ public record ZRemCommand(
 		);
 	}
 
-	@Override
-	public boolean isWriting() {
-		return true;
-	}
-
 }
\ No newline at end of file
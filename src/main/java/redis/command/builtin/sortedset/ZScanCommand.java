@@ -0,0 +1,53 @@
+package redis.command.builtin.sortedset;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import redis.Redis;
+import redis.client.Client;
+import redis.command.Command;
+import redis.command.CommandResponse;
+import redis.command.builtin.core.ScanCommand;
+import redis.type.RString;
+import redis.type.RValue;
+import redis.util.NumberUtils;
+
+public record ZScanCommand(
+	RString key,
+	long cursor,
+	ScanCommand.Options options
+) implements Command {
+
+	@Override
+	public CommandResponse execute(Redis redis, Client client) {
+		final var sortedSet = redis.getStorage().getSortedSet(key);
+		if (sortedSet == null) {
+			return new CommandResponse(ScanCommand.reply(0, List.of()));
+		}
+
+		final var items = new ArrayList<RValue>(Math.min(options.count(), ScanCommand.Options.DEFAULT_COUNT) * 2);
+
+		final var next = sortedSet.scan(
+			cursor,
+			options.count(),
+			(value, score) -> {
+				if (options.matches(value)) {
+					items.add(RString.bulk(value));
+					items.add(RString.bulk(formatScore(score)));
+				}
+			}
+		);
+
+		return new CommandResponse(ScanCommand.reply(next, items));
+	}
+
+	/** Scores are sent as strings, whatever the protocol. */
+	private static String formatScore(double score) {
+		if (Double.isInfinite(score)) {
+			return score > 0 ? "inf" : "-inf";
+		}
+
+		return NumberUtils.formatDoubleNoScientific(score);
+	}
+
+}
@@ -4,9 +4,9 @@ import redis.Redis;
 import redis.client.Client;
 import redis.command.Command;
 import redis.command.CommandResponse;
+import redis.type.RDouble;
 import redis.type.RNil;
 import redis.type.RString;
-import redis.util.NumberUtils;
 
 public record ZScoreCommand(
 	RString key,
@@ -15,19 +15,17 @@ public record ZScoreCommand(
 
 	@Override
 	public CommandResponse execute(Redis redis, Client client) {
-		final var sortedSet = redis.getStorage().getSortedSet(key.content());
+		final var sortedSet = redis.getStorage().getSortedSet(key);
 		if (sortedSet == null) {
-			return new CommandResponse(RNil.BULK);
+			return CommandResponse.NIL_BULK;
 		}
 
 		final var score = sortedSet.getScore(value.content());
 		if (score == null) {
-			return new CommandResponse(RNil.BULK);
+			return CommandResponse.NIL_BULK;
 		}
 
-		return new CommandResponse(
-			RString.bulk(NumberUtils.formatDoubleNoScientific(score))
-		);
+		return new CommandResponse(RDouble.of(score));
 	}
 
 }
\ No newline at end of file
@@ -42,9 +42,4 @@ public record XAddCommand(
 		);
 	}
 
-	@Override
-	public boolean isWriting() {
-		return true;
-	}
-
 }
\ No newline at end of file
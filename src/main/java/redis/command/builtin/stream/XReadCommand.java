@@ -30,7 +30,7 @@ public record XReadCommand(
 			final var entries = stream.read(query.identifier(), timeout.get());
 
 			if (entries == null) {
-				return new CommandResponse(RNil.ARRAY);
+				return CommandResponse.NIL_ARRAY;
 			}
 
 			return new CommandResponse(RArray.of(RArray.of(
@@ -55,6 +55,11 @@ public record XReadCommand(
 		));
 	}
 
+	@Override
+	public boolean mayBlock() {
+		return timeout.isPresent();
+	}
+
 	public static record Query(
 		RString key,
 		Identifier identifier
@@ -22,12 +22,7 @@ public record DiscardCommand() implements Command {
 
 		socketClient.discardTransaction();
 
-		return new CommandResponse(ROk.OK);
-	}
-
-	@Override
-	public boolean isQueueable() {
-		return false;
+		return CommandResponse.OK;
 	}
 
 }
\ No newline at end of file
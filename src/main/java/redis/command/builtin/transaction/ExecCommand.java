@@ -25,7 +25,7 @@ public record ExecCommand() implements Command {
 		final var queuedCommands = socketClient.discardTransaction();
 
 		if (watchedKeyChanged) {
-			return new CommandResponse(RNil.ARRAY);
+			return CommandResponse.NIL_ARRAY;
 		}
 
 		final var values = queuedCommands
@@ -37,9 +37,4 @@ public record ExecCommand() implements Command {
 		return new CommandResponse(RArray.view(values));
 	}
 
-	@Override
-	public boolean isQueueable() {
-		return false;
-	}
-
 }
\ No newline at end of file
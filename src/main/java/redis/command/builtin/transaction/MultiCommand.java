@@ -22,12 +22,7 @@ public record MultiCommand() implements Command {
 
 		socketClient.beginTransaction();
 
-		return new CommandResponse(ROk.OK);
-	}
-
-	@Override
-	public boolean isQueueable() {
-		return false;
+		return CommandResponse.OK;
 	}
 
 }
\ No newline at end of file
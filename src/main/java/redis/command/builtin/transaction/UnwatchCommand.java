@@ -15,12 +15,7 @@ public record UnwatchCommand() implements Command {
 
 		socketClient.unwatchAll();
 
-		return new CommandResponse(ROk.OK);
-	}
-
-	@Override
-	public boolean isQueueable() {
-		return false;
+		return CommandResponse.OK;
 	}
 
 }
\ No newline at end of file
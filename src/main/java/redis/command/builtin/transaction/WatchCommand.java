@@ -25,15 +25,10 @@ public record WatchCommand(
 		}
 
 		for (RString key : keys.items()) {
-			socketClient.watch(key.content());
+			socketClient.watch(key);
 		}
 
-		return new CommandResponse(ROk.OK);
-	}
-
-	@Override
-	public boolean isQueueable() {
-		return false;
+		return CommandResponse.OK;
 	}
 
 }
\ No newline at end of file
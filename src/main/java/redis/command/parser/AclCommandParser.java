@@ -1,5 +1,8 @@
 package redis.command.parser;
 
+import static redis.command.CommandFlag.NO_MULTI;
+import static redis.command.CommandFlag.SKIP_MONITOR;
+
 import redis.command.builtin.acl.AclGetUserCommand;
 import redis.command.builtin.acl.AclSetUserCommand;
 import redis.command.builtin.acl.AclWhoamiCommand;
@@ -7,9 +10,9 @@ import redis.command.builtin.acl.AclWhoamiCommand;
 public class AclCommandParser extends CommandParser {
 
 	public AclCommandParser() {
-		register("WHOAMI", noArgumentCommand(AclWhoamiCommand::new));
-		register("GETUSER", singleArgumentCommand(AclGetUserCommand::new));
-		register("SETUSER", doubleArgumentCommand(AclSetUserCommand::new));
+		register(command("ACL|WHOAMI", 1, NO_MULTI), noArgumentCommand(AclWhoamiCommand::new));
+		register(command("ACL|GETUSER", 2, NO_MULTI), singleArgumentCommand(AclGetUserCommand::new));
+		register(command("ACL|SETUSER", 3, NO_MULTI, SKIP_MONITOR), doubleArgumentCommand(AclSetUserCommand::new));
 	}
 
 }
\ No newline at end of file
@@ -0,0 +1,117 @@
+package redis.command.parser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+import redis.client.ClientClass;
+import redis.command.Arguments;
+import redis.command.builtin.client.ClientFilter;
+import redis.command.builtin.client.ClientGetNameCommand;
+import redis.command.builtin.client.ClientIdCommand;
+import redis.command.builtin.client.ClientInfoCommand;
+import redis.command.builtin.client.ClientKillCommand;
+import redis.command.builtin.client.ClientListCommand;
+import redis.command.builtin.client.ClientSetNameCommand;
+import redis.type.RError;
+
+public class ClientCommandParser extends CommandParser {
+
+	public ClientCommandParser() {
+		register(command("CLIENT|ID", 1), noArgumentCommand(ClientIdCommand::new));
+		register(command("CLIENT|INFO", 1), noArgumentCommand(ClientInfoCommand::new));
+		register(command("CLIENT|LIST", -1), this::parseList);
+		register(command("CLIENT|GETNAME", 1), noArgumentCommand(ClientGetNameCommand::new));
+		register(command("CLIENT|SETNAME", 2), singleArgumentCommand(ClientSetNameCommand::new));
+		register(command("CLIENT|KILL", -2), this::parseKill);
+	}
+
+	private ClientListCommand parseList(String name, Arguments arguments) {
+		final var size = arguments.size();
+		if (size == 0) {
+			return new ClientListCommand(ClientFilter.ANY);
+		}
+
+		if (arguments.equalsIgnoreCase(0, "type") && size == 2) {
+			return new ClientListCommand(new ClientFilter(List.of(), Optional.empty(), Optional.of(parseType(arguments, 1)), Optional.empty()));
+		}
+
+		if (arguments.equalsIgnoreCase(0, "id") && size >= 2) {
+			final var ids = new ArrayList<Integer>(size - 1);
+			for (var index = 1; index < size; ++index) {
+				ids.add(parseId(arguments, index));
+			}
+
+			return new ClientListCommand(new ClientFilter(ids, Optional.empty(), Optional.empty(), Optional.empty()));
+		}
+
+		throw RError.syntax().asException();
+	}
+
+	private ClientKillCommand parseKill(String name, Arguments arguments) {
+		final var size = arguments.size();
+
+		/* CLIENT KILL <ip:port> */
+		if (size == 1) {
+			final var filter = new ClientFilter(List.of(), Optional.of(arguments.get(0).content()), Optional.empty(), Optional.empty());
+
+			return new ClientKillCommand(filter, true, false);
+		}
+
+		if (size % 2 != 0) {
+			throw RError.syntax().asException();
+		}
+
+		final var ids = new ArrayList<Integer>();
+		var address = Optional.<String>empty();
+		var type = Optional.<ClientClass>empty();
+		var user = Optional.<String>empty();
+		var skipMe = true;
+
+		for (var index = 0; index < size; index += 2) {
+			if (arguments.equalsIgnoreCase(index, "id")) {
+				ids.add(parseId(arguments, index + 1));
+			} else if (arguments.equalsIgnoreCase(index, "addr")) {
+				address = Optional.of(arguments.get(index + 1).content());
+			} else if (arguments.equalsIgnoreCase(index, "type")) {
+				type = Optional.of(parseType(arguments, index + 1));
+			} else if (arguments.equalsIgnoreCase(index, "user")) {
+				user = Optional.of(arguments.get(index + 1).content());
+			} else if (arguments.equalsIgnoreCase(index, "skipme")) {
+				if (arguments.equalsIgnoreCase(index + 1, "yes")) {
+					skipMe = true;
+				} else if (arguments.equalsIgnoreCase(index + 1, "no")) {
+					skipMe = false;
+				} else {
+					throw RError.syntax().asException();
+				}
+			} else {
+				throw RError.syntax().asException();
+			}
+		}
+
+		return new ClientKillCommand(new ClientFilter(ids, address, type, user), false, skipMe);
+	}
+
+	private static int parseId(Arguments arguments, int index) {
+		final var id = arguments.asInteger(index);
+		if (id.isEmpty() || id.getAsInt() <= 0) {
+			throw new RError("ERR client-id should be greater than 0").asException();
+		}
+
+		return id.getAsInt();
+	}
+
+	private static ClientClass parseType(Arguments arguments, int index) {
+		final var type = arguments.get(index).content().toLowerCase(Locale.ROOT);
+
+		return switch (type) {
+			case "normal" -> ClientClass.NORMAL;
+			case "replica", "slave" -> ClientClass.REPLICA;
+			case "pubsub" -> ClientClass.PUBSUB;
+			default -> throw new RError("ERR Unknown client type '%s'".formatted(type)).asException();
+		};
+	}
+
+}
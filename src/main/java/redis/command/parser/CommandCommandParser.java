@@ -0,0 +1,27 @@
+package redis.command.parser;
+
+import redis.command.Arguments;
+import redis.command.builtin.core.CommandGetKeysCommand;
+import redis.type.RError;
+
+public class CommandCommandParser extends CommandParser {
+
+	private final CommandParser commands;
+
+	/** @param commands table of the commands whose keys are asked for */
+	public CommandCommandParser(CommandParser commands) {
+		this.commands = commands;
+
+		register(command("COMMAND|GETKEYS", -2), this::parseGetKeys);
+	}
+
+	private CommandGetKeysCommand parseGetKeys(String name, Arguments arguments) {
+		final var definition = commands.parse(arguments).definition();
+		if (definition.firstKey() == 0) {
+			throw new RError("ERR The command has no key arguments").asException();
+		}
+
+		return new CommandGetKeysCommand(definition.extractKeys(arguments));
+	}
+
+}
@@ -1,108 +1,173 @@
 package redis.command.parser;
 
-import java.util.Map;
-import java.util.TreeMap;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
+import redis.command.Arguments;
 import redis.command.Command;
+import redis.command.CommandDefinition;
+import redis.command.CommandFlag;
 import redis.command.ParsedCommand;
 import redis.type.RArray;
 import redis.type.RError;
 import redis.type.RString;
 import redis.util.TriFunction;
 
+/**
+ * Command table: find the definition of a command from its name, check its arity, and hand the rest of the arguments to its parser.
+ * <p>
+ * The table is a perfect hash: every registered name has its own slot, so a lookup is a single probe followed by a comparison of the bytes of the request, without decoding them.
+ */
 public abstract class CommandParser {
 
-	private final Map<String, BiFunction<String, RArray<RString>, Command>> parsers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
-	private final Map<String, CommandParser> subParsers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+	private static final int SEED_ATTEMPTS = 10_000;
 
-	public void register(String name, BiFunction<String, RArray<RString>, Command> parser) {
-		parsers.put(name, parser);
+	private final List<Entry> entries = new ArrayList<>();
+	private Entry[] table = new Entry[2];
+	private int seed = 1;
+	private int shift = 31;
+
+	public void register(CommandDefinition definition, BiFunction<String, Arguments, Command> parser) {
+		put(new Entry(definition, parser, null));
 	}
 
-	public void register(String name, CommandParser subParser) {
-		subParsers.put(name, subParser);
+	public void register(CommandDefinition definition, CommandParser subParser) {
+		put(new Entry(definition, null, subParser));
 	}
 
-	public ParsedCommand parse(RArray<RString> arguments) {
+	/**
+	 * The arguments are {@link Arguments#shift() shifted} past the name of the command, and of the sub-command if any.
+	 *
+	 * @return the command, without its raw arguments
+	 */
+	public ParsedCommand parse(Arguments arguments) {
 		if (arguments.isEmpty()) {
 			throw new RError("ERR command array is empty").asException();
 		}
 
-		final var name = arguments.getFirst().content();
+		final var entry = table[slot(arguments.hashIgnoreCase(0))];
+		if (entry == null || !arguments.equalsUpperCase(0, entry.upperCase())) {
+			throw new RError("ERR unknown '%s' command".formatted(arguments.getFirst().content())).asException();
+		}
 
-		final var parser = parsers.get(name);
-		if (parser != null) {
-			final var command = parser.apply(name, arguments.subList(1, arguments.size()));
-			return new ParsedCommand(arguments, command);
+		final var definition = entry.definition();
+		if (!definition.acceptsArity(arguments.size())) {
+			throw wrongNumberOfArguments(definition.name()).asException();
 		}
 
-		final var subParser = subParsers.get(name);
-		if (subParser != null) {
-			return subParser.parse(arguments.subList(1, arguments.size()));
+		arguments.shift();
+
+		if (entry.subParser() != null) {
+			return entry.subParser().parse(arguments);
 		}
 
-		throw new RError("ERR unknown '%s' command".formatted(name)).asException();
+		return new ParsedCommand(null, entry.parser().apply(definition.name(), arguments), definition);
 	}
 
-	protected BiFunction<String, RArray<RString>, Command> noArgumentCommand(Supplier<Command> constructor) {
-		return (name, arguments) -> {
-			if (!arguments.isEmpty()) {
-				throw wrongNumberOfArguments(name).asException();
+	private int slot(int hash) {
+		return (hash * seed) >>> shift;
+	}
+
+	private void put(Entry entry) {
+		for (final var existing : entries) {
+			if (Arrays.equals(existing.upperCase(), entry.upperCase())) {
+				throw new IllegalArgumentException("command already registered: %s".formatted(entry.definition().name()));
 			}
+		}
 
-			return constructor.get();
-		};
+		entries.add(entry);
+		rebuild();
 	}
 
-	protected BiFunction<String, RArray<RString>, Command> singleArgumentCommand(Function<RString, Command> constructor) {
-		return (name, arguments) -> {
-			if (arguments.size() != 1) {
-				throw wrongNumberOfArguments(name).asException();
+	/** Search for a multiplier that sends every name to its own slot, with a table of at least four times the number of names. */
+	private void rebuild() {
+		var bits = Math.max(1, 32 - Integer.numberOfLeadingZeros(entries.size() * 4 - 1));
+
+		while (true) {
+			for (var attempt = 0; attempt < SEED_ATTEMPTS; ++attempt) {
+				final var seed = ((attempt + 1) * 0x9E3779B9) | 1;
+				final var shift = 32 - bits;
+				final var table = new Entry[1 << bits];
+
+				if (fill(table, seed, shift)) {
+					this.table = table;
+					this.seed = seed;
+					this.shift = shift;
+					return;
+				}
 			}
 
-			final var first = arguments.getFirst();
-			return constructor.apply(first);
-		};
+			++bits;
+		}
 	}
 
-	protected BiFunction<String, RArray<RString>, Command> doubleArgumentCommand(BiFunction<RString, RString, Command> constructor) {
-		return (name, arguments) -> {
-			if (arguments.size() != 2) {
-				throw wrongNumberOfArguments(name).asException();
+	private boolean fill(Entry[] table, int seed, int shift) {
+		for (final var entry : entries) {
+			final var bytes = entry.upperCase();
+			final var index = (Arguments.hashUpperCase(bytes, 0, bytes.length) * seed) >>> shift;
+
+			if (table[index] != null) {
+				return false;
 			}
 
-			final var first = arguments.getFirst();
-			final var second = arguments.get(1);
+			table[index] = entry;
+		}
+
+		return true;
+	}
 
-			return constructor.apply(first, second);
-		};
+	protected BiFunction<String, Arguments, Command> noArgumentCommand(Supplier<Command> constructor) {
+		return (name, arguments) -> constructor.get();
 	}
 
-	protected BiFunction<String, RArray<RString>, Command> tripleArgumentCommand(TriFunction<RString, RString, RString, Command> constructor) {
-		return (name, arguments) -> {
-			if (arguments.size() != 3) {
-				throw wrongNumberOfArguments(name).asException();
-			}
+	protected BiFunction<String, Arguments, Command> singleArgumentCommand(Function<RString, Command> constructor) {
+		return (name, arguments) -> constructor.apply(arguments.get(0));
+	}
 
-			final var first = arguments.getFirst();
-			final var second = arguments.get(1);
-			final var third = arguments.get(2);
+	protected BiFunction<String, Arguments, Command> doubleArgumentCommand(BiFunction<RString, RString, Command> constructor) {
+		return (name, arguments) -> constructor.apply(arguments.get(0), arguments.get(1));
+	}
 
-			return constructor.apply(first, second, third);
-		};
+	protected BiFunction<String, Arguments, Command> tripleArgumentCommand(TriFunction<RString, RString, RString, Command> constructor) {
+		return (name, arguments) -> constructor.apply(arguments.get(0), arguments.get(1), arguments.get(2));
 	}
 
-	protected BiFunction<String, RArray<RString>, Command> allArgumentCommand(Function<RArray<RString>, Command> constructor) {
-		return (name, arguments) -> {
-			return constructor.apply(arguments);
-		};
+	protected BiFunction<String, Arguments, Command> allArgumentCommand(Function<RArray<RString>, Command> constructor) {
+		return (name, arguments) -> constructor.apply(arguments.asArray());
 	}
 
 	protected RError wrongNumberOfArguments(String name) {
 		return new RError("ERR wrong number of arguments for '%s' command".formatted(name));
 	}
 
-}
\ No newline at end of file
+	protected static CommandDefinition command(String name, int arity, CommandFlag... flags) {
+		return CommandDefinition.of(name, arity, flags);
+	}
+
+	private record Entry(
+		CommandDefinition definition,
+		byte[] upperCase,
+		BiFunction<String, Arguments, Command> parser,
+		CommandParser subParser
+	) {
+
+		public Entry(CommandDefinition definition, BiFunction<String, Arguments, Command> parser, CommandParser subParser) {
+			this(definition, lookupName(definition.name()), parser, subParser);
+		}
+
+		/** Sub-commands are named after their container, such as <code>CONFIG|GET</code>, but looked up with their own name. */
+		private static byte[] lookupName(String name) {
+			final var own = name.substring(name.lastIndexOf('|') + 1);
+
+			return own.toUpperCase(Locale.ROOT).getBytes(StandardCharsets.US_ASCII);
+		}
+
+	}
+
+}
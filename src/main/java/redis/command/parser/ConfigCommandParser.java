@@ -0,0 +1,31 @@
+package redis.command.parser;
+
+import java.util.LinkedHashMap;
+
+import redis.command.Arguments;
+import redis.command.builtin.core.ConfigGetCommand;
+import redis.command.builtin.core.ConfigSetCommand;
+import redis.type.RString;
+
+public class ConfigCommandParser extends CommandParser {
+
+	public ConfigCommandParser() {
+		register(command("CONFIG|GET", 2), singleArgumentCommand(ConfigGetCommand::new));
+		register(command("CONFIG|SET", -3), this::parseSet);
+	}
+
+	private ConfigSetCommand parseSet(String name, Arguments arguments) {
+		final var size = arguments.size();
+		if (size == 0 || size % 2 != 0) {
+			throw wrongNumberOfArguments(name).asException();
+		}
+
+		final var values = new LinkedHashMap<RString, RString>();
+		for (var index = 0; index < size; index += 2) {
+			values.put(arguments.get(index), arguments.get(index + 1));
+		}
+
+		return new ConfigSetCommand(values);
+	}
+
+}
@@ -1,21 +1,40 @@
 package redis.command.parser;
 
+import static redis.command.CommandFlag.BLOCKING;
+import static redis.command.CommandFlag.NO_AUTH;
+import static redis.command.CommandFlag.NO_MULTI;
+import static redis.command.CommandFlag.PROPAGATE;
+import static redis.command.CommandFlag.PUBSUB;
+import static redis.command.CommandFlag.SKIP_MONITOR;
+import static redis.command.CommandFlag.WRITE;
+
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiFunction;
 
+import redis.command.Arguments;
 import redis.command.Command;
 import redis.command.builtin.acl.AuthCommand;
-import redis.command.builtin.core.ConfigCommand;
+import redis.command.builtin.core.DelCommand;
 import redis.command.builtin.core.EchoCommand;
+import redis.command.builtin.core.ExpireCommand;
 import redis.command.builtin.core.GetCommand;
+import redis.command.builtin.core.HelloCommand;
 import redis.command.builtin.core.IncrCommand;
 import redis.command.builtin.core.InfoCommand;
+import redis.command.builtin.core.MonitorCommand;
 import redis.command.builtin.core.KeysCommand;
+import redis.command.builtin.core.PersistCommand;
 import redis.command.builtin.core.PingCommand;
+import redis.command.builtin.core.ScanCommand;
 import redis.command.builtin.core.SetCommand;
+import redis.command.builtin.core.TtlCommand;
 import redis.command.builtin.core.TypeCommand;
 import redis.command.builtin.geospatial.GeoAddCommand;
 import redis.command.builtin.geospatial.GeoDistCommand;
@@ -38,6 +57,7 @@ import redis.command.builtin.sortedset.ZCardCommand;
 import redis.command.builtin.sortedset.ZRangeCommand;
 import redis.command.builtin.sortedset.ZRankCommand;
 import redis.command.builtin.sortedset.ZRemCommand;
+import redis.command.builtin.sortedset.ZScanCommand;
 import redis.command.builtin.sortedset.ZScoreCommand;
 import redis.command.builtin.stream.XAddCommand;
 import redis.command.builtin.stream.XRangeCommand;
@@ -47,8 +67,8 @@ import redis.command.builtin.transaction.ExecCommand;
 import redis.command.builtin.transaction.MultiCommand;
 import redis.command.builtin.transaction.UnwatchCommand;
 import redis.command.builtin.transaction.WatchCommand;
+import redis.store.ExpireCondition;
 import redis.type.GeoCoordinate;
-import redis.type.RArray;
 import redis.type.RError;
 import redis.type.RString;
 import redis.type.stream.identifier.Identifier;
@@ -56,75 +76,91 @@ import redis.util.TriFunction;
 
 public class GlobalCommandParser extends CommandParser {
 
+	private static final Set<String> SCAN_TYPES = Set.of("string", "list", "set", "zset", "hash", "stream");
+
 	public GlobalCommandParser() {
-		register("PSYNC", (__, ___) -> new PSyncCommand());
-		register("REPLCONF", doubleArgumentCommand(ReplConfCommand::new));
-		register("WAIT", this::parseWait);
-
-		register("XADD", this::parseXAdd);
-		register("XRANGE", this::parseXRange);
-		register("XREAD", this::parseXRead);
-
-		register("DISCARD", noArgumentCommand(DiscardCommand::new));
-		register("EXEC", noArgumentCommand(ExecCommand::new));
-		register("MULTI", noArgumentCommand(MultiCommand::new));
-		register("WATCH", allArgumentCommand(WatchCommand::new));
-		register("UNWATCH", noArgumentCommand(UnwatchCommand::new));
-
-		register("CONFIG", doubleArgumentCommand(ConfigCommand::new));
-		register("ECHO", singleArgumentCommand(EchoCommand::new));
-		register("GET", singleArgumentCommand(GetCommand::new));
-		register("INCR", singleArgumentCommand(IncrCommand::new));
-		register("INFO", singleArgumentCommand(InfoCommand::new));
-		register("KEYS", singleArgumentCommand(KeysCommand::new));
-		register("PING", noArgumentCommand(PingCommand::new));
-		register("SET", this::parseSet);
-		register("TYPE", singleArgumentCommand(TypeCommand::new));
-
-		register("RPUSH", this::parseListPush);
-		register("LPUSH", this::parseListPush);
-		register("LRANGE", rangeCommand(LRangeCommand::new));
-		register("LLEN", singleArgumentCommand(LLenCommand::new));
-		register("LPOP", this::parseLPop);
-		register("BLPOP", this::parseBLPop);
-
-		register("SUBSCRIBE", singleArgumentCommand(SubscribeCommand::new));
-		register("PUBLISH", doubleArgumentCommand(PublishCommand::new));
-		register("UNSUBSCRIBE", singleArgumentCommand(UnsubscribeCommand::new));
-
-		register("ZADD", this::parseZAdd);
-		register("ZRANK", doubleArgumentCommand(ZRankCommand::new));
-		register("ZRANGE", rangeCommand(ZRangeCommand::new));
-		register("ZCARD", singleArgumentCommand(ZCardCommand::new));
-		register("ZSCORE", doubleArgumentCommand(ZScoreCommand::new));
-		register("ZREM", doubleArgumentCommand(ZRemCommand::new));
-
-		register("GEOADD", this::parseGeoAdd);
-		register("GEOPOS", this::parseGeoPos);
-		register("GEODIST", tripleArgumentCommand(GeoDistCommand::new));
-		register("GEOSEARCH", this::parseGeoSearch);
-
-		register("ACL", new AclCommandParser());
-		register("AUTH", doubleArgumentCommand(AuthCommand::new));
+		register(command("PSYNC", -3, NO_MULTI, SKIP_MONITOR), (__, ___) -> new PSyncCommand());
+		register(command("REPLCONF", 3, NO_MULTI, SKIP_MONITOR), doubleArgumentCommand(ReplConfCommand::new));
+		register(command("WAIT", 3, NO_MULTI, BLOCKING), this::parseWait);
+
+		register(command("XADD", -4, WRITE).keys(1, 1, 1), this::parseXAdd);
+		register(command("XRANGE", -4).keys(1, 1, 1), this::parseXRange);
+		register(command("XREAD", -4, BLOCKING), this::parseXRead);
+
+		register(command("DISCARD", 1, NO_MULTI), noArgumentCommand(DiscardCommand::new));
+		register(command("EXEC", 1, NO_MULTI), noArgumentCommand(ExecCommand::new));
+		register(command("MULTI", 1, NO_MULTI), noArgumentCommand(MultiCommand::new));
+		register(command("WATCH", -2, NO_MULTI).keys(1, -1, 1), allArgumentCommand(WatchCommand::new));
+		register(command("UNWATCH", 1, NO_MULTI), noArgumentCommand(UnwatchCommand::new));
+
+		register(command("DEL", -2, WRITE, PROPAGATE).keys(1, -1, 1), allArgumentCommand(DelCommand::new));
+		register(command("ECHO", 2), singleArgumentCommand(EchoCommand::new));
+		register(command("GET", 2).keys(1, 1, 1), singleArgumentCommand(GetCommand::new));
+		register(command("HELLO", -1, NO_MULTI, NO_AUTH, SKIP_MONITOR), this::parseHello);
+		register(command("INCR", 2, WRITE).keys(1, 1, 1), singleArgumentCommand(IncrCommand::new));
+		register(command("INFO", -1), allArgumentCommand(InfoCommand::new));
+		register(command("KEYS", 2), singleArgumentCommand(KeysCommand::new));
+		register(command("PING", 1, PUBSUB), noArgumentCommand(PingCommand::new));
+		register(command("SCAN", -2), this::parseScan);
+		register(command("SET", -3, WRITE, PROPAGATE).keys(1, 1, 1), this::parseSet);
+		register(command("TYPE", 2).keys(1, 1, 1), singleArgumentCommand(TypeCommand::new));
+
+		register(command("EXPIRE", -3, WRITE, PROPAGATE).keys(1, 1, 1), this::parseExpire);
+		register(command("PEXPIRE", -3, WRITE, PROPAGATE).keys(1, 1, 1), this::parseExpire);
+		register(command("EXPIREAT", -3, WRITE, PROPAGATE).keys(1, 1, 1), this::parseExpire);
+		register(command("PEXPIREAT", -3, WRITE, PROPAGATE).keys(1, 1, 1), this::parseExpire);
+		register(command("TTL", 2).keys(1, 1, 1), singleArgumentCommand((key) -> new TtlCommand(key, TimeUnit.SECONDS)));
+		register(command("PTTL", 2).keys(1, 1, 1), singleArgumentCommand((key) -> new TtlCommand(key, TimeUnit.MILLISECONDS)));
+		register(command("PERSIST", 2, WRITE, PROPAGATE).keys(1, 1, 1), singleArgumentCommand(PersistCommand::new));
+
+		register(command("RPUSH", -3, WRITE, PROPAGATE).keys(1, 1, 1), this::parseListPush);
+		register(command("LPUSH", -3, WRITE, PROPAGATE).keys(1, 1, 1), this::parseListPush);
+		register(command("LRANGE", 4).keys(1, 1, 1), rangeCommand(LRangeCommand::new));
+		register(command("LLEN", 2).keys(1, 1, 1), singleArgumentCommand(LLenCommand::new));
+		register(command("LPOP", -2, WRITE, PROPAGATE).keys(1, 1, 1), this::parseLPop);
+		register(command("BLPOP", -2, WRITE, BLOCKING).keys(1, 1, 1), this::parseBLPop);
+
+		register(command("SUBSCRIBE", 2, NO_MULTI, PUBSUB), singleArgumentCommand(SubscribeCommand::new));
+		register(command("PUBLISH", 3, WRITE, NO_MULTI, PUBSUB), doubleArgumentCommand(PublishCommand::new));
+		register(command("UNSUBSCRIBE", 2, NO_MULTI, PUBSUB), singleArgumentCommand(UnsubscribeCommand::new));
+
+		register(command("ZADD", 4, WRITE).keys(1, 1, 1), this::parseZAdd);
+		register(command("ZRANK", 3).keys(1, 1, 1), doubleArgumentCommand(ZRankCommand::new));
+		register(command("ZRANGE", 4).keys(1, 1, 1), rangeCommand(ZRangeCommand::new));
+		register(command("ZCARD", 2).keys(1, 1, 1), singleArgumentCommand(ZCardCommand::new));
+		register(command("ZSCORE", 3).keys(1, 1, 1), doubleArgumentCommand(ZScoreCommand::new));
+		register(command("ZREM", 3, WRITE).keys(1, 1, 1), doubleArgumentCommand(ZRemCommand::new));
+		register(command("ZSCAN", -3).keys(1, 1, 1), this::parseZScan);
+
+		register(command("GEOADD", 5, WRITE).keys(1, 1, 1), this::parseGeoAdd);
+		register(command("GEOPOS", -3).keys(1, 1, 1), this::parseGeoPos);
+		register(command("GEODIST", 4).keys(1, 1, 1), tripleArgumentCommand(GeoDistCommand::new));
+		register(command("GEOSEARCH", -8).keys(1, 1, 1), this::parseGeoSearch);
+
+		register(command("ACL", -2), new AclCommandParser());
+		register(command("AUTH", 3, NO_MULTI, NO_AUTH, SKIP_MONITOR), doubleArgumentCommand(AuthCommand::new));
+
+		register(command("CONFIG", -2), new ConfigCommandParser());
+		register(command("LATENCY", -2), new LatencyCommandParser());
+		register(command("SLOWLOG", -2), new SlowLogCommandParser());
+		register(command("CLIENT", -2), new ClientCommandParser());
+		register(command("COMMAND", -2), new CommandCommandParser(this));
+		register(command("MONITOR", 1, NO_MULTI, SKIP_MONITOR), noArgumentCommand(MonitorCommand::new));
 	}
 
-	private BiFunction<String, RArray<RString>, Command> rangeCommand(TriFunction<RString, Integer, Integer, Command> constructor) {
+	private BiFunction<String, Arguments, Command> rangeCommand(TriFunction<RString, Integer, Integer, Command> constructor) {
 		return (name, arguments) -> {
-			if (arguments.size() != 3) {
-				throw wrongNumberOfArguments(name).asException();
-			}
-
 			final var key = arguments.get(0);
-			final var startIndex = arguments.get(1).asInteger().getAsInt();
-			final var endIndex = arguments.get(2).asInteger().getAsInt();
+			final var startIndex = arguments.asInt(1);
+			final var endIndex = arguments.asInt(2);
 
 			return constructor.apply(key, startIndex, endIndex);
 		};
 	}
 
-	private WaitCommand parseWait(String name, RArray<RString> arguments) {
-		final var numberOfReplicas = arguments.get(0).asInteger().getAsInt();
-		final var timeout = arguments.get(1).asInteger().getAsInt();
+	private WaitCommand parseWait(String name, Arguments arguments) {
+		final var numberOfReplicas = arguments.asInt(0);
+		final var timeout = arguments.asInt(1);
 
 		return new WaitCommand(
 			numberOfReplicas,
@@ -132,11 +168,7 @@ public class GlobalCommandParser extends CommandParser {
 		);
 	}
 
-	private XAddCommand parseXAdd(String name, RArray<RString> arguments) {
-		if (arguments.size() <= 2) {
-			throw wrongNumberOfArguments(name).asException();
-		}
-
+	private XAddCommand parseXAdd(String name, Arguments arguments) {
 		final var key = arguments.get(0);
 		final var id = Identifier.parse(arguments.get(1));
 
@@ -149,11 +181,7 @@ public class GlobalCommandParser extends CommandParser {
 		);
 	}
 
-	private XRangeCommand parseXRange(String name, RArray<RString> arguments) {
-		if (arguments.size() <= 2) {
-			throw wrongNumberOfArguments(name).asException();
-		}
-
+	private XRangeCommand parseXRange(String name, Arguments arguments) {
 		final var key = arguments.get(0);
 		final var fromId = Identifier.parse(arguments.get(1));
 		final var toId = Identifier.parse(arguments.get(2));
@@ -165,28 +193,21 @@ public class GlobalCommandParser extends CommandParser {
 		);
 	}
 
-	private XReadCommand parseXRead(String name, RArray<RString> arguments) {
-		if (arguments.size() <= 2) {
-			throw wrongNumberOfArguments(name).asException();
-		}
-
+	private XReadCommand parseXRead(String name, Arguments arguments) {
 		final var queries = new ArrayList<XReadCommand.Query>();
 		var timeout = Optional.<Duration>empty();
 
 		final var size = arguments.size();
 		for (var index = 0; index < size; ++index) {
-			var element = arguments.get(index);
-
-			if (RString.equalsIgnoreCase(element, "block")) {
+			if (arguments.equalsIgnoreCase(index, "block")) {
 				++index;
 
-				element = arguments.get(index);
-				timeout = Optional.of(Duration.ofMillis((arguments.get(index)).asLong()));
+				timeout = Optional.of(Duration.ofMillis(arguments.asLong(index)));
 
 				continue;
 			}
 
-			if (RString.equalsIgnoreCase(element, "streams")) {
+			if (arguments.equalsIgnoreCase(index, "streams")) {
 				++index;
 
 				final var remaining = size - index;
@@ -195,8 +216,7 @@ public class GlobalCommandParser extends CommandParser {
 				for (var jndex = 0; jndex < offset; ++jndex) {
 					final var key = arguments.get(index + jndex);
 
-					element = arguments.get(index + offset + jndex);
-					final var identifier = timeout != null && RString.equalsIgnoreCase(element, "$")
+					final var identifier = timeout != null && arguments.equalsIgnoreCase(index + offset + jndex, "$")
 						? null
 						: Identifier.parse(arguments.get(index + offset + jndex));
 
@@ -213,7 +233,46 @@ public class GlobalCommandParser extends CommandParser {
 		);
 	}
 
-	private SetCommand parseSet(String name, RArray<RString> arguments) {
+	private HelloCommand parseHello(String name, Arguments arguments) {
+		if (arguments.isEmpty()) {
+			return new HelloCommand(OptionalInt.empty(), Optional.empty(), Optional.empty());
+		}
+
+		final var protocolVersion = arguments.asInteger(0);
+		if (protocolVersion.isEmpty()) {
+			throw new RError("ERR Protocol version is not an integer or out of range").asException();
+		}
+
+		var credentials = Optional.<HelloCommand.Credentials>empty();
+		var clientName = Optional.<RString>empty();
+
+		final var size = arguments.size();
+		for (var index = 1; index < size; ++index) {
+			if (arguments.equalsIgnoreCase(index, "auth") && index + 2 < size) {
+				credentials = Optional.of(new HelloCommand.Credentials(arguments.get(index + 1), arguments.get(index + 2)));
+				index += 2;
+
+				continue;
+			}
+
+			if (arguments.equalsIgnoreCase(index, "setname") && index + 1 < size) {
+				clientName = Optional.of(arguments.get(index + 1));
+				index += 1;
+
+				continue;
+			}
+
+			throw new RError("ERR Syntax error in HELLO option '%s'".formatted(arguments.get(index).content())).asException();
+		}
+
+		return new HelloCommand(
+			protocolVersion,
+			credentials,
+			clientName
+		);
+	}
+
+	private SetCommand parseSet(String name, Arguments arguments) {
 		if (arguments.size() != 2 && arguments.size() != 4) {
 			throw wrongNumberOfArguments(name).asException();
 		}
@@ -223,11 +282,10 @@ public class GlobalCommandParser extends CommandParser {
 		var expiration = Optional.<Duration>empty();
 
 		if (arguments.size() == 4) {
-			final var unit = arguments.get(2);
-			if (RString.equalsIgnoreCase(unit, "px")) {
-				expiration = Optional.of(arguments.get(3).asDuration(ChronoUnit.MILLIS));
-			} else if (RString.equalsIgnoreCase(unit, "ex")) {
-				expiration = Optional.of(arguments.get(3).asDuration(ChronoUnit.SECONDS));
+			if (arguments.equalsIgnoreCase(2, "px")) {
+				expiration = Optional.of(Duration.of(arguments.asLong(3), ChronoUnit.MILLIS));
+			} else if (arguments.equalsIgnoreCase(2, "ex")) {
+				expiration = Optional.of(Duration.of(arguments.asLong(3), ChronoUnit.SECONDS));
 			} else {
 				throw RError.syntax().asException();
 			}
@@ -236,13 +294,143 @@ public class GlobalCommandParser extends CommandParser {
 		return new SetCommand(key, value, expiration);
 	}
 
-	private Command parseListPush(String name, RArray<RString> arguments) {
-		if (arguments.size() < 2) {
-			throw wrongNumberOfArguments(name).asException();
+	private ExpireCommand parseExpire(String name, Arguments arguments) {
+		final var upperName = name.toUpperCase(Locale.ROOT);
+		final var key = arguments.get(0);
+
+		final var value = arguments.asLong(1);
+
+		final var absolute = upperName.endsWith("AT");
+		final long milliseconds;
+		try {
+			milliseconds = upperName.startsWith("P")
+				? value
+				: Math.multiplyExact(value, 1000);
+		} catch (ArithmeticException exception) {
+			throw invalidExpireTime(name).asException();
+		}
+
+		if (!absolute && milliseconds > Long.MAX_VALUE - System.currentTimeMillis()) {
+			throw invalidExpireTime(name).asException();
+		}
+
+		var nx = false;
+		var xx = false;
+		var gt = false;
+		var lt = false;
+
+		final var size = arguments.size();
+		for (var index = 2; index < size; ++index) {
+			if (arguments.equalsIgnoreCase(index, "nx")) {
+				nx = true;
+			} else if (arguments.equalsIgnoreCase(index, "xx")) {
+				xx = true;
+			} else if (arguments.equalsIgnoreCase(index, "gt")) {
+				gt = true;
+			} else if (arguments.equalsIgnoreCase(index, "lt")) {
+				lt = true;
+			} else {
+				throw new RError("ERR Unsupported option %s".formatted(arguments.get(index).content())).asException();
+			}
+		}
+
+		if (nx && (xx || gt || lt)) {
+			throw new RError("ERR NX and XX, GT or LT options at the same time are not compatible").asException();
+		}
+
+		if (gt && lt) {
+			throw new RError("ERR GT and LT options at the same time are not compatible").asException();
+		}
+
+		final ExpireCondition condition;
+		if (nx) {
+			condition = ExpireCondition.NX;
+		} else if (gt) {
+			/* a key without expiration never expires, it is never less than GT */
+			condition = ExpireCondition.GT;
+		} else if (lt) {
+			condition = xx ? ExpireCondition.XX_LT : ExpireCondition.LT;
+		} else if (xx) {
+			condition = ExpireCondition.XX;
+		} else {
+			condition = ExpireCondition.ALWAYS;
+		}
+
+		return new ExpireCommand(key, milliseconds, absolute, condition);
+	}
+
+	private static RError invalidExpireTime(String name) {
+		return new RError("ERR invalid expire time in '%s' command".formatted(name.toLowerCase(Locale.ROOT)));
+	}
+
+	private ScanCommand parseScan(String name, Arguments arguments) {
+		final var cursor = parseScanCursor(arguments, 0);
+		final var options = parseScanOptions(arguments, 1, true);
+
+		return new ScanCommand(cursor, options);
+	}
+
+	private ZScanCommand parseZScan(String name, Arguments arguments) {
+		final var key = arguments.get(0);
+		final var cursor = parseScanCursor(arguments, 1);
+		final var options = parseScanOptions(arguments, 2, false);
+
+		return new ZScanCommand(key, cursor, options);
+	}
+
+	private static long parseScanCursor(Arguments arguments, int index) {
+		try {
+			return Long.parseUnsignedLong(arguments.get(index).content());
+		} catch (NumberFormatException exception) {
+			throw new RError("ERR invalid cursor").asException();
+		}
+	}
+
+	private static ScanCommand.Options parseScanOptions(Arguments arguments, int fromIndex, boolean withType) {
+		var pattern = Optional.<RString>empty();
+		var count = ScanCommand.Options.DEFAULT_COUNT;
+		var type = Optional.<String>empty();
+
+		final var size = arguments.size();
+		for (var index = fromIndex; index < size; index += 2) {
+			if (index + 1 == size) {
+				throw RError.syntax().asException();
+			}
+
+			if (arguments.equalsIgnoreCase(index, "match")) {
+				final var value = arguments.get(index + 1);
+
+				/* a lone star matches everything, there is no need to test it */
+				pattern = value.length() == 1 && value.bytes()[0] == '*'
+					? Optional.empty()
+					: Optional.of(value);
+			} else if (arguments.equalsIgnoreCase(index, "count")) {
+				final var value = arguments.asLong(index + 1);
+
+				if (value < 1) {
+					throw RError.syntax().asException();
+				}
+
+				count = (int) Math.min(value, Integer.MAX_VALUE);
+			} else if (withType && arguments.equalsIgnoreCase(index, "type")) {
+				final var value = arguments.get(index + 1).content().toLowerCase(Locale.ROOT);
+
+				if (!SCAN_TYPES.contains(value)) {
+					throw new RError("ERR unknown type name '%s'".formatted(value)).asException();
+				}
+
+				type = Optional.of(value);
+			} else {
+				throw RError.syntax().asException();
+			}
 		}
 
+		return new ScanCommand.Options(pattern, count, type);
+	}
+
+	private Command parseListPush(String name, Arguments arguments) {
 		final var key = arguments.get(0);
-		final var values = RArray.copy(arguments.subList(1, arguments.size()));
+		final var values = arguments.subList(1, arguments.size());
 
 		if (Character.toUpperCase(name.charAt(0)) == 'L') {
 			return new LPushCommand(key, values);
@@ -251,7 +439,7 @@ public class GlobalCommandParser extends CommandParser {
 		return new RPushCommand(key, values);
 	}
 
-	private LPopCommand parseLPop(String name, RArray<RString> arguments) {
+	private LPopCommand parseLPop(String name, Arguments arguments) {
 		final var argumentsSize = arguments.size();
 		if (argumentsSize < 1 || argumentsSize > 2) {
 			throw wrongNumberOfArguments(name).asException();
@@ -259,13 +447,13 @@ public class GlobalCommandParser extends CommandParser {
 
 		final var key = arguments.get(0);
 		final var count = argumentsSize == 2
-			? arguments.get(1).asInteger().getAsInt()
+			? arguments.asInt(1)
 			: 1;
 
 		return new LPopCommand(key, count);
 	}
 
-	private BLPopCommand parseBLPop(String name, RArray<RString> arguments) {
+	private BLPopCommand parseBLPop(String name, Arguments arguments) {
 		final var argumentsSize = arguments.size();
 		if (argumentsSize < 1 || argumentsSize > 2) {
 			throw wrongNumberOfArguments(name).asException();
@@ -273,7 +461,7 @@ public class GlobalCommandParser extends CommandParser {
 
 		final var key = arguments.get(0);
 		final var timeout = argumentsSize == 2
-			? Duration.ofMillis((long) (arguments.get(1).asDouble() * 1000))
+			? Duration.ofMillis((long) (arguments.asDouble(1) * 1000))
 			: Duration.ZERO;
 
 		if (timeout.isPositive()) {
@@ -283,51 +471,31 @@ public class GlobalCommandParser extends CommandParser {
 		return new BLPopCommand(key, Optional.empty());
 	}
 
-	private ZAddCommand parseZAdd(String name, RArray<RString> arguments) {
-		final var argumentsSize = arguments.size();
-		if (argumentsSize != 3) {
-			throw wrongNumberOfArguments(name).asException();
-		}
-
+	private ZAddCommand parseZAdd(String name, Arguments arguments) {
 		final var key = arguments.get(0);
-		final var score = arguments.get(1).asDouble();
+		final var score = arguments.asDouble(1);
 		final var value = arguments.get(2);
 
 		return new ZAddCommand(key, score, value);
 	}
 
-	private GeoAddCommand parseGeoAdd(String name, RArray<RString> arguments) {
-		final var argumentsSize = arguments.size();
-		if (argumentsSize != 4) {
-			throw wrongNumberOfArguments(name).asException();
-		}
-
+	private GeoAddCommand parseGeoAdd(String name, Arguments arguments) {
 		final var key = arguments.get(0);
-		final var longitude = arguments.get(1).asDouble();
-		final var latitude = arguments.get(2).asDouble();
+		final var longitude = arguments.asDouble(1);
+		final var latitude = arguments.asDouble(2);
 		final var member = arguments.get(3);
 
 		return new GeoAddCommand(key, new GeoCoordinate(longitude, latitude), member);
 	}
 
-	private GeoPosCommand parseGeoPos(String name, RArray<RString> arguments) {
-		final var argumentsSize = arguments.size();
-		if (argumentsSize < 2) {
-			throw wrongNumberOfArguments(name).asException();
-		}
-
+	private GeoPosCommand parseGeoPos(String name, Arguments arguments) {
 		final var key = arguments.get(0);
-		final var members = arguments.subList(1, argumentsSize);
+		final var members = arguments.subList(1, arguments.size());
 
 		return new GeoPosCommand(key, members);
 	}
 
-	private GeoSearchCommand parseGeoSearch(String name, RArray<RString> arguments) {
-		final var argumentsSize = arguments.size();
-		if (argumentsSize < 7) {
-			throw wrongNumberOfArguments(name).asException();
-		}
-
+	private GeoSearchCommand parseGeoSearch(String name, Arguments arguments) {
 		final var key = arguments.get(0);
 
 		final var centerMode = arguments.get(1);
@@ -335,15 +503,15 @@ public class GlobalCommandParser extends CommandParser {
 			throw new RError("ERR only FROMLONLAT center mode is supported for GEOSEARCH command").asException();
 		}
 
-		final var longitude = arguments.get(2).asDouble();
-		final var latitude = arguments.get(3).asDouble();
+		final var longitude = arguments.asDouble(2);
+		final var latitude = arguments.asDouble(3);
 
 		final var regionMode = arguments.get(4);
 		if (!"BYRADIUS".equals(regionMode.content())) {
 			throw new RError("ERR only BYRADIUS region mode is supported for GEOSEARCH command").asException();
 		}
 
-		final var radius = arguments.get(5).asDouble();
+		final var radius = arguments.asDouble(5);
 
 		final var radiusUnit = arguments.get(6);
 		if (!"m".equals(radiusUnit.content())) {
@@ -0,0 +1,11 @@
+package redis.command.parser;
+
+import redis.command.builtin.core.LatencyHistogramCommand;
+
+public class LatencyCommandParser extends CommandParser {
+
+	public LatencyCommandParser() {
+		register(command("LATENCY|HISTOGRAM", -1), allArgumentCommand(LatencyHistogramCommand::new));
+	}
+
+}
@@ -0,0 +1,37 @@
+package redis.command.parser;
+
+import redis.command.Arguments;
+import redis.command.builtin.core.SlowLogGetCommand;
+import redis.command.builtin.core.SlowLogLenCommand;
+import redis.command.builtin.core.SlowLogResetCommand;
+import redis.type.RError;
+
+public class SlowLogCommandParser extends CommandParser {
+
+	private static final int DEFAULT_COUNT = 10;
+
+	public SlowLogCommandParser() {
+		register(command("SLOWLOG|GET", -1), this::parseGet);
+		register(command("SLOWLOG|LEN", 1), noArgumentCommand(SlowLogLenCommand::new));
+		register(command("SLOWLOG|RESET", 1), noArgumentCommand(SlowLogResetCommand::new));
+	}
+
+	private SlowLogGetCommand parseGet(String name, Arguments arguments) {
+		final var size = arguments.size();
+		if (size > 1) {
+			throw wrongNumberOfArguments(name).asException();
+		}
+
+		if (size == 0) {
+			return new SlowLogGetCommand(DEFAULT_COUNT);
+		}
+
+		final var count = arguments.asInteger(0);
+		if (count.isEmpty() || count.getAsInt() < -1) {
+			throw new RError("ERR count should be greater than or equal to -1").asException();
+		}
+
+		return new SlowLogGetCommand(count.getAsInt());
+	}
+
+}
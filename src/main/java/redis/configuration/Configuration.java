@@ -5,35 +5,61 @@ import java.util.List;
 
 import lombok.Getter;
 import lombok.experimental.Accessors;
+import redis.aof.FsyncPolicy;
+import redis.configuration.common.ClientOutputBufferLimitOption;
+import redis.configuration.common.EnumOption;
+import redis.configuration.common.IntegerOption;
+import redis.configuration.common.LogLevelOption;
 import redis.configuration.common.PathOption;
 import redis.configuration.common.PortOption;
 import redis.configuration.common.RemoteOption;
 import redis.configuration.common.StringOption;
 import redis.configuration.common.YesNoOption;
+import redis.logging.LogLevel;
 
 @Accessors(fluent = true)
 public class Configuration {
 
-	private final @Getter PortOption port = new PortOption("port", 6379);
-	private final @Getter PathOption directory = PathOption.currentDirectory("dir");
-	private final @Getter StringOption databaseFilename = new StringOption("dbfilename");
-	private final @Getter RemoteOption replicaOf = new RemoteOption("replicaof");
+	private final @Getter PortOption port = new PortOption("port", 6379).immutable();
+	private final @Getter PathOption unixSocket = new PathOption("unixsocket").immutable();
+	private final @Getter PathOption directory = PathOption.currentDirectory("dir").immutable();
+	private final @Getter StringOption databaseFilename = new StringOption("dbfilename").immutable();
+	private final @Getter RemoteOption replicaOf = new RemoteOption("replicaof").immutable();
 	private final @Getter StringOption masterReplicationId = new StringOption("master-replid", "8371b4fb1155b71f4a04d3e1bc3e18c4a990aeeb");
-	private final @Getter YesNoOption appendOnly = new YesNoOption("appendonly", "no");
-	private final @Getter StringOption appendDirectoryName = new StringOption("appenddirname", "appendonlydir");
-	private final @Getter StringOption appendFileName = new StringOption("appendfilename", "appendonly.aof");
-	private final @Getter StringOption appendFileSync = new StringOption("appendfsync", "everysec");
+	private final @Getter YesNoOption appendOnly = new YesNoOption("appendonly", "no").immutable();
+	private final @Getter StringOption appendDirectoryName = new StringOption("appenddirname", "appendonlydir").immutable();
+	private final @Getter StringOption appendFileName = new StringOption("appendfilename", "appendonly.aof").immutable();
+	private final @Getter EnumOption<FsyncPolicy> appendFileSync = new EnumOption<>("appendfsync", FsyncPolicy.class, FsyncPolicy.EVERYSEC);
+	private final @Getter EnumOption<IoMode> ioMode = new EnumOption<>("io-mode", IoMode.class, IoMode.BLOCKING).immutable();
+	private final @Getter IntegerOption ioThreads = new IntegerOption("io-threads", 0, 0).immutable();
+	private final @Getter ClientOutputBufferLimitOption clientOutputBufferLimit = new ClientOutputBufferLimitOption("client-output-buffer-limit", "normal 0 0 0 replica 256mb 64mb 60 pubsub 32mb 8mb 60");
+	private final @Getter LogLevelOption logLevel = new LogLevelOption("loglevel", LogLevel.NOTICE);
+	private final @Getter YesNoOption latencyTracking = new YesNoOption("latency-tracking", "yes");
+	private final @Getter IntegerOption slowlogLogSlowerThan = new IntegerOption("slowlog-log-slower-than", 10_000, -1);
+	private final @Getter IntegerOption slowlogMaxLength = new IntegerOption("slowlog-max-len", 128, 0);
+	private final @Getter IntegerOption activeExpireEffort = new IntegerOption("active-expire-effort", 1, 1, 10);
+	private final @Getter PortOption metricsPort = new PortOption("metrics-port", 0).immutable();
 
 	@SuppressWarnings({ "rawtypes" })
 	private final List<Option> options = Arrays.asList(
 		port,
+		unixSocket,
 		directory,
 		databaseFilename,
 		replicaOf,
 		appendOnly,
 		appendDirectoryName,
 		appendFileName,
-		appendFileSync
+		appendFileSync,
+		ioMode,
+		ioThreads,
+		clientOutputBufferLimit,
+		logLevel,
+		latencyTracking,
+		slowlogLogSlowerThan,
+		slowlogMaxLength,
+		activeExpireEffort,
+		metricsPort
 	);
 
 	@SuppressWarnings("rawtypes")
@@ -56,4 +82,19 @@ public class Configuration {
 		return replicaOf.getValue() != null;
 	}
 
+	public enum IoMode {
+
+		/** One virtual thread per connection. */
+		BLOCKING,
+
+		/** Connections multiplexed on a few selector-driven event loops, see also <code>io-threads</code>. */
+		NIO;
+
+		@Override
+		public String toString() {
+			return name().toLowerCase();
+		}
+
+	}
+
 }
\ No newline at end of file
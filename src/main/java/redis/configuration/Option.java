@@ -5,7 +5,12 @@ import lombok.Getter;
 public abstract class Option<T> {
 
 	private final @Getter String name;
-	private @Getter T value;
+
+	/* set by CONFIG SET, read by the threads executing the commands */
+	private volatile @Getter T value;
+
+	/* options only read at startup cannot be changed by CONFIG SET */
+	private @Getter boolean mutable = true;
 
 	protected Option(String name, T defaultValue) {
 		this.name = name;
@@ -20,6 +25,13 @@ public abstract class Option<T> {
 
 	protected void afterSet() {}
 
+	/** Mark the option as only read at startup. */
+	@SuppressWarnings("unchecked")
+	public <O extends Option<T>> O immutable() {
+		this.mutable = false;
+		return (O) this;
+	}
+
 	public abstract T parse(String value);
 
 }
\ No newline at end of file
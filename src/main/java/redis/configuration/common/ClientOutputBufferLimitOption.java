@@ -0,0 +1,108 @@
+package redis.configuration.common;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import redis.client.ClientClass;
+import redis.configuration.Option;
+
+/**
+ * <code>&lt;class&gt; &lt;hard limit&gt; &lt;soft limit&gt; &lt;soft seconds&gt;</code> triplets, a limit of <code>0</code> is disabled.
+ * <p>
+ * Classes that are not given keep their current limits.
+ */
+public class ClientOutputBufferLimitOption extends Option<ClientOutputBufferLimitOption.Limits> {
+
+	public ClientOutputBufferLimitOption(String name, String defaultValue) {
+		super(name, parse(defaultValue, new Limits(new EnumMap<>(ClientClass.class))));
+	}
+
+	@Override
+	public Limits parse(String value) {
+		return parse(value, getValue());
+	}
+
+	private static Limits parse(String value, Limits current) {
+		final var parts = value.trim().split("\\s+");
+		if (parts.length % 4 != 0) {
+			throw new IllegalArgumentException("invalid client output buffer limit: %s".formatted(value));
+		}
+
+		final var limits = new EnumMap<>(current.byClass());
+		for (var index = 0; index < parts.length; index += 4) {
+			final var clientClass = switch (parts[index].toLowerCase(Locale.ROOT)) {
+				case "normal" -> ClientClass.NORMAL;
+				case "replica", "slave" -> ClientClass.REPLICA;
+				case "pubsub" -> ClientClass.PUBSUB;
+				default -> throw new IllegalArgumentException("invalid client class: %s".formatted(parts[index]));
+			};
+
+			limits.put(clientClass, new Limit(
+				parseMemory(parts[index + 1]),
+				parseMemory(parts[index + 2]),
+				Long.parseLong(parts[index + 3])
+			));
+		}
+
+		return new Limits(limits);
+	}
+
+	/** Parse sizes such as <code>64mb</code>, <code>k</code> and <code>m</code> are powers of 1000, <code>kb</code> and <code>mb</code> of 1024. */
+	public static long parseMemory(String value) {
+		final var lower = value.toLowerCase(Locale.ROOT);
+
+		var end = lower.length();
+		while (end > 0 && Character.isLetter(lower.charAt(end - 1))) {
+			--end;
+		}
+
+		final var multiplier = switch (lower.substring(end)) {
+			case "", "b" -> 1L;
+			case "k" -> 1_000L;
+			case "kb" -> 1L << 10;
+			case "m" -> 1_000_000L;
+			case "mb" -> 1L << 20;
+			case "g" -> 1_000_000_000L;
+			case "gb" -> 1L << 30;
+			default -> throw new IllegalArgumentException("invalid memory unit: %s".formatted(value));
+		};
+
+		return Long.parseLong(lower.substring(0, end)) * multiplier;
+	}
+
+	public record Limit(
+		long hard,
+		long soft,
+		long softSeconds
+	) {
+
+		public static final Limit NONE = new Limit(0, 0, 0);
+
+		@Override
+		public String toString() {
+			return "%d %d %d".formatted(hard, soft, softSeconds);
+		}
+
+	}
+
+	public record Limits(
+		Map<ClientClass, Limit> byClass
+	) {
+
+		public Limit get(ClientClass clientClass) {
+			return byClass.getOrDefault(clientClass, Limit.NONE);
+		}
+
+		@Override
+		public String toString() {
+			return byClass.entrySet()
+				.stream()
+				.map((entry) -> "%s %s".formatted(entry.getKey(), entry.getValue()))
+				.collect(Collectors.joining(" "));
+		}
+
+	}
+
+}
@@ -0,0 +1,32 @@
+package redis.configuration.common;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+import redis.configuration.Option;
+
+public class EnumOption<E extends Enum<E>> extends Option<E> {
+
+	private final Class<E> enumClass;
+
+	public EnumOption(String name, Class<E> enumClass, E defaultValue) {
+		super(name, defaultValue);
+		this.enumClass = enumClass;
+	}
+
+	@Override
+	public E parse(String value) {
+		for (final var constant : enumClass.getEnumConstants()) {
+			if (constant.name().equalsIgnoreCase(value)) {
+				return constant;
+			}
+		}
+
+		final var names = Arrays.stream(enumClass.getEnumConstants())
+			.map(String::valueOf)
+			.collect(Collectors.joining(", "));
+
+		throw new IllegalArgumentException("argument must be one of the following: %s".formatted(names));
+	}
+
+}
@@ -0,0 +1,35 @@
+package redis.configuration.common;
+
+import redis.configuration.Option;
+
+public class IntegerOption extends Option<Integer> {
+
+	private final int minimum;
+	private final int maximum;
+
+	public IntegerOption(String name, int defaultValue, int minimum) {
+		this(name, defaultValue, minimum, Integer.MAX_VALUE);
+	}
+
+	public IntegerOption(String name, int defaultValue, int minimum, int maximum) {
+		super(name, defaultValue);
+		this.minimum = minimum;
+		this.maximum = maximum;
+	}
+
+	@Override
+	public Integer parse(String value) {
+		final var parsed = Integer.parseInt(value);
+
+		if (parsed < minimum) {
+			throw new IllegalArgumentException("argument must be at least %d".formatted(minimum));
+		}
+
+		if (parsed > maximum) {
+			throw new IllegalArgumentException("argument must be at most %d".formatted(maximum));
+		}
+
+		return parsed;
+	}
+
+}
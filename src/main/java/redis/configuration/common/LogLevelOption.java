@@ -0,0 +1,18 @@
+package redis.configuration.common;
+
+import redis.logging.LogLevel;
+import redis.logging.Logger;
+
+/** Level of the {@link Logger}, applied as soon as it is set. */
+public class LogLevelOption extends EnumOption<LogLevel> {
+
+	public LogLevelOption(String name, LogLevel defaultValue) {
+		super(name, LogLevel.class, defaultValue);
+	}
+
+	@Override
+	protected void afterSet() {
+		Logger.setLevel(getValue());
+	}
+
+}
@@ -4,7 +4,7 @@ import lombok.Getter;
 
 public class YesNoOption extends StringOption {
 
-	private @Getter boolean yes;
+	private volatile @Getter boolean yes;
 
 	public YesNoOption(String name) {
 		super(name, null);
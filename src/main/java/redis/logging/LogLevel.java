@@ -0,0 +1,29 @@
+package redis.logging;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/** Same levels as Redis, from the most to the least verbose. */
+@RequiredArgsConstructor
+public enum LogLevel {
+
+	/** Everything, down to every command. */
+	DEBUG('.'),
+
+	/** Connections and other events of a client. */
+	VERBOSE('-'),
+
+	/** What is worth knowing in production. */
+	NOTICE('*'),
+
+	/** Only errors and what may require an action. */
+	WARNING('#');
+
+	private final @Getter char symbol;
+
+	@Override
+	public String toString() {
+		return name().toLowerCase();
+	}
+
+}
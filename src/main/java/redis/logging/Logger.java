@@ -0,0 +1,171 @@
+package redis.logging;
+
+import java.io.PrintStream;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.UtilityClass;
+import redis.util.RingBuffer;
+
+/**
+ * Leveled logger, writing from a background thread.
+ * <p>
+ * A disabled level costs a comparison: messages are only formatted once their level has been checked. Enabled messages are queued in a {@link RingBuffer}, and dropped if the writer cannot keep up instead of slowing the caller down.
+ * <p>
+ * On hot paths, check {@link #isDebugEnabled()} first to also skip the boxing of the arguments.
+ * <p>
+ * Warnings go to the standard error, everything else to the standard output.
+ */
+@UtilityClass
+public class Logger {
+
+	private static final int CAPACITY = 16 * 1024;
+	private static final long PID = ProcessHandle.current().pid();
+
+	private static volatile @Getter @Setter LogLevel level = LogLevel.NOTICE;
+
+	private static final RingBuffer<Entry> entries = new RingBuffer<>(CAPACITY);
+	private static final AtomicLong dropped = new AtomicLong();
+	private static volatile boolean sleeping;
+	private static volatile boolean stopping;
+	private static final Thread writer = Thread.ofPlatform()
+		.name("logger")
+		.daemon()
+		.start(Logger::write);
+
+	/* a writer stuck on a blocked output must not prevent the exit */
+	private static final long STOP_TIMEOUT_MILLISECONDS = 1000;
+
+	static {
+		Runtime.getRuntime().addShutdownHook(new Thread(Logger::stop));
+	}
+
+	public static boolean isEnabled(LogLevel level) {
+		return level.compareTo(Logger.level) >= 0;
+	}
+
+	public static boolean isDebugEnabled() {
+		return isEnabled(LogLevel.DEBUG);
+	}
+
+	public static void debug(String format, Object... arguments) {
+		if (isEnabled(LogLevel.DEBUG)) {
+			log(LogLevel.DEBUG, format, arguments);
+		}
+	}
+
+	public static void verbose(String format, Object... arguments) {
+		if (isEnabled(LogLevel.VERBOSE)) {
+			log(LogLevel.VERBOSE, format, arguments);
+		}
+	}
+
+	public static void notice(String format, Object... arguments) {
+		if (isEnabled(LogLevel.NOTICE)) {
+			log(LogLevel.NOTICE, format, arguments);
+		}
+	}
+
+	public static void warning(String format, Object... arguments) {
+		if (isEnabled(LogLevel.WARNING)) {
+			log(LogLevel.WARNING, format, arguments);
+		}
+	}
+
+	private static void log(LogLevel level, String format, Object... arguments) {
+		/* formatted now, the arguments may change before the writer gets to them */
+		final var message = arguments.length == 0 ? format : format.formatted(arguments);
+
+		if (!entries.offer(new Entry(System.currentTimeMillis(), level, message))) {
+			dropped.incrementAndGet();
+			return;
+		}
+
+		if (sleeping) {
+			LockSupport.unpark(writer);
+		}
+	}
+
+	private static void write() {
+		while (!stopping) {
+			drain();
+
+			sleeping = true;
+			if (entries.isEmpty() && !stopping) {
+				LockSupport.park();
+			}
+
+			sleeping = false;
+		}
+	}
+
+	/** Stop the writer, then write what is left from this thread, so that the queue never has two consumers. */
+	private static void stop() {
+		stopping = true;
+		LockSupport.unpark(writer);
+
+		try {
+			writer.join(STOP_TIMEOUT_MILLISECONDS);
+		} catch (InterruptedException exception) {
+			Thread.currentThread().interrupt();
+		}
+
+		/* still writing, the last messages are lost rather than read concurrently */
+		if (!writer.isAlive()) {
+			drain();
+		}
+	}
+
+	/**
+	 * Write everything that is queued, in batches to not pay for a flush every line.
+	 * Only called by the writer, then by the shutdown hook once the writer has stopped.
+	 */
+	private static void drain() {
+		final var output = new StringBuilder();
+		final var error = new StringBuilder();
+
+		Entry entry;
+		while ((entry = entries.poll()) != null) {
+			entry.appendTo(entry.level() == LogLevel.WARNING ? error : output);
+		}
+
+		final var lost = dropped.getAndSet(0);
+		if (lost != 0) {
+			new Entry(System.currentTimeMillis(), LogLevel.WARNING, "%d log messages dropped, the writer could not keep up".formatted(lost)).appendTo(error);
+		}
+
+		print(System.out, output);
+		print(System.err, error);
+	}
+
+	private static void print(PrintStream stream, StringBuilder builder) {
+		if (!builder.isEmpty()) {
+			stream.print(builder);
+			stream.flush();
+		}
+	}
+
+	private record Entry(
+		long timestamp,
+		LogLevel level,
+		String message
+	) {
+
+		public void appendTo(StringBuilder builder) {
+			final var time = LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneId.systemDefault());
+
+			builder
+				.append('[').append(PID).append("] [").append(time).append("] ")
+				.append(level.getSymbol()).append(' ')
+				.append(message)
+				.append('\n');
+		}
+
+	}
+
+}
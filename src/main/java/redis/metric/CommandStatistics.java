@@ -0,0 +1,67 @@
+package redis.metric;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import lombok.Getter;
+
+/** Counters of a single command, as shown by the commandstats section of INFO. */
+public class CommandStatistics {
+
+	private final LongAdder calls = new LongAdder();
+	private final LongAdder nanoseconds = new LongAdder();
+	private final LongAdder rejectedCalls = new LongAdder();
+	private final LongAdder failedCalls = new LongAdder();
+	private final @Getter LatencyHistogram latencies = new LatencyHistogram();
+
+	/**
+	 * @param failed whether the command answered with an error
+	 * @param tracked whether the duration is also recorded in the latency histogram
+	 */
+	public void executed(long nanoseconds, boolean failed, boolean tracked) {
+		calls.increment();
+		this.nanoseconds.add(nanoseconds);
+
+		if (failed) {
+			failedCalls.increment();
+		}
+
+		if (tracked) {
+			latencies.record(nanoseconds);
+		}
+	}
+
+	/** The command has been refused before being executed. */
+	public void rejected() {
+		rejectedCalls.increment();
+	}
+
+	public long getCalls() {
+		return calls.sum();
+	}
+
+	public long getNanoseconds() {
+		return nanoseconds.sum();
+	}
+
+	public long getMicroseconds() {
+		return nanoseconds.sum() / 1000;
+	}
+
+	public double getMicrosecondsPerCall() {
+		final var calls = getCalls();
+		if (calls == 0) {
+			return 0;
+		}
+
+		return nanoseconds.sum() / 1000d / calls;
+	}
+
+	public long getRejectedCalls() {
+		return rejectedCalls.sum();
+	}
+
+	public long getFailedCalls() {
+		return failedCalls.sum();
+	}
+
+}
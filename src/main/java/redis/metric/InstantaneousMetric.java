@@ -0,0 +1,43 @@
+package redis.metric;
+
+/**
+ * Rate of a counter averaged over its last samples, such as <code>instantaneous_ops_per_sec</code>.
+ * <p>
+ * The counter is sampled periodically, by the cron of the server, so that reading the rate costs nothing to the ones updating the counter.
+ */
+public class InstantaneousMetric {
+
+	private static final int SAMPLES = 16;
+
+	private final double[] rates = new double[SAMPLES];
+	private int sampled;
+	private long lastTime = -1;
+	private long lastValue;
+
+	/** @param time from {@link System#nanoTime()} */
+	public synchronized void sample(long time, long value) {
+		if (lastTime != -1 && time > lastTime) {
+			rates[sampled % SAMPLES] = (value - lastValue) * 1_000_000_000d / (time - lastTime);
+			++sampled;
+		}
+
+		lastTime = time;
+		lastValue = value;
+	}
+
+	/** @return the average rate per second over the last samples */
+	public synchronized double perSecond() {
+		final var count = Math.min(sampled, SAMPLES);
+		if (count == 0) {
+			return 0;
+		}
+
+		var sum = 0d;
+		for (var index = 0; index < count; ++index) {
+			sum += rates[index];
+		}
+
+		return sum / count;
+	}
+
+}
@@ -0,0 +1,186 @@
+package redis.metric;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Log-linear histogram of durations in nanoseconds, in the spirit of HdrHistogram.
+ * <p>
+ * Every power of two is split into {@value #SUB_BUCKETS} linear buckets, which keeps the error under 1/{@value #SUB_BUCKETS} from a nanosecond up to two minutes, with a few hundred counters.
+ * <p>
+ * Counters are striped by thread: recording is a single atomic increment, on a stripe that is rarely shared. Stripes are only allocated once a thread of theirs records something.
+ */
+public class LatencyHistogram {
+
+	private static final int SUB_BUCKET_BITS = 4;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+	/** Longer durations are counted as this one. */
+	public static final long MAXIMUM = (1L << 37) - 1;
+	static final int BUCKETS = index(MAXIMUM) + 1;
+
+	private final AtomicReferenceArray<AtomicLongArray> stripes;
+	private final int mask;
+
+	public LatencyHistogram() {
+		this(Runtime.getRuntime().availableProcessors() * 2);
+	}
+
+	/** @param stripes rounded up to a power of two */
+	public LatencyHistogram(int stripes) {
+		final var size = stripes <= 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+
+		this.stripes = new AtomicReferenceArray<>(size);
+		this.mask = size - 1;
+	}
+
+	public void record(long nanoseconds) {
+		final var value = Math.min(Math.max(nanoseconds, 0), MAXIMUM);
+
+		stripe().getAndIncrement(index(value));
+	}
+
+	private AtomicLongArray stripe() {
+		final var id = Thread.currentThread().threadId();
+		final var index = ((int) (id ^ (id >>> 32)) * 0x9E3779B9 >>> 16) & mask;
+
+		final var stripe = stripes.get(index);
+		if (stripe != null) {
+			return stripe;
+		}
+
+		final var created = new AtomicLongArray(BUCKETS);
+		if (stripes.compareAndSet(index, null, created)) {
+			return created;
+		}
+
+		return stripes.get(index);
+	}
+
+	/** @return the counts summed over the stripes, the ones being recorded meanwhile may or may not be included */
+	public Snapshot snapshot() {
+		final var counts = new long[BUCKETS];
+
+		for (var index = 0; index < stripes.length(); ++index) {
+			final var stripe = stripes.get(index);
+			if (stripe == null) {
+				continue;
+			}
+
+			for (var bucket = 0; bucket < BUCKETS; ++bucket) {
+				counts[bucket] += stripe.get(bucket);
+			}
+		}
+
+		return new Snapshot(counts);
+	}
+
+	static int index(long value) {
+		if (value < SUB_BUCKETS) {
+			return (int) value;
+		}
+
+		final var exponent = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+		final var subBucket = (int) (value >>> exponent) & (SUB_BUCKETS - 1);
+
+		return (exponent + 1) * SUB_BUCKETS + subBucket;
+	}
+
+	/** @return the lowest value that is counted in the bucket */
+	static long lowerBound(int index) {
+		if (index < SUB_BUCKETS) {
+			return index;
+		}
+
+		final var exponent = index / SUB_BUCKETS - 1;
+		final var subBucket = index % SUB_BUCKETS;
+
+		return (long) (SUB_BUCKETS + subBucket) << exponent;
+	}
+
+	/** @return the highest value that is counted in the bucket */
+	static long upperBound(int index) {
+		return lowerBound(index + 1) - 1;
+	}
+
+	public static record Snapshot(
+		long[] counts
+	) {
+
+		public long count() {
+			var count = 0L;
+
+			for (final var value : counts) {
+				count += value;
+			}
+
+			return count;
+		}
+
+		/**
+		 * @param percentile between 0 and 100
+		 * @return the highest value of the bucket reaching the percentile, in nanoseconds, or <code>0</code> if nothing has been recorded
+		 */
+		public long percentile(double percentile) {
+			final var count = count();
+			if (count == 0) {
+				return 0;
+			}
+
+			final var rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+
+			var seen = 0L;
+			for (var index = 0; index < counts.length; ++index) {
+				seen += counts[index];
+
+				if (seen >= rank) {
+					return upperBound(index);
+				}
+			}
+
+			return MAXIMUM;
+		}
+
+		/** @return the number of values counted in the buckets that are entirely below the bound, in nanoseconds */
+		public long countBelow(long bound) {
+			var count = 0L;
+
+			for (var index = 0; index < counts.length && upperBound(index) < bound; ++index) {
+				count += counts[index];
+			}
+
+			return count;
+		}
+
+		/**
+		 * Cumulative counts at every power of two from 1024 nanoseconds, until everything is counted, as shown by Redis.
+		 *
+		 * @return the number of values below each bound, by bound in microseconds, only when it changes
+		 */
+		public Map<Long, Long> cumulativeMicroseconds() {
+			final var buckets = new LinkedHashMap<Long, Long>();
+			final var count = count();
+
+			var seen = 0L;
+			var previous = 0L;
+			var index = 0;
+
+			for (var bound = 1024L; seen < count; bound <<= 1) {
+				for (; index < counts.length && upperBound(index) < bound; ++index) {
+					seen += counts[index];
+				}
+
+				if (seen != previous) {
+					buckets.put(bound / 1000, seen);
+					previous = seen;
+				}
+			}
+
+			return buckets;
+		}
+
+	}
+
+}
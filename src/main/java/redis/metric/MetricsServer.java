@@ -0,0 +1,62 @@
+package redis.metric;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import redis.logging.Logger;
+
+/**
+ * HTTP listener serving the {@link PrometheusExporter metrics} on <code>/metrics</code>, on a port of its own.
+ * <p>
+ * Scrapes are handled one at a time by the thread of the listener, away from the threads serving the clients.
+ */
+public class MetricsServer implements Closeable {
+
+	private final PrometheusExporter exporter;
+	private final HttpServer server;
+
+	public MetricsServer(PrometheusExporter exporter, int port) throws IOException {
+		this.exporter = exporter;
+		this.server = HttpServer.create(new InetSocketAddress(port), 0);
+
+		server.createContext("/metrics", this::handle);
+	}
+
+	public void start() {
+		server.start();
+	}
+
+	public int getPort() {
+		return server.getAddress().getPort();
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		try (exchange) {
+			if (!"GET".equals(exchange.getRequestMethod())) {
+				exchange.getResponseHeaders().set("Allow", "GET");
+				exchange.sendResponseHeaders(405, -1);
+				return;
+			}
+
+			final var body = exporter.export().getBytes(StandardCharsets.UTF_8);
+
+			exchange.getResponseHeaders().set("Content-Type", PrometheusExporter.CONTENT_TYPE);
+			exchange.sendResponseHeaders(200, body.length);
+			exchange.getResponseBody().write(body);
+		} catch (RuntimeException exception) {
+			Logger.warning("metrics: scrape failed: %s", exception.getMessage());
+			throw exception;
+		}
+	}
+
+	@Override
+	public void close() {
+		server.stop(0);
+	}
+
+}
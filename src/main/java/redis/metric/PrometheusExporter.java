@@ -0,0 +1,228 @@
+package redis.metric;
+
+import java.lang.management.ManagementFactory;
+
+import lombok.RequiredArgsConstructor;
+import redis.Redis;
+
+/**
+ * Metrics of the server in the Prometheus text exposition format.
+ * <p>
+ * Every figure comes from a counter, a histogram or a concurrent collection that is read without locking, so that a scrape neither waits for nor delays a command.
+ */
+@RequiredArgsConstructor
+public class PrometheusExporter {
+
+	public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+	/** Upper bounds of the histogram buckets, from a microsecond to two minutes, in nanoseconds. */
+	private static final long[] BUCKETS = new long[28];
+
+	static {
+		for (var index = 0; index < BUCKETS.length; ++index) {
+			BUCKETS[index] = 1024L << index;
+		}
+	}
+
+	private final Redis redis;
+
+	public String export() {
+		final var builder = new StringBuilder(16 * 1024);
+
+		exportServer(builder);
+		exportCommands(builder);
+		exportKeyspace(builder);
+		exportPubSub(builder);
+		exportReplication(builder);
+		exportAppendOnlyFile(builder);
+		exportJvm(builder);
+
+		return builder.toString();
+	}
+
+	private void exportServer(StringBuilder builder) {
+		final var statistics = redis.getStatistics();
+
+		gauge(builder, "redis_uptime_seconds", "Seconds since the server started.", statistics.getUptimeSeconds());
+		gauge(builder, "redis_connected_clients", "Clients connected.", statistics.getConnectedClients());
+		gauge(builder, "redis_blocked_clients", "Clients waiting for a blocking command.", statistics.getBlockedClients());
+		counter(builder, "redis_connections_received_total", "Connections accepted.", statistics.getConnectionsReceived());
+		counter(builder, "redis_commands_processed_total", "Commands processed, including the rejected ones.", statistics.getCommandsProcessed());
+		counter(builder, "redis_net_input_bytes_total", "Bytes read from the clients.", statistics.getNetworkInputBytes());
+		counter(builder, "redis_net_output_bytes_total", "Bytes written to the clients.", statistics.getNetworkOutputBytes());
+	}
+
+	private void exportCommands(StringBuilder builder) {
+		final var commands = redis.getStatistics().getCommands();
+
+		header(builder, "redis_commands_total", "counter", "Calls of a command.");
+		commands.forEach((name, statistics) -> sample(builder, "redis_commands_total", label("cmd", name), statistics.getCalls()));
+
+		header(builder, "redis_commands_duration_seconds_total", "counter", "Time spent executing a command.");
+		commands.forEach((name, statistics) -> sample(builder, "redis_commands_duration_seconds_total", label("cmd", name), seconds(statistics.getNanoseconds())));
+
+		header(builder, "redis_commands_rejected_calls_total", "counter", "Calls of a command refused before its execution.");
+		commands.forEach((name, statistics) -> sample(builder, "redis_commands_rejected_calls_total", label("cmd", name), statistics.getRejectedCalls()));
+
+		header(builder, "redis_commands_failed_calls_total", "counter", "Calls of a command that answered with an error.");
+		commands.forEach((name, statistics) -> sample(builder, "redis_commands_failed_calls_total", label("cmd", name), statistics.getFailedCalls()));
+
+		header(builder, "redis_command_latency_seconds", "histogram", "Latency of a command, when latency-tracking is enabled.");
+		commands.forEach((name, statistics) -> {
+			final var snapshot = statistics.getLatencies().snapshot();
+
+			if (snapshot.count() != 0) {
+				histogram(builder, "redis_command_latency_seconds", label("cmd", name), snapshot, statistics.getNanoseconds());
+			}
+		});
+	}
+
+	private void exportKeyspace(StringBuilder builder) {
+		final var storage = redis.getStorage();
+
+		header(builder, "redis_keys", "gauge", "Keys by type, including the expired ones that have not been removed yet.");
+		storage.countByType().forEach((type, count) -> sample(builder, "redis_keys", label("type", type), count));
+
+		gauge(builder, "redis_keys_expiring", "Keys with an expiration.", storage.countExpiring());
+		counter(builder, "redis_keyspace_hits_total", "Lookups that found their key.", storage.getHits());
+		counter(builder, "redis_keyspace_misses_total", "Lookups that did not find their key.", storage.getMisses());
+		counter(builder, "redis_expired_keys_total", "Keys removed because they expired.", storage.getExpired());
+		gauge(builder, "redis_expired_stale_percent", "Estimate of the keys with an expiration that have expired but have not been removed yet.", storage.getActiveExpiry().getStalePercent());
+	}
+
+	private void exportPubSub(StringBuilder builder) {
+		final var pubSub = redis.getPubSub();
+
+		gauge(builder, "redis_pubsub_channels", "Channels with at least one subscriber.", pubSub.getChannelCount());
+		gauge(builder, "redis_pubsub_subscriptions", "Subscriptions of the clients to the channels.", pubSub.getSubscriptionCount());
+	}
+
+	private void exportReplication(StringBuilder builder) {
+		gauge(builder, "redis_replication_offset_bytes", "Replication offset, the bytes of commands processed by this server.", redis.getReplicationOffset().get());
+
+		/* the list of replicas is locked by the propagation, the registry of the clients is not */
+		final var replicas = redis.getClients().values()
+			.stream()
+			.filter((client) -> client.isReplica())
+			.toList();
+
+		gauge(builder, "redis_connected_replicas", "Replicas connected.", replicas.size());
+
+		header(builder, "redis_replica_offset_bytes", "gauge", "Bytes propagated to a replica since its synchronization.");
+		for (final var replica : replicas) {
+			sample(builder, "redis_replica_offset_bytes", replicaLabels(replica.getId(), replica.getAddress()), replica.getOffset());
+		}
+
+		header(builder, "redis_replica_acknowledged_offset_bytes", "gauge", "Last offset acknowledged by a replica.");
+		for (final var replica : replicas) {
+			final var acknowledged = replica.getAcknowledgedOffset();
+
+			if (acknowledged != -1) {
+				sample(builder, "redis_replica_acknowledged_offset_bytes", replicaLabels(replica.getId(), replica.getAddress()), acknowledged);
+			}
+		}
+	}
+
+	private void exportAppendOnlyFile(StringBuilder builder) {
+		final var manager = redis.getAppendOnlyFileManager();
+
+		gauge(builder, "redis_aof_enabled", "Whether the append only file is enabled.", manager != null ? 1 : 0);
+		if (manager == null) {
+			return;
+		}
+
+		header(builder, "redis_aof_write_latency_seconds", "histogram", "Latency of the writes to the append only file.");
+		histogram(builder, "redis_aof_write_latency_seconds", "", manager.getWriteLatencies().snapshot(), manager.getWriteNanoseconds());
+
+		header(builder, "redis_aof_fsync_latency_seconds", "histogram", "Latency of the flushes of the append only file to the disk.");
+		histogram(builder, "redis_aof_fsync_latency_seconds", "", manager.getFsyncLatencies().snapshot(), manager.getFsyncNanoseconds());
+	}
+
+	private void exportJvm(StringBuilder builder) {
+		final var memory = ManagementFactory.getMemoryMXBean();
+		final var heap = memory.getHeapMemoryUsage();
+		final var nonHeap = memory.getNonHeapMemoryUsage();
+
+		header(builder, "jvm_memory_used_bytes", "gauge", "Memory used by the JVM.");
+		sample(builder, "jvm_memory_used_bytes", label("area", "heap"), heap.getUsed());
+		sample(builder, "jvm_memory_used_bytes", label("area", "nonheap"), nonHeap.getUsed());
+
+		header(builder, "jvm_memory_committed_bytes", "gauge", "Memory committed by the JVM.");
+		sample(builder, "jvm_memory_committed_bytes", label("area", "heap"), heap.getCommitted());
+		sample(builder, "jvm_memory_committed_bytes", label("area", "nonheap"), nonHeap.getCommitted());
+
+		gauge(builder, "jvm_memory_max_bytes", "Maximum size of the heap, -1 if undefined.", heap.getMax());
+
+		final var collectors = ManagementFactory.getGarbageCollectorMXBeans();
+
+		header(builder, "jvm_gc_collections_total", "counter", "Collections done by a garbage collector.");
+		for (final var collector : collectors) {
+			sample(builder, "jvm_gc_collections_total", label("gc", collector.getName()), Math.max(0, collector.getCollectionCount()));
+		}
+
+		header(builder, "jvm_gc_collection_seconds_total", "counter", "Time spent in the collections of a garbage collector.");
+		for (final var collector : collectors) {
+			sample(builder, "jvm_gc_collection_seconds_total", label("gc", collector.getName()), Math.max(0, collector.getCollectionTime()) / 1000d);
+		}
+
+		gauge(builder, "jvm_threads_live", "Threads alive, virtual threads excluded.", ManagementFactory.getThreadMXBean().getThreadCount());
+	}
+
+	private static void gauge(StringBuilder builder, String name, String help, Number value) {
+		header(builder, name, "gauge", help);
+		sample(builder, name, "", value);
+	}
+
+	private static void counter(StringBuilder builder, String name, String help, Number value) {
+		header(builder, name, "counter", help);
+		sample(builder, name, "", value);
+	}
+
+	private static void header(StringBuilder builder, String name, String type, String help) {
+		builder.append("# HELP ").append(name).append(' ').append(help).append('\n');
+		builder.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+	}
+
+	/** @param labels already formatted by {@link #label(String, String)}, empty if none */
+	private static void sample(StringBuilder builder, String name, String labels, Number value) {
+		builder.append(name);
+
+		if (!labels.isEmpty()) {
+			builder.append('{').append(labels).append('}');
+		}
+
+		builder.append(' ').append(value).append('\n');
+	}
+
+	/** Cumulative buckets, as Prometheus expects them. */
+	static void histogram(StringBuilder builder, String name, String labels, LatencyHistogram.Snapshot snapshot, long sumNanoseconds) {
+		final var prefix = labels.isEmpty() ? "" : labels + ",";
+
+		for (final var bound : BUCKETS) {
+			sample(builder, name + "_bucket", prefix + label("le", String.valueOf(seconds(bound))), snapshot.countBelow(bound));
+		}
+
+		final var count = snapshot.count();
+		sample(builder, name + "_bucket", prefix + label("le", "+Inf"), count);
+		sample(builder, name + "_sum", labels, seconds(sumNanoseconds));
+		sample(builder, name + "_count", labels, count);
+	}
+
+	private static String replicaLabels(int id, String address) {
+		return label("id", String.valueOf(id)) + "," + label("addr", address);
+	}
+
+	static String label(String name, String value) {
+		final var escaped = value
+			.replace("\\", "\\\\")
+			.replace("\"", "\\\"")
+			.replace("\n", "\\n");
+
+		return "%s=\"%s\"".formatted(name, escaped);
+	}
+
+	private static double seconds(long nanoseconds) {
+		return nanoseconds / 1e9;
+	}
+
+}
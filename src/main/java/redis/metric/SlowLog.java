@@ -0,0 +1,163 @@
+package redis.metric;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntSupplier;
+
+import redis.type.RArray;
+import redis.type.RString;
+
+/**
+ * Last commands that took longer than <code>slowlog-log-slower-than</code>, as shown by SLOWLOG GET.
+ * <p>
+ * Entries are kept in a fixed-size ring: a writer claims an id with an atomic increment and replaces the oldest slot, without any lock. Readers skip the slots that have been overwritten meanwhile.
+ */
+public class SlowLog {
+
+	static final int MAXIMUM_ARGUMENTS = 32;
+	static final int MAXIMUM_ARGUMENT_LENGTH = 128;
+
+	private final IntSupplier capacity;
+	private final AtomicLong nextId = new AtomicLong();
+	private volatile AtomicReferenceArray<Entry> slots = new AtomicReferenceArray<>(0);
+	private volatile long firstId;
+
+	/** @param capacity read on every write, so that a change of <code>slowlog-max-len</code> applies at once */
+	public SlowLog(IntSupplier capacity) {
+		this.capacity = capacity;
+	}
+
+	/**
+	 * @param arguments truncated as Redis does, to a few arguments of a few bytes
+	 * @param address of the client, <code>null</code> if none
+	 * @param name of the client, <code>null</code> if none
+	 */
+	public void add(RArray<RString> arguments, long nanoseconds, String address, String name) {
+		final var slots = slots();
+		if (slots.length() == 0) {
+			return;
+		}
+
+		final var id = nextId.getAndIncrement();
+		final var entry = new Entry(
+			id,
+			System.currentTimeMillis() / 1000,
+			nanoseconds / 1000,
+			truncate(arguments),
+			address != null ? address : "",
+			name != null ? name : ""
+		);
+
+		final var index = (int) (id % slots.length());
+		while (true) {
+			final var existing = slots.get(index);
+
+			/* a writer that has been faster went around the ring */
+			if (existing != null && existing.id() > id) {
+				return;
+			}
+
+			if (slots.compareAndSet(index, existing, entry)) {
+				return;
+			}
+		}
+	}
+
+	/** @param count maximum number of entries, negative for all of them */
+	public List<Entry> entries(int count) {
+		final var slots = this.slots;
+		final var length = slots.length();
+		final var entries = new ArrayList<Entry>();
+
+		final var lastId = nextId.get() - 1;
+		final var oldestId = Math.max(firstId, lastId - length + 1);
+
+		for (var id = lastId; id >= oldestId && (count < 0 || entries.size() < count); --id) {
+			final var entry = slots.get((int) (id % length));
+
+			if (entry != null && entry.id() == id) {
+				entries.add(entry);
+			}
+		}
+
+		return entries;
+	}
+
+	public int size() {
+		return entries(-1).size();
+	}
+
+	public void reset() {
+		firstId = nextId.get();
+	}
+
+	/** Resize the ring if the capacity has changed, keeping the newest entries. */
+	private AtomicReferenceArray<Entry> slots() {
+		final var slots = this.slots;
+		final var capacity = Math.max(0, this.capacity.getAsInt());
+
+		if (slots.length() == capacity) {
+			return slots;
+		}
+
+		synchronized (this) {
+			if (this.slots.length() == capacity) {
+				return this.slots;
+			}
+
+			final var resized = new AtomicReferenceArray<Entry>(capacity);
+			for (final var entry : entries(capacity)) {
+				resized.set((int) (entry.id() % capacity), entry);
+			}
+
+			this.slots = resized;
+			return resized;
+		}
+	}
+
+	/** Keep the first arguments, and the first bytes of the longest ones, telling how much has been left out. */
+	static RArray<RString> truncate(RArray<RString> arguments) {
+		final var size = arguments.size();
+		final var kept = size > MAXIMUM_ARGUMENTS ? MAXIMUM_ARGUMENTS - 1 : size;
+		final var items = new ArrayList<RString>(Math.min(size, MAXIMUM_ARGUMENTS));
+
+		for (var index = 0; index < kept; ++index) {
+			final var argument = arguments.get(index);
+			final var length = argument.length();
+
+			if (length > MAXIMUM_ARGUMENT_LENGTH) {
+				final var suffix = "... (%d more bytes)".formatted(length - MAXIMUM_ARGUMENT_LENGTH).getBytes(StandardCharsets.US_ASCII);
+				final var bytes = Arrays.copyOf(argument.bytes(), MAXIMUM_ARGUMENT_LENGTH + suffix.length);
+				System.arraycopy(suffix, 0, bytes, MAXIMUM_ARGUMENT_LENGTH, suffix.length);
+
+				items.add(RString.bulk(bytes));
+			} else {
+				items.add(argument);
+			}
+		}
+
+		if (kept != size) {
+			items.add(RString.bulk("... (%d more arguments)".formatted(size - kept)));
+		}
+
+		return RArray.view(items);
+	}
+
+	/**
+	 * @param timestamp in seconds since the epoch
+	 * @param duration in microseconds
+	 */
+	public record Entry(
+		long id,
+		long timestamp,
+		long duration,
+		RArray<RString> arguments,
+		String address,
+		String name
+	) {}
+
+}
@@ -0,0 +1,194 @@
+package redis.metric;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/** Server wide counters, cheap to update from any thread. */
+public class Statistics {
+
+	private final long startedAt = System.nanoTime();
+	private final LongAdder flushes = new LongAdder();
+	private final LongAdder flushedCommands = new LongAdder();
+	private final LongAdder outputBufferLimitDisconnections = new LongAdder();
+	private final LongAdder connectionsReceived = new LongAdder();
+	private final LongAdder connectedClients = new LongAdder();
+	private final LongAdder blockedClients = new LongAdder();
+	private final LongAdder commandsProcessed = new LongAdder();
+	private final LongAdder networkInputBytes = new LongAdder();
+	private final LongAdder networkOutputBytes = new LongAdder();
+	private final Map<String, CommandStatistics> commands = new ConcurrentHashMap<>();
+
+	private final InstantaneousMetric operations = new InstantaneousMetric();
+	private final InstantaneousMetric networkInput = new InstantaneousMetric();
+	private final InstantaneousMetric networkOutput = new InstantaneousMetric();
+	private volatile long peakMemory;
+
+	/** Responses to <code>commands</code> commands have been sent with a single flush. */
+	public void flushed(int commands) {
+		flushes.increment();
+		flushedCommands.add(commands);
+	}
+
+	/** A client has been disconnected because it could not keep up with its output. */
+	public void outputBufferLimitReached() {
+		outputBufferLimitDisconnections.increment();
+	}
+
+	public void clientConnected() {
+		connectionsReceived.increment();
+		connectedClients.increment();
+	}
+
+	public void clientDisconnected() {
+		connectedClients.decrement();
+	}
+
+	/** A client waits for a blocking command, until {@link #clientUnblocked()}. */
+	public void clientBlocked() {
+		blockedClients.increment();
+	}
+
+	public void clientUnblocked() {
+		blockedClients.decrement();
+	}
+
+	public void received(long bytes) {
+		networkInputBytes.add(bytes);
+	}
+
+	public void sent(long bytes) {
+		networkOutputBytes.add(bytes);
+	}
+
+	/**
+	 * @param command name from the command table, the same instance every time
+	 * @param failed whether the command answered with an error
+	 * @param tracked whether the duration is also recorded in the latency histogram of the command
+	 */
+	public void executed(String command, long nanoseconds, boolean failed, boolean tracked) {
+		commandsProcessed.increment();
+		of(command).executed(nanoseconds, failed, tracked);
+	}
+
+	/** @param command name from the command table, refused before being executed */
+	public void rejected(String command) {
+		commandsProcessed.increment();
+		of(command).rejected();
+	}
+
+	private CommandStatistics of(String command) {
+		final var statistics = commands.get(command);
+		if (statistics != null) {
+			return statistics;
+		}
+
+		return commands.computeIfAbsent(command, (__) -> new CommandStatistics());
+	}
+
+	/** Take a sample of the instantaneous metrics, must be called periodically from a single thread. */
+	public void sample() {
+		final var now = System.nanoTime();
+
+		operations.sample(now, getCommandsProcessed());
+		networkInput.sample(now, getNetworkInputBytes());
+		networkOutput.sample(now, getNetworkOutputBytes());
+
+		peakMemory = Math.max(peakMemory, getUsedMemory());
+	}
+
+	/** @return the statistics of the commands that have been called at least once, by name */
+	public Map<String, CommandStatistics> getCommands() {
+		return new TreeMap<>(commands);
+	}
+
+	/** @return the latencies of the commands that have been tracked at least once, by name */
+	public Map<String, LatencyHistogram.Snapshot> getLatencies() {
+		final var snapshots = new TreeMap<String, LatencyHistogram.Snapshot>();
+
+		commands.forEach((command, statistics) -> {
+			final var snapshot = statistics.getLatencies().snapshot();
+
+			if (snapshot.count() != 0) {
+				snapshots.put(command, snapshot);
+			}
+		});
+
+		return snapshots;
+	}
+
+	public long getUptimeSeconds() {
+		return TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - startedAt);
+	}
+
+	public long getConnectionsReceived() {
+		return connectionsReceived.sum();
+	}
+
+	public long getConnectedClients() {
+		return connectedClients.sum();
+	}
+
+	public long getBlockedClients() {
+		return blockedClients.sum();
+	}
+
+	public long getCommandsProcessed() {
+		return commandsProcessed.sum();
+	}
+
+	public double getOperationsPerSecond() {
+		return operations.perSecond();
+	}
+
+	public long getNetworkInputBytes() {
+		return networkInputBytes.sum();
+	}
+
+	public long getNetworkOutputBytes() {
+		return networkOutputBytes.sum();
+	}
+
+	public double getNetworkInputKilobytesPerSecond() {
+		return networkInput.perSecond() / 1024;
+	}
+
+	public double getNetworkOutputKilobytesPerSecond() {
+		return networkOutput.perSecond() / 1024;
+	}
+
+	/** @return the bytes of the heap that are in use, garbage included */
+	public long getUsedMemory() {
+		final var runtime = Runtime.getRuntime();
+
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	public long getPeakMemory() {
+		return Math.max(peakMemory, getUsedMemory());
+	}
+
+	public long getFlushes() {
+		return flushes.sum();
+	}
+
+	public long getFlushedCommands() {
+		return flushedCommands.sum();
+	}
+
+	public long getOutputBufferLimitDisconnections() {
+		return outputBufferLimitDisconnections.sum();
+	}
+
+	public double getAverageCommandsPerFlush() {
+		final var flushes = getFlushes();
+		if (flushes == 0) {
+			return 0;
+		}
+
+		return (double) getFlushedCommands() / flushes;
+	}
+
+}
@@ -9,6 +9,7 @@ import java.nio.file.Path;
 import java.util.Arrays;
 
 import lombok.RequiredArgsConstructor;
+import redis.logging.Logger;
 import redis.store.Cell;
 import redis.store.Storage;
 import redis.type.RString;
@@ -138,7 +139,9 @@ public class RdbLoader {
 	}
 
 	public void log(Object... content) {
-		System.out.println("rdb: " + Arrays.toString(content));
+		if (Logger.isDebugEnabled()) {
+			Logger.debug("rdb: %s", Arrays.toString(content));
+		}
 	}
 
 	public int readUnsignedByte() throws IOException {
@@ -190,8 +193,7 @@ public class RdbLoader {
 			});
 		}
 
-		final var content = inputStream.readNBytes(length);
-		return RString.bulk(new String(content, StandardCharsets.US_ASCII));
+		return RString.bulk(inputStream.readNBytes(length));
 	}
 
 	public void skip(int length) throws IOException {
@@ -2,13 +2,23 @@ package redis.serial;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 
 import lombok.RequiredArgsConstructor;
 import redis.type.RArray;
+import redis.type.RBigNumber;
 import redis.type.RBlob;
+import redis.type.RBoolean;
+import redis.type.RDouble;
 import redis.type.RError;
+import redis.type.RInteger;
+import redis.type.RMap;
 import redis.type.RNil;
+import redis.type.RPush;
+import redis.type.RSet;
 import redis.type.RString;
 import redis.type.RValue;
 
@@ -32,6 +42,17 @@ public class Deserializer {
 			case Protocol.SIMPLE_STRING -> parseString();
 			case Protocol.SIMPLE_ERROR -> new RError(parseString());
 			case Protocol.BULK_STRING -> likelyBlob ? parseBulkBlob() : parseBulkString();
+			case Protocol.INTEGER -> RInteger.of(Integer.parseInt(parseUntilEndOfLine()));
+			case Protocol.NULL -> {
+				parseUntilEndOfLine();
+				yield RNil.SIMPLE;
+			}
+			case Protocol.BOOLEAN -> RBoolean.of("t".equals(parseUntilEndOfLine()));
+			case Protocol.DOUBLE -> RDouble.of(parseDouble(parseUntilEndOfLine()));
+			case Protocol.BIG_NUMBER -> RBigNumber.of(new BigInteger(parseUntilEndOfLine()));
+			case Protocol.MAP -> parseMap();
+			case Protocol.SET -> RSet.view(parseItems());
+			case Protocol.PUSH -> new RPush(parseItems());
 
 			default -> {
 				// System.out.print((char) first);
@@ -60,19 +81,29 @@ public class Deserializer {
 		return RString.simple(builder.toString());
 	}
 
-	private RString parseBulkString() throws IOException {
+	private RValue parseBulkString() throws IOException {
 		final var length = parseLength();
+
+		if (length == -1) {
+			return RNil.BULK;
+		}
+
 		final var bytes = inputStream.readNBytes(length);
 
 		inputStream.read();
 		inputStream.read();
 		// TODO validate
 
-		return RString.bulk(new String(bytes));
+		return RString.bulk(bytes);
 	}
 
-	private RBlob parseBulkBlob() throws IOException {
+	private RValue parseBulkBlob() throws IOException {
 		final var length = parseLength();
+
+		if (length == -1) {
+			return RNil.BULK;
+		}
+
 		final var bytes = inputStream.readNBytes(length);
 
 		return RBlob.bulk(bytes);
@@ -97,6 +128,37 @@ public class Deserializer {
 		return RArray.view(array);
 	}
 
+	private ArrayList<RValue> parseItems() throws IOException {
+		final var length = parseLength();
+
+		final var items = new ArrayList<RValue>(length);
+		for (int index = 0; index < length; index++) {
+			items.add(read());
+		}
+
+		return items;
+	}
+
+	private RMap parseMap() throws IOException {
+		final var length = parseLength();
+
+		final var entries = new LinkedHashMap<RValue, RValue>();
+		for (int index = 0; index < length; index++) {
+			entries.put(read(), read());
+		}
+
+		return RMap.view(entries);
+	}
+
+	private static double parseDouble(String line) {
+		return switch (line) {
+			case "inf" -> Double.POSITIVE_INFINITY;
+			case "-inf" -> Double.NEGATIVE_INFINITY;
+			case "nan" -> Double.NaN;
+			default -> Double.parseDouble(line);
+		};
+	}
+
 	private int parseLength() throws IOException {
 		final var line = parseUntilEndOfLine();
 
@@ -131,4 +193,85 @@ public class Deserializer {
 		return builder.toString();
 	}
 
-}
\ No newline at end of file
+	/**
+	 * Look for a whole value at the start of the bytes, without reading them.
+	 * Malformed bytes count as a whole value, reading them will fail without waiting.
+	 *
+	 * @return whether {@link #read()} would return without waiting for more bytes
+	 */
+	public static boolean containsValue(ByteBuffer buffer) {
+		return skipValue(buffer, buffer.position()) != -1;
+	}
+
+	/** @return the index after the value starting at the index, <code>-1</code> if it is not whole */
+	private static int skipValue(ByteBuffer buffer, int index) {
+		final var limit = buffer.limit();
+		if (index >= limit) {
+			return -1;
+		}
+
+		final var lineEnd = skipLine(buffer, index);
+		if (lineEnd == -1) {
+			return -1;
+		}
+
+		final var type = buffer.get(index);
+		switch (type) {
+			case Protocol.BULK_STRING -> {
+				final var length = parseLength(buffer, index + 1);
+				if (length < 0) {
+					return lineEnd;
+				}
+
+				final var end = lineEnd + length + 2;
+				return end <= limit ? (int) end : -1;
+			}
+
+			case Protocol.ARRAY, Protocol.SET, Protocol.PUSH, Protocol.MAP -> {
+				final var count = parseLength(buffer, index + 1) * (type == Protocol.MAP ? 2 : 1);
+
+				var next = lineEnd;
+				for (var item = 0L; item < count; ++item) {
+					next = skipValue(buffer, next);
+					if (next == -1) {
+						return -1;
+					}
+				}
+
+				return next;
+			}
+
+			default -> {
+				return lineEnd;
+			}
+		}
+	}
+
+	/** @return the index after the next <code>\n</code>, <code>-1</code> if there is none */
+	private static int skipLine(ByteBuffer buffer, int index) {
+		final var limit = buffer.limit();
+
+		for (; index < limit; ++index) {
+			if (buffer.get(index) == '\n') {
+				return index + 1;
+			}
+		}
+
+		return -1;
+	}
+
+	/** @return the number up to the end of the line, digits only, <code>-1</code> if negative */
+	private static long parseLength(ByteBuffer buffer, int index) {
+		if (buffer.get(index) == '-') {
+			return -1;
+		}
+
+		var value = 0L;
+		for (byte digit; (digit = buffer.get(index)) >= '0' && digit <= '9' && value < Integer.MAX_VALUE; ++index) {
+			value = value * 10 + (digit - '0');
+		}
+
+		return value;
+	}
+
+}
@@ -0,0 +1,364 @@
+package redis.serial;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+import redis.command.Arguments;
+import redis.type.RArray;
+import redis.type.RError;
+import redis.type.RNil;
+import redis.type.RString;
+import redis.type.RValue;
+
+/**
+ * Same as the {@link Deserializer}, but working on buffers that may only hold a part of a value.
+ * <p>
+ * Consumed bytes are never looked at again: the state of a partial value is kept between calls, so the caller is free to discard them.
+ */
+public class IncrementalDeserializer {
+
+	/** Longest bulk string accepted, the default <code>proto-max-bulk-len</code> of Redis. */
+	static final int MAXIMUM_BULK_LENGTH = 512 * 1024 * 1024;
+
+	private static final RError INVALID_BULK_LENGTH = new RError("ERR Protocol error: invalid bulk length");
+
+	private State state = State.TYPE;
+	private byte type;
+
+	private final StringBuilder line = new StringBuilder();
+	private int length;
+	private int digits;
+	private boolean negative;
+
+	private byte[] bulk;
+	private int bulkFilled;
+
+	private final Deque<ArrayFrame> frames = new ArrayDeque<>();
+
+	/** Position after the CRLF of the last length read by {@link #readLength(byte[], int, int)}. */
+	private int lengthEnd;
+
+	/**
+	 * Consume the buffer until a value is complete.
+	 *
+	 * @return the value, or <code>null</code> if the buffer has been consumed without completing it
+	 */
+	public RValue read(ByteBuffer buffer) {
+		while (buffer.hasRemaining()) {
+			final var value = step(buffer);
+
+			if (value != null) {
+				final var completed = complete(value);
+
+				if (completed != null) {
+					return completed;
+				}
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Point the arguments to a whole array of bulk strings, without copying anything.
+	 * <p>
+	 * Nothing is consumed if the request is not complete yet, or is anything else: it must then go through {@link #read(ByteBuffer)}.
+	 *
+	 * @param arguments cleared first, and only valid until the content of the buffer changes
+	 * @return whether the request has been consumed
+	 */
+	public boolean readArguments(ByteBuffer buffer, Arguments arguments) {
+		if (isPending() || !buffer.hasArray()) {
+			return false;
+		}
+
+		final var array = buffer.array();
+		final var base = buffer.arrayOffset();
+		final var limit = base + buffer.limit();
+		var position = base + buffer.position();
+
+		if (position >= limit || array[position] != Protocol.ARRAY) {
+			return false;
+		}
+
+		final var count = readLength(array, position + 1, limit);
+		if (count <= 0) {
+			return false;
+		}
+
+		position = lengthEnd;
+		arguments.clear();
+
+		for (var index = 0; index < count; ++index) {
+			if (position >= limit || array[position] != Protocol.BULK_STRING) {
+				return false;
+			}
+
+			final var length = readLength(array, position + 1, limit);
+			if (length < 0) {
+				return false;
+			}
+
+			if (length > MAXIMUM_BULK_LENGTH) {
+				throw INVALID_BULK_LENGTH.asException();
+			}
+
+			final var start = lengthEnd;
+			position = start + length + 2;
+
+			if (position > limit) {
+				return false;
+			}
+
+			if (array[position - 2] != '\r' || array[position - 1] != '\n') {
+				throw new IllegalArgumentException("expected CRLF after bulk string");
+			}
+
+			arguments.add(array, start, length);
+		}
+
+		buffer.position(position - base);
+		return true;
+	}
+
+	/** @return the positive length, or <code>-1</code> if it is not there yet or is not a plain number */
+	private int readLength(byte[] array, int position, int limit) {
+		var length = 0;
+		var digits = 0;
+
+		for (; position < limit; ++position) {
+			final var value = array[position];
+
+			if (value == '\r') {
+				if (digits == 0 || position + 1 >= limit || array[position + 1] != '\n') {
+					return -1;
+				}
+
+				lengthEnd = position + 2;
+				return length;
+			}
+
+			if (value < '0' || value > '9' || digits == 9) {
+				return -1;
+			}
+
+			length = length * 10 + (value - '0');
+			++digits;
+		}
+
+		return -1;
+	}
+
+	/** @return whether a value has been started but is not complete yet */
+	public boolean isPending() {
+		return state != State.TYPE || !frames.isEmpty();
+	}
+
+	private RValue step(ByteBuffer buffer) {
+		return switch (state) {
+			case TYPE -> {
+				type = buffer.get();
+
+				switch (type) {
+					case Protocol.ARRAY, Protocol.BULK_STRING -> {
+						length = 0;
+						digits = 0;
+						negative = false;
+						state = State.LENGTH;
+					}
+
+					case Protocol.SIMPLE_STRING, Protocol.SIMPLE_ERROR -> {
+						line.setLength(0);
+						state = State.LINE;
+					}
+
+					default -> throw new IllegalArgumentException("Unexpected value: %s (%s)".formatted(type, (char) type));
+				}
+
+				yield null;
+			}
+
+			case LENGTH -> {
+				final var value = buffer.get();
+
+				if (value == '\r') {
+					state = State.LENGTH_END;
+				} else if (value == '-' && digits == 0 && !negative) {
+					negative = true;
+				} else if (value >= '0' && value <= '9') {
+					length = Math.addExact(Math.multiplyExact(length, 10), value - '0');
+					++digits;
+				} else {
+					throw new IllegalArgumentException("invalid length character: %s".formatted((char) value));
+				}
+
+				yield null;
+			}
+
+			case LENGTH_END -> {
+				expect(buffer, '\n');
+
+				if (negative) {
+					if (length != 1) {
+						throw new IllegalArgumentException("invalid length: -%d".formatted(length));
+					}
+
+					length = -1;
+				}
+
+				yield onLength(buffer);
+			}
+
+			case LINE -> {
+				while (buffer.hasRemaining()) {
+					final var value = buffer.get();
+
+					if (value == '\r') {
+						state = State.LINE_END;
+						break;
+					}
+
+					line.append((char) (value & 0xff));
+				}
+
+				yield null;
+			}
+
+			case LINE_END -> {
+				expect(buffer, '\n');
+
+				final var string = RString.simple(line.toString());
+				yield type == Protocol.SIMPLE_ERROR ? new RError(string) : string;
+			}
+
+			case BULK -> {
+				final var count = Math.min(buffer.remaining(), bulk.length - bulkFilled);
+				buffer.get(bulk, bulkFilled, count);
+				bulkFilled += count;
+
+				if (bulkFilled == bulk.length) {
+					state = State.BULK_CARRIAGE_RETURN;
+				}
+
+				yield null;
+			}
+
+			case BULK_CARRIAGE_RETURN -> {
+				expect(buffer, '\r');
+				state = State.BULK_LINE_FEED;
+
+				yield null;
+			}
+
+			case BULK_LINE_FEED -> {
+				expect(buffer, '\n');
+
+				final var bytes = bulk;
+				bulk = null;
+
+				yield RString.bulk(bytes);
+			}
+		};
+	}
+
+	private RValue onLength(ByteBuffer buffer) {
+		if (type == Protocol.ARRAY) {
+			if (length == -1) {
+				return RNil.ARRAY;
+			}
+
+			if (length == 0) {
+				return RArray.empty();
+			}
+
+			frames.push(new ArrayFrame(length));
+			state = State.TYPE;
+
+			return null;
+		}
+
+		if (length == -1) {
+			return RNil.BULK;
+		}
+
+		if (length > MAXIMUM_BULK_LENGTH) {
+			throw INVALID_BULK_LENGTH.asException();
+		}
+
+		/* fast path, everything is already there */
+		if (buffer.hasArray() && buffer.remaining() >= length + 2) {
+			final var position = buffer.position();
+			final var offset = buffer.arrayOffset() + position;
+			final var bytes = Arrays.copyOfRange(buffer.array(), offset, offset + length);
+
+			buffer.position(position + length);
+			expect(buffer, '\r');
+			expect(buffer, '\n');
+
+			return RString.bulk(bytes);
+		}
+
+		bulk = new byte[length];
+		bulkFilled = 0;
+		state = length == 0 ? State.BULK_CARRIAGE_RETURN : State.BULK;
+
+		return null;
+	}
+
+	private RValue complete(RValue value) {
+		state = State.TYPE;
+
+		while (true) {
+			final var frame = frames.peek();
+			if (frame == null) {
+				return value;
+			}
+
+			frame.items.add(value);
+			if (frame.items.size() != frame.length) {
+				return null;
+			}
+
+			frames.pop();
+			value = RArray.view(frame.items);
+		}
+	}
+
+	private static void expect(ByteBuffer buffer, char expected) {
+		final var value = buffer.get();
+
+		if (value != expected) {
+			throw new IllegalArgumentException("expected %s but got %s".formatted((int) expected, value));
+		}
+	}
+
+	private enum State {
+
+		TYPE,
+		LENGTH,
+		LENGTH_END,
+		LINE,
+		LINE_END,
+		BULK,
+		BULK_CARRIAGE_RETURN,
+		BULK_LINE_FEED;
+
+	}
+
+	private static class ArrayFrame {
+
+		private final int length;
+		private final List<RValue> items;
+
+		private ArrayFrame(int length) {
+			this.length = length;
+			this.items = new ArrayList<>(Math.min(length, 1024));
+		}
+
+	}
+
+}
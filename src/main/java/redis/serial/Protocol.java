@@ -5,6 +5,9 @@ import lombok.experimental.UtilityClass;
 @UtilityClass
 public class Protocol {
 
+	public static final int RESP2 = 2;
+	public static final int RESP3 = 3;
+
 	public static final char ARRAY = '*';
 	public static final char NULL = '_';
 	public static final char SIMPLE_STRING = '+';
@@ -12,6 +15,13 @@ public class Protocol {
 	public static final char INTEGER = ':';
 	public static final char BULK_STRING = '$';
 
+	public static final char MAP = '%';
+	public static final char SET = '~';
+	public static final char DOUBLE = ',';
+	public static final char BOOLEAN = '#';
+	public static final char BIG_NUMBER = '(';
+	public static final char PUSH = '>';
+
 	public static final String CRLF = "\r\n";
 
-}
\ No newline at end of file
+}
@@ -3,35 +3,80 @@ package redis.serial;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
-import java.util.List;
+import java.util.Collection;
+import java.util.Map;
 
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import redis.type.RArray;
+import redis.type.RBigNumber;
 import redis.type.RBlob;
+import redis.type.RBoolean;
+import redis.type.RDouble;
 import redis.type.RError;
 import redis.type.RInteger;
+import redis.type.RMap;
 import redis.type.RNil;
 import redis.type.ROk;
+import redis.type.RPush;
+import redis.type.RSet;
 import redis.type.RString;
 import redis.type.RValue;
+import redis.util.NumberUtils;
 
+/**
+ * Encode values into an internal buffer, handed to the output stream once per {@link #write(RValue)}.
+ * <p>
+ * Small numbers and constant replies are pre-encoded. Strings are copied from their bytes, and generated text such as numbers is copied into the buffer without an intermediate <code>byte[]</code> when it is ASCII.
+ * <p>
+ * RESP3 types are downgraded to their RESP2 equivalent unless the {@link #getVersion() version} has been raised.
+ */
 @RequiredArgsConstructor
 public class Serializer {
 
-	private static final byte[] CRLF_BYTES = Protocol.CRLF.getBytes();
-	private static final byte[] OK_BYTES = "OK".getBytes(StandardCharsets.US_ASCII);
-	private static final byte[] QUEUED_BYTES = "QUEUED".getBytes(StandardCharsets.US_ASCII);
-	private static final byte[] MINUS_ONE_BYTES = { '-', '1' };
+	private static final int BUFFER_SIZE = 8 * 1024;
+	private static final int MAX_INLINE_STRING_LENGTH = BUFFER_SIZE / 2;
+
+	private static final int CACHED_NUMBERS = 10_000;
+	private static final byte[][] NUMBER_BYTES = new byte[CACHED_NUMBERS + 1][];
+
+	private static final byte[] CRLF_BYTES = Protocol.CRLF.getBytes(StandardCharsets.US_ASCII);
+	private static final byte[] OK_BYTES = reply(Protocol.SIMPLE_STRING, "OK");
+	private static final byte[] QUEUED_BYTES = reply(Protocol.SIMPLE_STRING, "QUEUED");
+	private static final byte[] NULL_BULK_BYTES = reply(Protocol.BULK_STRING, "-1");
+	private static final byte[] NULL_ARRAY_BYTES = reply(Protocol.ARRAY, "-1");
+	private static final byte[] NIL_BYTES = reply(Protocol.NULL, "");
+	private static final byte[] EMPTY_BULK_BYTES = "$0\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+	private static final byte[] TRUE_BYTES = reply(Protocol.BOOLEAN, "t");
+	private static final byte[] FALSE_BYTES = reply(Protocol.BOOLEAN, "f");
+
+	static {
+		for (var number = 0; number <= CACHED_NUMBERS; ++number) {
+			NUMBER_BYTES[number] = String.valueOf(number).getBytes(StandardCharsets.US_ASCII);
+		}
+	}
 
 	private final OutputStream outputStream;
+	private final byte[] buffer = new byte[BUFFER_SIZE];
+	private int position;
+	private @Getter @Setter int version = Protocol.RESP2;
 
 	public void flush() throws IOException {
 		outputStream.flush();
 	}
 
 	public void write(RValue value) throws IOException {
+		encode(value);
+		drain();
+	}
+
+	private void encode(RValue value) throws IOException {
 		switch (value) {
-			case RArray<?> array -> writeArray(array.items());
+			case RArray<?> array -> writeAggregate(Protocol.ARRAY, array.items());
+			case RSet set -> writeAggregate(resp3() ? Protocol.SET : Protocol.ARRAY, set.items());
+			case RPush push -> writeAggregate(resp3() ? Protocol.PUSH : Protocol.ARRAY, push.items());
+			case RMap map -> writeMap(map.entries());
 			case RBlob blob -> {
 				if (!blob.bulk()) {
 					throw new UnsupportedOperationException("non bulk blob are not supported");
@@ -40,104 +85,255 @@ public class Serializer {
 
 				writeBulkBytes(blob.content());
 			}
-			case RError error -> writeError(error);
+			case RError error -> writeLine(Protocol.SIMPLE_ERROR, error.message().bytes());
 			case RInteger integer -> writeSimpleInteger(integer.value());
-			case RNil.SIMPLE -> {
-				writeNil();
+			case RDouble number -> writeDouble(number.value());
+			case RBigNumber number -> {
+				if (resp3()) {
+					writeLine(Protocol.BIG_NUMBER, number.value().toString());
+				} else {
+					writeBulkString(number.value().toString());
+				}
 			}
-			case RNil.BULK -> {
-				writeNullBulk();
+			case RBoolean bool -> {
+				if (resp3()) {
+					writeBytes(bool.value() ? TRUE_BYTES : FALSE_BYTES);
+				} else {
+					writeSimpleInteger(bool.value() ? 1 : 0);
+				}
 			}
-			case RNil.ARRAY -> {
-				writeNullArray();
+			case RNil nil -> {
+				if (resp3()) {
+					writeBytes(NIL_BYTES);
+				} else {
+					/* enum constants as labels of a pattern switch are resolved with Class.forName() on every call */
+					switch (nil) {
+						case SIMPLE -> writeBytes(NIL_BYTES);
+						case BULK -> writeBytes(NULL_BULK_BYTES);
+						case ARRAY -> writeBytes(NULL_ARRAY_BYTES);
+					}
+				}
 			}
 			case ROk ok -> {
 				switch (ok) {
-					case OK -> writeOk();
-					case QUEUED -> writeQueued();
+					case OK -> writeBytes(OK_BYTES);
+					case QUEUED -> writeBytes(QUEUED_BYTES);
 				}
 			}
 			case RString string -> {
 				if (string.bulk()) {
-					writeBulkString(string.content());
+					writeBulkString(string.bytes());
 				} else {
-					writeSimpleString(string.content());
+					writeLine(Protocol.SIMPLE_STRING, string.bytes());
 				}
 			}
 		}
 	}
 
-	private void writeSimpleString(String string) throws IOException {
-		outputStream.write(Protocol.SIMPLE_STRING);
-		outputStream.write(string.getBytes());
-		outputStream.write(CRLF_BYTES);
+	private void writeLine(char type, String string) throws IOException {
+		if (string.length() <= MAX_INLINE_STRING_LENGTH) {
+			reserve(string.length() + 3);
+			buffer[position++] = (byte) type;
+
+			if (writeAscii(string)) {
+				writeBytes(CRLF_BYTES);
+				return;
+			}
+
+			--position;
+		}
+
+		writeByte(type);
+		writeBytes(string.getBytes(StandardCharsets.UTF_8));
+		writeBytes(CRLF_BYTES);
+	}
+
+	private void writeLine(char type, byte[] bytes) throws IOException {
+		writeByte(type);
+		writeBytes(bytes);
+		writeBytes(CRLF_BYTES);
 	}
 
-	private void writeSimpleInteger(Integer integer) throws IOException {
-		outputStream.write(Protocol.INTEGER);
-		outputStream.write(String.valueOf(integer).getBytes());
-		outputStream.write(CRLF_BYTES);
+	private void writeSimpleInteger(int integer) throws IOException {
+		writeHeader(Protocol.INTEGER, integer);
 	}
 
 	private void writeBulkString(String string) throws IOException {
-		writeBulkBytes(string.getBytes());
-		outputStream.write(CRLF_BYTES);
+		final var length = string.length();
+
+		if (length == 0) {
+			writeBytes(EMPTY_BULK_BYTES);
+			return;
+		}
+
+		if (length <= MAX_INLINE_STRING_LENGTH) {
+			/* header and content are known to fit, so the buffer can be rewound if the string is not ASCII */
+			reserve(length + 32);
+			final var mark = position;
+
+			writeHeader(Protocol.BULK_STRING, length);
+			if (writeAscii(string)) {
+				writeBytes(CRLF_BYTES);
+				return;
+			}
+
+			position = mark;
+		}
+
+		writeBulkBytes(string.getBytes(StandardCharsets.UTF_8));
+		writeBytes(CRLF_BYTES);
+	}
+
+	private void writeBulkString(byte[] bytes) throws IOException {
+		if (bytes.length == 0) {
+			writeBytes(EMPTY_BULK_BYTES);
+			return;
+		}
+
+		writeBulkBytes(bytes);
+		writeBytes(CRLF_BYTES);
 	}
 
 	private void writeBulkBytes(byte[] bytes) throws IOException {
-		outputStream.write(Protocol.BULK_STRING);
+		writeHeader(Protocol.BULK_STRING, bytes.length);
+		writeBytes(bytes);
+	}
 
-		outputStream.write(String.valueOf(bytes.length).getBytes());
-		outputStream.write(CRLF_BYTES);
+	private void writeAggregate(char type, Collection<? extends RValue> items) throws IOException {
+		writeHeader(type, items.size());
 
-		outputStream.write(bytes);
+		for (final var element : items) {
+			encode(element);
+		}
 	}
 
-	private void writeNullBulk() throws IOException {
-		outputStream.write(Protocol.BULK_STRING);
-		outputStream.write(MINUS_ONE_BYTES);
-		outputStream.write(CRLF_BYTES);
+	private void writeMap(Map<? extends RValue, ? extends RValue> entries) throws IOException {
+		if (resp3()) {
+			writeHeader(Protocol.MAP, entries.size());
+		} else {
+			writeHeader(Protocol.ARRAY, entries.size() * 2L);
+		}
+
+		for (final var entry : entries.entrySet()) {
+			encode(entry.getKey());
+			encode(entry.getValue());
+		}
 	}
-	
-	private void writeNullArray() throws IOException {
-		outputStream.write(Protocol.ARRAY);
-		outputStream.write(MINUS_ONE_BYTES);
-		outputStream.write(CRLF_BYTES);
+
+	private void writeDouble(double value) throws IOException {
+		final String string;
+		if (Double.isNaN(value)) {
+			string = "nan";
+		} else if (Double.isInfinite(value)) {
+			string = value > 0 ? "inf" : "-inf";
+		} else {
+			string = NumberUtils.formatDoubleNoScientific(value);
+		}
+
+		if (resp3()) {
+			writeLine(Protocol.DOUBLE, string);
+		} else {
+			writeBulkString(string);
+		}
+	}
+
+	private boolean resp3() {
+		return version == Protocol.RESP3;
 	}
 
-	private void writeArray(List<? extends RValue> list) throws IOException {
-		outputStream.write(Protocol.ARRAY);
-		outputStream.write(String.valueOf(list.size()).getBytes());
-		outputStream.write(CRLF_BYTES);
+	/** Write <code>{type}{number}\r\n</code>. */
+	private void writeHeader(char type, long number) throws IOException {
+		reserve(24);
+		buffer[position++] = (byte) type;
 
-		for (final var element : list) {
-			write(element);
+		if (number >= 0 && number <= CACHED_NUMBERS) {
+			final var bytes = NUMBER_BYTES[(int) number];
+			System.arraycopy(bytes, 0, buffer, position, bytes.length);
+			position += bytes.length;
+		} else {
+			writeDigits(number);
 		}
+
+		buffer[position++] = '\r';
+		buffer[position++] = '\n';
 	}
 
-	private void writeError(RError error) throws IOException {
-		final var message = error.message();
+	private void writeDigits(long number) {
+		if (number == Long.MIN_VALUE) {
+			final var bytes = String.valueOf(number).getBytes(StandardCharsets.US_ASCII);
+			System.arraycopy(bytes, 0, buffer, position, bytes.length);
+			position += bytes.length;
+			return;
+		}
+
+		if (number < 0) {
+			buffer[position++] = '-';
+			number = -number;
+		}
+
+		var digits = 1;
+		for (var rest = number / 10; rest != 0; rest /= 10) {
+			++digits;
+		}
 
-		outputStream.write(Protocol.SIMPLE_ERROR);
-		outputStream.write(message.getBytes());
-		outputStream.write(CRLF_BYTES);
+		position += digits;
+		for (var index = position - 1; index >= position - digits; --index) {
+			buffer[index] = (byte) ('0' + number % 10);
+			number /= 10;
+		}
 	}
 
-	private void writeOk() throws IOException {
-		outputStream.write(Protocol.SIMPLE_STRING);
-		outputStream.write(OK_BYTES);
-		outputStream.write(CRLF_BYTES);
+	/** Copy the string if it is only made of ASCII characters, the room must already be reserved. */
+	private boolean writeAscii(String string) {
+		final var length = string.length();
+
+		for (var index = 0; index < length; ++index) {
+			final var character = string.charAt(index);
+			if (character >= 0x80) {
+				return false;
+			}
+
+			buffer[position + index] = (byte) character;
+		}
+
+		position += length;
+		return true;
+	}
+
+	private void writeByte(char value) throws IOException {
+		reserve(1);
+		buffer[position++] = (byte) value;
+	}
+
+	private void writeBytes(byte[] bytes) throws IOException {
+		if (bytes.length > buffer.length - position) {
+			drain();
+
+			if (bytes.length > buffer.length) {
+				outputStream.write(bytes);
+				return;
+			}
+		}
+
+		System.arraycopy(bytes, 0, buffer, position, bytes.length);
+		position += bytes.length;
 	}
 
-	private void writeQueued() throws IOException {
-		outputStream.write(Protocol.SIMPLE_STRING);
-		outputStream.write(QUEUED_BYTES);
-		outputStream.write(CRLF_BYTES);
+	private void reserve(int length) throws IOException {
+		if (length > buffer.length - position) {
+			drain();
+		}
+	}
+
+	private void drain() throws IOException {
+		if (position != 0) {
+			outputStream.write(buffer, 0, position);
+			position = 0;
+		}
 	}
 
-	private void writeNil() throws IOException {
-		outputStream.write(Protocol.NULL);
-		outputStream.write(CRLF_BYTES);
+	private static byte[] reply(char type, String content) {
+		return (type + content + Protocol.CRLF).getBytes(StandardCharsets.US_ASCII);
 	}
 
-}
\ No newline at end of file
+}
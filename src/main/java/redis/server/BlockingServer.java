@@ -0,0 +1,46 @@
+package redis.server;
+
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadFactory;
+
+import redis.Redis;
+import redis.client.BlockingSocketClient;
+
+/** Thread-per-connection server, every client gets its own virtual thread. */
+public class BlockingServer implements Server {
+
+	private final ThreadFactory threadFactory = Thread.ofVirtual().factory();
+	private final Redis redis;
+	private final List<ServerSocketChannel> serverChannels = new ArrayList<>();
+
+	public BlockingServer(Redis redis, List<SocketAddress> addresses) throws IOException {
+		this.redis = redis;
+
+		for (final var address : addresses) {
+			serverChannels.add(Listeners.open(address));
+		}
+	}
+
+	@Override
+	public void serve() throws IOException {
+		Listeners.serve(serverChannels, (channel) -> {
+			final var client = new BlockingSocketClient(channel, redis);
+
+			final var thread = threadFactory.newThread(client);
+			thread.start();
+
+			// FIXME codecrafters tester is failing because of out of order...
+			// Thread.sleep(100l);
+		});
+	}
+
+	@Override
+	public void close() throws IOException {
+		Listeners.close(serverChannels);
+	}
+
+}
@@ -0,0 +1,81 @@
+package redis.server;
+
+import java.io.IOException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+
+import redis.client.ChannelClient;
+import redis.logging.Logger;
+
+/** Single thread multiplexing many non-blocking channels with a {@link Selector}. */
+public class EventLoop implements Runnable, Executor {
+
+	private final Selector selector;
+	private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+	private volatile Thread thread;
+
+	public EventLoop() throws IOException {
+		this.selector = Selector.open();
+	}
+
+	@Override
+	public void run() {
+		thread = Thread.currentThread();
+
+		try {
+			while (selector.isOpen()) {
+				selector.select(this::process);
+				runTasks();
+			}
+		} catch (ClosedSelectorException exception) {
+			/* closed */
+		} catch (IOException exception) {
+			Logger.warning("event loop: %s", exception.getMessage());
+		}
+	}
+
+	private void process(SelectionKey key) {
+		final var client = (ChannelClient) key.attachment();
+
+		if (key.isValid() && key.isReadable()) {
+			client.onReadable();
+		}
+
+		if (key.isValid() && key.isWritable()) {
+			client.onWritable();
+		}
+	}
+
+	private void runTasks() {
+		Runnable task;
+		while ((task = tasks.poll()) != null) {
+			task.run();
+		}
+	}
+
+	/** Run a task on the loop thread, after the current select. */
+	@Override
+	public void execute(Runnable task) {
+		tasks.add(task);
+		selector.wakeup();
+	}
+
+	public boolean inEventLoop() {
+		return Thread.currentThread() == thread;
+	}
+
+	/** Must be called from the loop thread. */
+	public SelectionKey register(SelectableChannel channel, int operations, ChannelClient client) throws IOException {
+		return channel.register(selector, operations, client);
+	}
+
+	public void close() throws IOException {
+		selector.close();
+	}
+
+}
@@ -0,0 +1,89 @@
+package redis.server;
+
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import redis.Redis;
+import redis.client.ChannelClient;
+import redis.logging.Logger;
+
+/**
+ * Server spreading its connections over a few {@link EventLoop}s, one platform thread each.
+ * <p>
+ * Commands are either executed by the loop that read them, or all by the same command executor.
+ */
+public class EventLoopServer implements Server {
+
+	private final Redis redis;
+	private final List<ServerSocketChannel> serverChannels = new ArrayList<>();
+	private final EventLoop[] eventLoops;
+	private final ExecutorService commandExecutor;
+	private int next;
+
+	public EventLoopServer(Redis redis, List<SocketAddress> addresses, int eventLoopCount) throws IOException {
+		this(redis, addresses, eventLoopCount, null);
+	}
+
+	/** @param commandExecutor single thread executing every command but the blocking ones, closed with the server */
+	public EventLoopServer(Redis redis, List<SocketAddress> addresses, int eventLoopCount, ExecutorService commandExecutor) throws IOException {
+		this.redis = redis;
+		this.commandExecutor = commandExecutor;
+
+		for (final var address : addresses) {
+			serverChannels.add(Listeners.open(address));
+		}
+
+		this.eventLoops = new EventLoop[eventLoopCount];
+		for (var index = 0; index < eventLoopCount; ++index) {
+			final var eventLoop = new EventLoop();
+			eventLoops[index] = eventLoop;
+
+			Thread.ofPlatform()
+				.name("event-loop-" + index)
+				.daemon()
+				.start(eventLoop);
+		}
+	}
+
+	@Override
+	public void serve() throws IOException {
+		Listeners.serve(serverChannels, (channel) -> {
+			channel.configureBlocking(false);
+
+			final var eventLoop = nextEventLoop();
+			eventLoop.execute(() -> {
+				try {
+					new ChannelClient(channel, redis, eventLoop, commandExecutor).register();
+				} catch (IOException exception) {
+					Logger.warning("could not register channel: %s", exception.getMessage());
+				}
+			});
+		});
+	}
+
+	/** Listeners may accept from different threads. */
+	private synchronized EventLoop nextEventLoop() {
+		final var eventLoop = eventLoops[next];
+		next = (next + 1) % eventLoops.length;
+
+		return eventLoop;
+	}
+
+	@Override
+	public void close() throws IOException {
+		Listeners.close(serverChannels);
+
+		for (final var eventLoop : eventLoops) {
+			eventLoop.close();
+		}
+
+		if (commandExecutor != null) {
+			commandExecutor.shutdown();
+		}
+	}
+
+}
@@ -0,0 +1,95 @@
+package redis.server;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.StandardSocketOptions;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.AsynchronousCloseException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.util.List;
+
+import lombok.experimental.UtilityClass;
+import redis.logging.Logger;
+
+/** Listening channels shared by the servers, either TCP or Unix domain sockets. */
+@UtilityClass
+class Listeners {
+
+	public static ServerSocketChannel open(SocketAddress address) throws IOException {
+		if (address instanceof UnixDomainSocketAddress unixAddress) {
+			/* a previous instance may not have cleaned up */
+			Files.deleteIfExists(unixAddress.getPath());
+
+			final var channel = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+			channel.bind(address, Server.BACKLOG);
+
+			return channel;
+		}
+
+		final var channel = ServerSocketChannel.open();
+		channel.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+		channel.bind(address, Server.BACKLOG);
+
+		return channel;
+	}
+
+	public static void configure(SocketChannel channel) throws IOException {
+		if (channel.getLocalAddress() instanceof InetSocketAddress) {
+			channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+		}
+	}
+
+	/** Accept on the first channel from the calling thread, and on the others from their own thread. */
+	public static void serve(List<ServerSocketChannel> channels, Acceptor acceptor) throws IOException {
+		for (final var channel : channels.subList(1, channels.size())) {
+			Thread.ofPlatform()
+				.name("acceptor-" + channel.getLocalAddress())
+				.daemon()
+				.start(() -> {
+					try {
+						accept(channel, acceptor);
+					} catch (IOException exception) {
+						Logger.warning("could not accept: %s", exception.getMessage());
+					}
+				});
+		}
+
+		accept(channels.getFirst(), acceptor);
+	}
+
+	private static void accept(ServerSocketChannel serverChannel, Acceptor acceptor) throws IOException {
+		try {
+			while (serverChannel.isOpen()) {
+				final var channel = serverChannel.accept();
+				configure(channel);
+
+				acceptor.accept(channel);
+			}
+		} catch (AsynchronousCloseException exception) {
+			/* closed */
+		}
+	}
+
+	public static void close(List<ServerSocketChannel> channels) throws IOException {
+		for (final var channel : channels) {
+			final var address = channel.getLocalAddress();
+			channel.close();
+
+			if (address instanceof UnixDomainSocketAddress unixAddress) {
+				Files.deleteIfExists(unixAddress.getPath());
+			}
+		}
+	}
+
+	@FunctionalInterface
+	public interface Acceptor {
+
+		void accept(SocketChannel channel) throws IOException;
+
+	}
+
+}
@@ -0,0 +1,14 @@
+package redis.server;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+public interface Server extends Closeable {
+
+	/** Number of pending connections the kernel may hold before they are accepted. */
+	public static final int BACKLOG = 511;
+
+	/** Accept connections until the server is closed. */
+	void serve() throws IOException;
+
+}
@@ -0,0 +1,85 @@
+package redis.store;
+
+/**
+ * Remove the keys that have expired without being read again, in the spirit of the active expire cycle of Redis.
+ * <p>
+ * Instead of sampling the keys with an expiration, every cycle walks the {@link ExpiryIndex} from the soonest deadline, and stops at the first key that is not due, or once its share of the time is spent.
+ * A cycle therefore only looks at the keys that have expired, and the ones it leaves are the first of the next cycle.
+ * <p>
+ * The <code>active-expire-effort</code>, from 1 to 10, raises the time spent.
+ * <p>
+ * Cycles must be run from a single thread.
+ */
+public class ActiveExpiry {
+
+	static final int TIME_PERCENT = 25;
+
+	/* the clock is only read every few keys */
+	private static final int TIME_CHECK_MASK = 15;
+
+	/* keys left counted to estimate the stale percentage after a cycle that ran out of time */
+	private static final int STALE_COUNT_LIMIT = 1000;
+
+	private final Storage storage;
+
+	/* written by the cycles, read by INFO */
+	private volatile double stalePercent;
+	private volatile long timeCapReached;
+	private volatile long nanoseconds;
+
+	ActiveExpiry(Storage storage) {
+		this.storage = storage;
+	}
+
+	/**
+	 * @param periodNanoseconds time between two cycles, of which only a share is spent
+	 * @param activeExpireEffort from 1 to 10
+	 */
+	public void cycle(long periodNanoseconds, int activeExpireEffort) {
+		final var effort = Math.clamp(activeExpireEffort, 1, 10) - 1;
+		final var timeLimit = periodNanoseconds * (TIME_PERCENT + 2 * effort) / 100;
+
+		final var start = System.nanoTime();
+		final var index = storage.getExpiryIndex();
+		final var iterator = index.due(System.currentTimeMillis()).iterator();
+		var visited = 0;
+		var left = 0;
+
+		while (iterator.hasNext()) {
+			storage.expireIfNeeded(iterator.next().key());
+
+			if ((++visited & TIME_CHECK_MASK) == 0 && System.nanoTime() - start > timeLimit) {
+				++timeCapReached;
+
+				while (iterator.hasNext() && left < STALE_COUNT_LIMIT) {
+					iterator.next();
+					++left;
+				}
+
+				break;
+			}
+		}
+
+		nanoseconds += System.nanoTime() - start;
+
+		/* a running average, as Redis does, so that a single cycle does not swing it */
+		final var size = index.size();
+		final var current = size == 0 ? 0 : Math.min(100, left * 100d / size);
+		stalePercent = current * 0.05 + stalePercent * 0.95;
+	}
+
+	/** @return an estimate of the percentage of the keys with an expiration that have expired but have not been removed yet */
+	public double getStalePercent() {
+		return stalePercent;
+	}
+
+	/** @return the number of cycles that have been stopped because they had spent their time */
+	public long getTimeCapReached() {
+		return timeCapReached;
+	}
+
+	public long getMilliseconds() {
+		return nanoseconds / 1_000_000;
+	}
+
+}
@@ -0,0 +1,33 @@
+package redis.store;
+
+/** Options of EXPIRE and its variants, deciding whether the expiration of a key is changed. */
+public enum ExpireCondition {
+
+	ALWAYS,
+	/** Only if the key has no expiration. */
+	NX,
+	/** Only if the key has an expiration. */
+	XX,
+	/** Only if the new expiration is after the current one, a key without one never expires. */
+	GT,
+	/** Only if the new expiration is before the current one, a key without one never expires. */
+	LT,
+	/** Only if the key has an expiration and the new one is before it, as XX and LT together. */
+	XX_LT;
+
+	/**
+	 * @param current deadline of the key, <code>-1</code> if none
+	 * @param next new deadline of the key
+	 */
+	public boolean test(long current, long next) {
+		return switch (this) {
+			case ALWAYS -> true;
+			case NX -> current == -1;
+			case XX -> current != -1;
+			case GT -> current != -1 && next > current;
+			case LT -> current == -1 || next < current;
+			case XX_LT -> current != -1 && next < current;
+		};
+	}
+
+}
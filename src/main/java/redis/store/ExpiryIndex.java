@@ -0,0 +1,91 @@
+package redis.store;
+
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import redis.type.RString;
+
+/**
+ * Keys with an expiration, ordered by their deadline, so that the keys that are due are found without looking at the others.
+ * <p>
+ * An entry is only changed while the cell of its key is being computed, so that a key has at most one entry, with the deadline of its cell.
+ * Updating a key costs <code>O(log n)</code>, and listing the keys that are due costs <code>O(log n + expired)</code>.
+ */
+class ExpiryIndex {
+
+	private static final RString SMALLEST_KEY = RString.empty(true);
+
+	private final ConcurrentSkipListSet<Deadline> deadlines = new ConcurrentSkipListSet<>();
+
+	/* the size of a skip list is counted by walking it */
+	private final AtomicInteger size = new AtomicInteger();
+
+	/* the deadlines are summed from a recent time, so that the sum of millions of them does not overflow */
+	private final long origin = System.currentTimeMillis();
+	private final AtomicLong sumOfDeadlines = new AtomicLong();
+
+	/**
+	 * @param previousUntil deadline of the previous cell, <code>-1</code> if none
+	 * @param nextUntil deadline of the next cell, <code>-1</code> if none
+	 */
+	void update(RString key, long previousUntil, long nextUntil) {
+		if (previousUntil == nextUntil) {
+			return;
+		}
+
+		if (previousUntil != -1 && deadlines.remove(new Deadline(previousUntil, key))) {
+			size.decrementAndGet();
+			sumOfDeadlines.addAndGet(origin - previousUntil);
+		}
+
+		if (nextUntil != -1 && deadlines.add(new Deadline(nextUntil, key))) {
+			size.incrementAndGet();
+			sumOfDeadlines.addAndGet(nextUntil - origin);
+		}
+	}
+
+	/** @return the keys whose deadline is before the time, soonest first, that can be iterated while they change */
+	NavigableSet<Deadline> due(long timeMillis) {
+		return deadlines.headSet(new Deadline(timeMillis, SMALLEST_KEY), false);
+	}
+
+	int size() {
+		return size.get();
+	}
+
+	/** @return the average time left before the keys expire, <code>0</code> if there is none */
+	long averageTtl(long timeMillis) {
+		final var size = this.size.get();
+		if (size == 0) {
+			return 0;
+		}
+
+		return Math.max(0, origin + sumOfDeadlines.get() / size - timeMillis);
+	}
+
+	void clear() {
+		deadlines.clear();
+		size.set(0);
+		sumOfDeadlines.set(0);
+	}
+
+	record Deadline(
+		long until,
+		RString key
+	) implements Comparable<Deadline> {
+
+		@Override
+		public int compareTo(Deadline other) {
+			final var comparison = Long.compare(until, other.until);
+			if (comparison != 0) {
+				return comparison;
+			}
+
+			return key.compareTo(other.key);
+		}
+
+	}
+
+}
@@ -0,0 +1,243 @@
+package redis.store;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import redis.client.SocketClient;
+import redis.logging.Logger;
+import redis.type.RArray;
+import redis.type.RString;
+import redis.type.RValue;
+import redis.util.RingBuffer;
+
+/**
+ * Clients that receive every command executed by the server, as shown by MONITOR.
+ * <p>
+ * A command is formatted once into a line shared by every monitor, and queued to each of them in a bounded {@link RingBuffer}. The queues are emptied by a virtual thread per monitor, so that the thread executing the command never writes to a monitor itself.
+ * A monitor that cannot keep up loses the commands that do not fit in its queue, and the loss is logged once it catches up. Its thread is parked meanwhile, and woken up by the client when some of its output has been sent.
+ * <p>
+ * Without monitors, feeding a command is a single volatile read.
+ */
+public class Monitors {
+
+	private static final Monitor[] EMPTY = new Monitor[0];
+
+	/** Commands queued to a monitor before they are dropped. */
+	public static final int QUEUE_CAPACITY = 4096;
+
+	/** Bytes waiting to be sent to a monitor before it is considered too slow. */
+	public static final int MAXIMUM_PENDING_OUTPUT = 1024 * 1024;
+
+	private static final int BATCH_SIZE = 64;
+
+	private volatile Monitor[] monitors = EMPTY;
+	private final LongAdder dropped = new LongAdder();
+
+	/** @return whether the client has been added, <code>false</code> if it already was a monitor */
+	public synchronized boolean add(SocketClient client) {
+		for (final var monitor : monitors) {
+			if (monitor.client == client) {
+				return false;
+			}
+		}
+
+		final var monitor = new Monitor(client);
+		client.setOutputListener(monitor::resume);
+
+		final var added = Arrays.copyOf(monitors, monitors.length + 1);
+		added[monitors.length] = monitor;
+
+		monitors = added;
+		return true;
+	}
+
+	public synchronized void remove(SocketClient client) {
+		final var remaining = new ArrayList<Monitor>(monitors.length);
+
+		for (final var monitor : monitors) {
+			if (monitor.client == client) {
+				monitor.removed = true;
+				client.setOutputListener(null);
+				monitor.resume();
+			} else {
+				remaining.add(monitor);
+			}
+		}
+
+		if (remaining.size() != monitors.length) {
+			monitors = remaining.isEmpty() ? EMPTY : remaining.toArray(Monitor[]::new);
+		}
+	}
+
+	public boolean isEmpty() {
+		return monitors.length == 0;
+	}
+
+	public boolean contains(SocketClient client) {
+		for (final var monitor : monitors) {
+			if (monitor.client == client) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/** @return the number of commands that have not been sent to a monitor too slow to receive them */
+	public long getDropped() {
+		return dropped.sum();
+	}
+
+	/**
+	 * @param address of the client that sent the command
+	 * @param arguments of the command, including its name
+	 */
+	public void feed(String address, RArray<RString> arguments) {
+		final var monitors = this.monitors;
+		if (monitors.length == 0) {
+			return;
+		}
+
+		final var line = RString.simple(format(System.currentTimeMillis(), address, arguments));
+
+		for (final var monitor : monitors) {
+			monitor.offer(line);
+		}
+	}
+
+	/** @return <code>1339518083.107412 [0 127.0.0.1:60866] "SET" "key" "value"</code>, with the arguments escaped as Redis does */
+	static byte[] format(long timeMillis, String address, RArray<RString> arguments) {
+		final var output = new ByteArrayOutputStream(64);
+		output.writeBytes("%d.%06d [0 %s]".formatted(timeMillis / 1000, (timeMillis % 1000) * 1000, address).getBytes(StandardCharsets.UTF_8));
+
+		for (final var argument : arguments.items()) {
+			output.write(' ');
+			output.write('"');
+
+			for (final var value : argument.bytes()) {
+				switch (value) {
+					case '\\' -> output.writeBytes(new byte[] { '\\', '\\' });
+					case '"' -> output.writeBytes(new byte[] { '\\', '"' });
+					case '\n' -> output.writeBytes(new byte[] { '\\', 'n' });
+					case '\r' -> output.writeBytes(new byte[] { '\\', 'r' });
+					case '\t' -> output.writeBytes(new byte[] { '\\', 't' });
+					case 7 -> output.writeBytes(new byte[] { '\\', 'a' });
+					case '\b' -> output.writeBytes(new byte[] { '\\', 'b' });
+					default -> {
+						if (value >= ' ' && value < 127) {
+							output.write(value);
+						} else {
+							output.writeBytes("\\x%02x".formatted(value & 0xff).getBytes(StandardCharsets.US_ASCII));
+						}
+					}
+				}
+			}
+
+			output.write('"');
+		}
+
+		return output.toByteArray();
+	}
+
+	private class Monitor {
+
+		private final SocketClient client;
+		private final RingBuffer<RValue> queue = new RingBuffer<>(QUEUE_CAPACITY);
+		private final AtomicBoolean scheduled = new AtomicBoolean();
+		private final AtomicLong dropped = new AtomicLong();
+		private volatile boolean removed;
+		private volatile Thread paused;
+
+		private Monitor(SocketClient client) {
+			this.client = client;
+		}
+
+		private void offer(RValue line) {
+			if (!queue.offer(line)) {
+				dropped.incrementAndGet();
+				Monitors.this.dropped.increment();
+				return;
+			}
+
+			if (scheduled.compareAndSet(false, true)) {
+				Thread.ofVirtual().start(this::drain);
+			}
+		}
+
+		/** Only one drain runs at a time, the queue has a single consumer. */
+		private void drain() {
+			final var batch = new ArrayList<RValue>(BATCH_SIZE);
+			var wasPaused = false;
+
+			while (!removed) {
+				/* let the queue fill up, and the next commands be dropped, until the client catches up */
+				if (client.getPendingOutputSize() > MAXIMUM_PENDING_OUTPUT) {
+					wasPaused = true;
+					paused = Thread.currentThread();
+
+					/* checked again, the output may have been sent before the client could know whom to wake up */
+					if (client.getPendingOutputSize() > MAXIMUM_PENDING_OUTPUT && !removed) {
+						LockSupport.park(this);
+					}
+
+					paused = null;
+
+					if (Thread.currentThread().isInterrupted()) {
+						scheduled.set(false);
+						break;
+					}
+
+					continue;
+				}
+
+				if (wasPaused) {
+					wasPaused = false;
+					reportDropped();
+				}
+
+				for (RValue line; batch.size() < BATCH_SIZE && (line = queue.poll()) != null;) {
+					batch.add(line);
+				}
+
+				if (!batch.isEmpty()) {
+					client.notifySubscriptions(List.copyOf(batch));
+					batch.clear();
+					continue;
+				}
+
+				scheduled.set(false);
+
+				/* a command may have been queued before the flag was cleared */
+				if (queue.isEmpty() || !scheduled.compareAndSet(false, true)) {
+					break;
+				}
+			}
+
+			reportDropped();
+		}
+
+		/** Wake up the drain if it is waiting for the client to catch up. */
+		private void resume() {
+			final var thread = paused;
+			if (thread != null) {
+				LockSupport.unpark(thread);
+			}
+		}
+
+		private void reportDropped() {
+			final var lost = dropped.getAndSet(0);
+			if (lost != 0) {
+				Logger.warning("%d: monitor too slow, %d commands dropped", client.getId(), lost);
+			}
+		}
+
+	}
+
+}
@@ -10,7 +10,7 @@ import java.util.Set;
 import lombok.Locked;
 import lombok.experimental.UtilityClass;
 import redis.client.SocketClient;
-import redis.type.RArray;
+import redis.type.RPush;
 import redis.type.RString;
 import redis.type.RValue;
 
@@ -19,13 +19,21 @@ public class PubSub {
 	private final Map<String, Set<SocketClient>> subscribers = new HashMap<>();
 	private final Map<SocketClient, Set<String>> subscribedKeys = new IdentityHashMap<>();
 
+	/* only written under the lock, and read without it by the metrics */
+	private volatile int channelCount;
+	private volatile int subscriptionCount;
+
 	@Locked
 	public int subscribe(SocketClient client, RString key) {
 		final var clients = subscribers.computeIfAbsent(key.content(), (__) -> Collections.newSetFromMap(new IdentityHashMap<>()));
-		clients.add(client);
+		if (clients.add(client)) {
+			++subscriptionCount;
+			channelCount = subscribers.size();
+		}
 
 		final var keys = subscribedKeys.computeIfAbsent(client, (__) -> new HashSet<>());
 		keys.add(key.content());
+		client.setSubscribed(true);
 
 		return keys.size();
 	}
@@ -43,12 +51,17 @@ public class PubSub {
 
 		removeClient(client, key.content());
 
+		if (keys.isEmpty()) {
+			subscribedKeys.remove(client);
+			client.setSubscribed(false);
+		}
+
 		return keys.size();
 	}
 
 	@Locked
 	public void unsubscribeAll(SocketClient client) {
-		final var keys = subscribedKeys.get(client);
+		final var keys = subscribedKeys.remove(client);
 		if (keys == null) {
 			return;
 		}
@@ -56,21 +69,42 @@ public class PubSub {
 		for (final var key : keys) {
 			removeClient(client, key);
 		}
+
+		client.setSubscribed(false);
 	}
 
 	private void removeClient(SocketClient client, String key) {
 		final var clients = subscribers.get(key);
-		clients.remove(client);
+		if (clients.remove(client)) {
+			--subscriptionCount;
+		}
 
 		if (clients.isEmpty()) {
 			subscribers.remove(key);
+			channelCount = subscribers.size();
 		}
 	}
 
-	public boolean isSubscribed(SocketClient socketClient) {
-		final var keys = subscribedKeys.get(socketClient);
+	/** @return the number of channels with at least one subscriber, without locking */
+	public int getChannelCount() {
+		return channelCount;
+	}
 
-		return keys != null && !keys.isEmpty();
+	/** @return the number of subscriptions of every client to every channel, without locking */
+	public int getSubscriptionCount() {
+		return subscriptionCount;
+	}
+
+	@Locked
+	public int getSubscriptionCount(SocketClient client) {
+		final var keys = subscribedKeys.get(client);
+
+		return keys != null ? keys.size() : 0;
+	}
+
+	/** @return whether the client is subscribed to a channel, without locking */
+	public boolean isSubscribed(SocketClient socketClient) {
+		return socketClient.isSubscribed();
 	}
 
 	@Locked
@@ -80,7 +114,7 @@ public class PubSub {
 			return 0;
 		}
 
-		final var payload = RArray.of(
+		final var payload = RPush.of(
 			MessageKeys.MESSAGE,
 			RString.bulk(key),
 			value
@@ -3,71 +3,105 @@ package redis.store;
 import java.time.Duration;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
 
-import redis.Redis;
+import lombok.Getter;
 import redis.client.SocketClient;
+import redis.logging.Logger;
 import redis.type.RArray;
 import redis.type.RString;
 import redis.type.SortedSet;
+import redis.type.stream.Stream;
+import redis.util.ScanIndex;
 
 public class Storage {
 
-	private final Map<String, Cell<Object>> map = new ConcurrentHashMap<>();
-	private final Map<String, SortedSet> sortedSets = new ConcurrentHashMap<>();
-	private final Map<String, Set<SocketClient>> watchedKeys = new ConcurrentHashMap<>();
+	private final Map<RString, Cell<Object>> map = new ConcurrentHashMap<>();
+	private final Map<RString, SortedSet> sortedSets = new ConcurrentHashMap<>();
+	private final Map<RString, Set<SocketClient>> watchedKeys = new ConcurrentHashMap<>();
+
+	private final ExpiryIndex expiryIndex = new ExpiryIndex();
+	private final ScanIndex<RString> scanIndex = new ScanIndex<>();
+	private final @Getter ActiveExpiry activeExpiry = new ActiveExpiry(this);
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder expired = new LongAdder();
 
 	public void clear() {
 		map.clear();
+		expiryIndex.clear();
+		scanIndex.clear();
 	}
 
 	public void set(RString key, Object value) {
-		final var keyString = key.content();
-
-		map.put(keyString, Cell.with(value));
-		// System.out.println(map);
+		store(key, Cell.with(value));
 
-		notifyWatchedKeys(keyString);
+		notifyWatchedKeys(key);
 	}
 
 	public void set(RString key, Object value, Duration expiration) {
-		final var keyString = key.content();
-
-		map.put(keyString, Cell.expiry(value, expiration.toMillis()));
-		// System.out.println(map);
+		store(key, Cell.expiry(value, expiration.toMillis()));
 
-		notifyWatchedKeys(keyString);
+		notifyWatchedKeys(key);
 	}
 
 	public void put(RString key, Cell<Object> cell) {
-		put(key.content(), cell);
+		store(key, cell);
+
+		notifyWatchedKeys(key);
 	}
 
-	public void put(String key, Cell<Object> cell) {
-		map.put(key, cell);
+	private void store(RString key, Cell<Object> cell) {
+		map.compute(
+			key,
+			(key_, previous) -> {
+				track(key_, previous, cell);
+				return cell;
+			}
+		);
+	}
 
-		notifyWatchedKeys(key);
+	/** Keep the indexes in line with the cells, must be called while the cell of the key is being computed. */
+	private void track(RString key, Cell<Object> previous, Cell<Object> next) {
+		if (previous == null && next != null) {
+			scanIndex.add(key);
+		} else if (previous != null && next == null) {
+			scanIndex.remove(key);
+		}
+
+		expiryIndex.update(
+			key,
+			previous != null ? previous.until() : -1,
+			next != null ? next.until() : -1
+		);
 	}
 
-	public boolean addToSet(String key, RString value, double score) {
+	public boolean addToSet(RString key, RString value, double score) {
 		final var sortedSet = sortedSets.computeIfAbsent(key, (__) -> new SortedSet());
 
 		return sortedSet.add(value.content(), score);
 	}
 
+	/** The expiration of the key, if any, is kept. */
 	@SuppressWarnings("unchecked")
 	public <T, R> R compute(RString key, Function<T, R> remappingFunction) {
 		return ((Cell<R>) map.compute(
-			key.content(),
-			(key_, cell) -> {
+			key,
+			(key_, previous) -> {
+				var cell = previous;
 				if (cell != null && cell.isExpired()) {
+					expired.increment();
 					cell = null;
 				}
 
 				final var value = cell != null ? (T) cell.value() : null;
 
-				final var newCell = Cell.<Object>with(remappingFunction.apply(value));
+				final var newCell = new Cell<Object>(remappingFunction.apply(value), cell != null ? cell.until() : -1);
+				track(key_, previous, newCell);
 				notifyWatchedKeys(key_);
 
 				return newCell;
@@ -76,46 +110,253 @@ public class Storage {
 	}
 
 	public Object get(RString key) {
-		return get(key.content());
+		final var cell = lookup(key);
+
+		if (cell != null) {
+			hits.increment();
+			return cell.value();
+		}
+
+		misses.increment();
+		return null;
 	}
 
-	public Object get(String key) {
-		final var cell = map.computeIfPresent(
+	/** @return whether the key existed, expired keys excluded */
+	public boolean delete(RString key) {
+		final var removed = new boolean[1];
+
+		map.computeIfPresent(
 			key,
-			(key_, value) -> {
-				if (value.isExpired()) {
+			(key_, cell) -> {
+				if (cell.isExpired()) {
+					expired.increment();
+				} else {
+					removed[0] = true;
+				}
+
+				track(key_, cell, null);
+				return null;
+			}
+		);
+
+		if (sortedSets.remove(key) != null) {
+			removed[0] = true;
+		}
+
+		if (removed[0]) {
+			notifyWatchedKeys(key);
+		}
+
+		return removed[0];
+	}
+
+	/**
+	 * Change the expiration of a key, or remove the key if the time has already passed.
+	 *
+	 * @param until epoch milliseconds
+	 * @return whether the key exists and has been changed, <code>false</code> if the condition was not met
+	 */
+	public boolean expire(RString key, long until, ExpireCondition condition) {
+		final var changed = new boolean[1];
+
+		map.computeIfPresent(
+			key,
+			(key_, cell) -> {
+				if (cell.isExpired()) {
+					expired.increment();
+					track(key_, cell, null);
 					return null;
 				}
 
-				return value;
+				if (!condition.test(cell.until(), until)) {
+					return cell;
+				}
+
+				changed[0] = true;
+
+				final var newCell = until <= System.currentTimeMillis()
+					? null
+					: new Cell<>(cell.value(), until);
+
+				track(key_, cell, newCell);
+				return newCell;
 			}
 		);
 
-		if (cell != null) {
-			return cell.value();
+		if (changed[0]) {
+			notifyWatchedKeys(key);
 		}
 
-		return null;
+		return changed[0];
+	}
+
+	/** @return whether the key exists and had an expiration, that has been removed */
+	public boolean persist(RString key) {
+		final var changed = new boolean[1];
+
+		map.computeIfPresent(
+			key,
+			(key_, cell) -> {
+				if (cell.isExpired()) {
+					expired.increment();
+					track(key_, cell, null);
+					return null;
+				}
+
+				if (cell.until() == -1) {
+					return cell;
+				}
+
+				changed[0] = true;
+
+				final var newCell = Cell.with(cell.value());
+				track(key_, cell, newCell);
+				return newCell;
+			}
+		);
+
+		if (changed[0]) {
+			notifyWatchedKeys(key);
+		}
+
+		return changed[0];
+	}
+
+	/** @return the deadline of the key in epoch milliseconds, <code>-1</code> if it has none, or <code>-2</code> if the key does not exist */
+	public long getExpiration(RString key) {
+		final var cell = lookup(key);
+		if (cell == null) {
+			return -2;
+		}
+
+		return cell.until();
+	}
+
+	/** @return the cell of the key, removing it first if it has expired */
+	private Cell<Object> lookup(RString key) {
+		return map.computeIfPresent(
+			key,
+			(key_, value) -> {
+				if (value.isExpired()) {
+					expired.increment();
+					track(key_, value, null);
+					return null;
+				}
+
+				return value;
+			}
+		);
 	}
 
+	/** @return the keys that have not expired */
 	public RArray<RString> keys() {
 		return RArray.view(
-			map.keySet()
+			map.entrySet()
 				.stream()
-				.map(RString::bulk)
+				.filter((entry) -> !entry.getValue().isExpired())
+				.map((entry) -> RString.bulk(entry.getKey()))
 				.toList()
 		);
 	}
 
-	public SortedSet getSortedSet(String key) {
+	/**
+	 * Visit a few keys, in an order that lets a scan go on while keys are added and removed.
+	 *
+	 * @param cursor <code>0</code> to start, or the value returned by the previous call
+	 * @param count number of keys to visit, before the expired ones are skipped
+	 * @param consumer receives the keys that have not expired, with their value
+	 * @return the cursor to continue from, <code>0</code> once every key has been visited
+	 * @see ScanIndex
+	 */
+	public long scan(long cursor, int count, BiConsumer<RString, Object> consumer) {
+		return scanIndex.scan(
+			cursor,
+			count,
+			(key) -> {
+				final var cell = map.get(key);
+
+				if (cell != null && !cell.isExpired()) {
+					consumer.accept(key, cell.value());
+				}
+			}
+		);
+	}
+
+	/** @return the number of keys of any type, including the expired ones that have not been removed yet */
+	public int size() {
+		return map.size() + sortedSets.size();
+	}
+
+	/** @return the number of keys with an expiration, including the expired ones that have not been removed yet */
+	public int countExpiring() {
+		return expiryIndex.size();
+	}
+
+	/** @return the average time left before the keys with an expiration expire, in milliseconds */
+	public long averageTtl() {
+		return expiryIndex.averageTtl(System.currentTimeMillis());
+	}
+
+	ExpiryIndex getExpiryIndex() {
+		return expiryIndex;
+	}
+
+	/** @return whether the key has expired, and has been removed */
+	boolean expireIfNeeded(RString key) {
+		final var cell = map.get(key);
+		if (cell == null || !cell.isExpired()) {
+			return false;
+		}
+
+		return lookup(key) == null;
+	}
+
+	/** @return the number of keys by type, as named by TYPE, walking through all of them without locking */
+	public Map<String, Integer> countByType() {
+		final var counts = new TreeMap<String, Integer>();
+
+		for (final var cell : map.values()) {
+			final var type = switch (cell.value()) {
+				case RArray<?> __ -> "list";
+				case RString __ -> "string";
+				case Stream __ -> "stream";
+				default -> "other";
+			};
+
+			counts.merge(type, 1, Integer::sum);
+		}
+
+		if (!sortedSets.isEmpty()) {
+			counts.put("zset", sortedSets.size());
+		}
+
+		return counts;
+	}
+
+	/** @return the number of lookups that found their key */
+	public long getHits() {
+		return hits.sum();
+	}
+
+	/** @return the number of lookups that did not find their key */
+	public long getMisses() {
+		return misses.sum();
+	}
+
+	/** @return the number of keys that have been removed because they expired */
+	public long getExpired() {
+		return expired.sum();
+	}
+
+	public SortedSet getSortedSet(RString key) {
 		return sortedSets.get(key);
 	}
 
-	public void watch(String key, SocketClient socketClient) {
+	public void watch(RString key, SocketClient socketClient) {
 		watchedKeys.computeIfAbsent(key, (__) -> ConcurrentHashMap.newKeySet()).add(socketClient);
 	}
 
-	public void unwatch(String key, SocketClient socketClient) {
+	public void unwatch(RString key, SocketClient socketClient) {
 		final var clients = watchedKeys.get(key);
 		if (clients == null) {
 			return;
@@ -129,15 +370,21 @@ public class Storage {
 		}
 	}
 
-	private void notifyWatchedKeys(String key) {
+	private void notifyWatchedKeys(RString key) {
 		final var clients = watchedKeys.get(key);
 		if (clients == null) {
-			Redis.log("skip notifying key changed: %s".formatted(key));
+			if (Logger.isDebugEnabled()) {
+				Logger.debug("skip notifying key changed: %s", key);
+			}
+
 			return;
 		}
 
 		clients.forEach((client) -> client.notifyWatchedKeyChanged(key));
-		Redis.log("notified key changed %s to %d clients".formatted(key, clients.size()));
+
+		if (Logger.isDebugEnabled()) {
+			Logger.debug("notified key changed %s to %d clients", key, clients.size());
+		}
 	}
 
 }
\ No newline at end of file
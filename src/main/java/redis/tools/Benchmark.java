@@ -0,0 +1,442 @@
+package redis.tools;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardSocketOptions;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import redis.metric.LatencyHistogram;
+import redis.serial.Deserializer;
+import redis.serial.Serializer;
+import redis.type.RArray;
+import redis.type.RError;
+import redis.type.RString;
+
+/**
+ * Load generator in the spirit of <code>redis-benchmark</code>, speaking RESP through the {@link Serializer} and {@link Deserializer} of the server.
+ * <p>
+ * Every client is a connection served by its own virtual thread, that sends <code>-P</code> commands at once and waits for all their replies. The latency of a command is the time between the write of its batch and the read of its reply.
+ * <p>
+ * Random keys are drawn from a fixed seed per client, so that two runs send the same commands.
+ *
+ * <pre>
+ * java -cp target/classes redis.tools.Benchmark -p 6379 -c 50 -n 100000 -P 16 -d 64 -r 10000 -t set,get
+ * java -cp target/classes redis.tools.Benchmark -s /tmp/redis.sock -q
+ * </pre>
+ */
+public class Benchmark {
+
+	private static final String RANDOM_PLACEHOLDER = "__rand_int__";
+	private static final String DATA_PLACEHOLDER = "__data__";
+	private static final int RANDOM_DIGITS = 12;
+	private static final long SEED = 42;
+
+	/** Tests in the order they are run, as named by <code>redis-benchmark</code>. */
+	private static final List<Test> TESTS = List.of(
+		new Test("PING_MBULK", "ping", "PING"),
+		new Test("SET", "set", "SET", "key:" + RANDOM_PLACEHOLDER, DATA_PLACEHOLDER),
+		new Test("GET", "get", "GET", "key:" + RANDOM_PLACEHOLDER),
+		new Test("INCR", "incr", "INCR", "counter:" + RANDOM_PLACEHOLDER),
+		new Test("LPUSH", "lpush", "LPUSH", "mylist", DATA_PLACEHOLDER),
+		new Test("RPUSH", "rpush", "RPUSH", "mylist", DATA_PLACEHOLDER),
+		new Test("LPOP", "lpop", "LPOP", "mylist"),
+		new Test("ZADD", "zadd", "ZADD", "myzset", "0", "element:" + RANDOM_PLACEHOLDER),
+		new Test("XADD", "xadd", "XADD", "mystream", "*", "myfield", DATA_PLACEHOLDER),
+		new Test("LPUSH (needed to benchmark LRANGE)", "lrange", "LPUSH", "mylist", DATA_PLACEHOLDER),
+		new Test("LRANGE_100 (first 100 elements)", "lrange", "LRANGE", "mylist", "0", "99"),
+		new Test("LRANGE_300 (first 300 elements)", "lrange", "LRANGE", "mylist", "0", "299"),
+		new Test("LRANGE_500 (first 500 elements)", "lrange", "LRANGE", "mylist", "0", "499"),
+		new Test("LRANGE_600 (first 600 elements)", "lrange", "LRANGE", "mylist", "0", "599")
+	);
+
+	private final Options options;
+	private final byte[] data;
+
+	private Benchmark(Options options) {
+		this.options = options;
+		this.data = "x".repeat(options.dataSize()).getBytes(StandardCharsets.US_ASCII);
+	}
+
+	public static void main(String[] args) throws Exception {
+		final var options = Options.parse(args);
+		if (options == null) {
+			System.out.println(Options.USAGE);
+			return;
+		}
+
+		new Benchmark(options).run();
+	}
+
+	private void run() throws Exception {
+		final var tests = TESTS.stream()
+			.filter((test) -> test.isSelected(options.tests()))
+			.toList();
+
+		if (tests.isEmpty()) {
+			throw new IllegalArgumentException("no test selected: %s".formatted(options.tests()));
+		}
+
+		final var connections = new ArrayList<Connection>(options.clients());
+
+		try {
+			for (var index = 0; index < options.clients(); ++index) {
+				connections.add(new Connection(options.address(), new Random(SEED + index)));
+			}
+
+			if (options.csv()) {
+				System.out.println("\"test\",\"rps\",\"avg_latency_ms\",\"min_latency_ms\",\"p50_latency_ms\",\"p95_latency_ms\",\"p99_latency_ms\",\"max_latency_ms\"");
+			}
+
+			for (final var test : tests) {
+				report(test, run(test, connections));
+			}
+		} finally {
+			for (final var connection : connections) {
+				connection.close();
+			}
+		}
+	}
+
+	private Result run(Test test, List<Connection> connections) throws InterruptedException, ExecutionException {
+		final var remaining = new AtomicLong(options.requests());
+		final var histogram = new LatencyHistogram();
+		final var futures = new ArrayList<Future<Counters>>(connections.size());
+
+		final var start = System.nanoTime();
+
+		try (final var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (final var connection : connections) {
+				futures.add(executor.submit(() -> connection.run(test, remaining, histogram)));
+			}
+		}
+
+		final var elapsed = System.nanoTime() - start;
+
+		final var total = new Counters();
+		for (final var future : futures) {
+			total.merge(future.get());
+		}
+
+		return new Result(elapsed, total, histogram.snapshot());
+	}
+
+	private void report(Test test, Result result) {
+		final var counters = result.counters();
+		final var seconds = result.elapsed() / 1e9;
+		final var throughput = counters.requests / seconds;
+		final var snapshot = result.snapshot();
+
+		final var average = milliseconds(counters.requests == 0 ? 0 : counters.nanoseconds / counters.requests);
+		final var minimum = milliseconds(counters.requests == 0 ? 0 : counters.minimum);
+		final var p50 = milliseconds(snapshot.percentile(50));
+		final var p95 = milliseconds(snapshot.percentile(95));
+		final var p99 = milliseconds(snapshot.percentile(99));
+		final var maximum = milliseconds(counters.maximum);
+
+		if (options.csv()) {
+			System.out.println("\"%s\",\"%.2f\",\"%.3f\",\"%.3f\",\"%.3f\",\"%.3f\",\"%.3f\",\"%.3f\"".formatted(test.name(), throughput, average, minimum, p50, p95, p99, maximum));
+		} else if (options.quiet()) {
+			System.out.println("%s: %.2f requests per second, p50=%.3f msec".formatted(test.name(), throughput, p50));
+		} else {
+			System.out.println("====== %s ======".formatted(test.name()));
+			System.out.println("  %d requests completed in %.2f seconds".formatted(counters.requests, seconds));
+			System.out.println("  %d parallel clients".formatted(options.clients()));
+			System.out.println("  %d bytes payload".formatted(options.dataSize()));
+			System.out.println("  %d commands per pipeline".formatted(options.pipeline()));
+			System.out.println();
+			System.out.println("Summary:");
+			System.out.println("  throughput summary: %.2f requests per second".formatted(throughput));
+			System.out.println("  latency summary (msec):");
+			System.out.println("          avg       min       p50       p95       p99       max");
+			System.out.println("    %9.3f %9.3f %9.3f %9.3f %9.3f %9.3f".formatted(average, minimum, p50, p95, p99, maximum));
+			System.out.println();
+		}
+
+		if (counters.errors != 0) {
+			System.out.println("%s: %d errors, first: %s".formatted(test.name(), counters.errors, counters.firstError));
+		}
+	}
+
+	private static double milliseconds(long nanoseconds) {
+		return nanoseconds / 1e6;
+	}
+
+	/**
+	 * @param name shown in the report
+	 * @param selector name given to <code>-t</code> to run the test, shared by the tests that go together, such as the LRANGE ones and the LPUSH that fills their list
+	 * @param template arguments of the command, with placeholders for a random number and the payload
+	 */
+	private record Test(
+		String name,
+		String selector,
+		String... template
+	) {
+
+		/** A test is also selected by its own name, such as <code>lrange_100</code>. */
+		public boolean isSelected(List<String> selection) {
+			if (selection.isEmpty()) {
+				return true;
+			}
+
+			final var name = this.name.split(" ")[0].toLowerCase(Locale.ROOT);
+
+			return selection.contains(selector) || selection.contains(name);
+		}
+
+	}
+
+	private record Result(
+		long elapsed,
+		Counters counters,
+		LatencyHistogram.Snapshot snapshot
+	) {}
+
+	/** Only updated by the thread of a client, then merged. */
+	private static class Counters {
+
+		private long requests;
+		private long errors;
+		private long nanoseconds;
+		private long minimum = Long.MAX_VALUE;
+		private long maximum;
+		private String firstError;
+
+		private void record(long latency) {
+			++requests;
+			nanoseconds += latency;
+			minimum = Math.min(minimum, latency);
+			maximum = Math.max(maximum, latency);
+		}
+
+		private void merge(Counters other) {
+			requests += other.requests;
+			errors += other.errors;
+			nanoseconds += other.nanoseconds;
+			minimum = Math.min(minimum, other.minimum);
+			maximum = Math.max(maximum, other.maximum);
+
+			if (firstError == null) {
+				firstError = other.firstError;
+			}
+		}
+
+	}
+
+	private class Connection {
+
+		private final SocketChannel channel;
+		private final Serializer serializer;
+		private final Deserializer deserializer;
+		private final Random random;
+
+		private Connection(SocketAddress address, Random random) throws IOException {
+			this.channel = SocketChannel.open(address);
+			this.random = random;
+
+			if (address instanceof InetSocketAddress) {
+				channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+			}
+
+			this.serializer = new Serializer(new BufferedOutputStream(Channels.newOutputStream(channel), 64 * 1024));
+			this.deserializer = new Deserializer(new BufferedInputStream(Channels.newInputStream(channel), 64 * 1024));
+		}
+
+		/** Send batches of commands until every request of the test has been claimed. */
+		private Counters run(Test test, AtomicLong remaining, LatencyHistogram histogram) throws IOException {
+			final var counters = new Counters();
+			final var template = prepare(test.template());
+
+			while (true) {
+				final var available = remaining.getAndAdd(-options.pipeline());
+				if (available <= 0) {
+					break;
+				}
+
+				final var batch = (int) Math.min(available, options.pipeline());
+				final var start = System.nanoTime();
+
+				for (var index = 0; index < batch; ++index) {
+					serializer.write(command(template));
+				}
+
+				serializer.flush();
+
+				for (var index = 0; index < batch; ++index) {
+					final var reply = deserializer.read();
+					if (reply == null) {
+						throw new IOException("connection closed by the server");
+					}
+
+					final var latency = System.nanoTime() - start;
+					counters.record(latency);
+					histogram.record(latency);
+
+					if (reply instanceof RError error) {
+						if (counters.errors++ == 0) {
+							counters.firstError = error.message().content();
+						}
+					}
+				}
+			}
+
+			return counters;
+		}
+
+		/** Arguments without a random number are shared by every command. */
+		private Object[] prepare(String[] template) {
+			final var prepared = new Object[template.length];
+
+			for (var index = 0; index < template.length; ++index) {
+				final var argument = template[index];
+
+				if (argument.equals(DATA_PLACEHOLDER)) {
+					prepared[index] = RString.bulk(data);
+				} else if (argument.contains(RANDOM_PLACEHOLDER) && options.keyspace() > 0) {
+					prepared[index] = argument.getBytes(StandardCharsets.US_ASCII);
+				} else {
+					prepared[index] = RString.bulk(argument);
+				}
+			}
+
+			return prepared;
+		}
+
+		private RArray<RString> command(Object[] template) {
+			final var arguments = new ArrayList<RString>(template.length);
+
+			for (final var argument : template) {
+				if (argument instanceof byte[] bytes) {
+					arguments.add(RString.bulk(randomize(bytes)));
+				} else {
+					arguments.add((RString) argument);
+				}
+			}
+
+			return RArray.view(arguments);
+		}
+
+		/** Replace the placeholder by a random number below the keyspace size, padded with zeros as <code>redis-benchmark</code> does. */
+		private byte[] randomize(byte[] template) {
+			final var bytes = template.clone();
+			final var offset = indexOf(bytes, RANDOM_PLACEHOLDER.getBytes(StandardCharsets.US_ASCII));
+
+			var value = random.nextLong(options.keyspace());
+			for (var index = offset + RANDOM_DIGITS - 1; index >= offset; --index) {
+				bytes[index] = (byte) ('0' + value % 10);
+				value /= 10;
+			}
+
+			return bytes;
+		}
+
+		private void close() {
+			try {
+				channel.close();
+			} catch (IOException ignored) {}
+		}
+
+	}
+
+	private static int indexOf(byte[] bytes, byte[] searched) {
+		for (var index = 0; index + searched.length <= bytes.length; ++index) {
+			if (Arrays.equals(bytes, index, index + searched.length, searched, 0, searched.length)) {
+				return index;
+			}
+		}
+
+		return -1;
+	}
+
+	private record Options(
+		SocketAddress address,
+		int clients,
+		long requests,
+		int pipeline,
+		int dataSize,
+		long keyspace,
+		List<String> tests,
+		boolean quiet,
+		boolean csv
+	) {
+
+		public static final String USAGE = """
+			Usage: redis.tools.Benchmark [-h <host>] [-p <port>] [-s <socket>] [-c <clients>] [-n <requests>] [-P <numreq>] [-d <size>] [-r <keyspacelen>] [-t <tests>] [-q] [--csv]
+
+			 -h <hostname>      Server hostname (default 127.0.0.1)
+			 -p <port>          Server port (default 6379)
+			 -s <socket>        Server socket (overrides host and port)
+			 -c <clients>       Number of parallel connections (default 50)
+			 -n <requests>      Total number of requests per test (default 100000)
+			 -P <numreq>        Pipeline <numreq> requests (default 1, no pipeline)
+			 -d <size>          Data size of SET/GET/LPUSH/XADD values in bytes (default 3)
+			 -r <keyspacelen>   Use random keys for SET/GET/INCR and random ZADD elements
+			                    among <keyspacelen> values (default 0, a single key)
+			 -t <tests>         Only run the comma separated list of tests, such as set,get,lrange
+			 -q                 Quiet, just show the requests per second and the median latency
+			 --csv              Output in CSV format
+			 --help             Output this help and exit
+			""";
+
+		/** @return the options, or <code>null</code> if the usage has been asked */
+		public static Options parse(String[] args) {
+			var host = "127.0.0.1";
+			var port = 6379;
+			String socket = null;
+			var clients = 50;
+			var requests = 100_000L;
+			var pipeline = 1;
+			var dataSize = 3;
+			var keyspace = 0L;
+			List<String> tests = List.of();
+			var quiet = false;
+			var csv = false;
+
+			for (var index = 0; index < args.length; ++index) {
+				switch (args[index]) {
+					case "-h" -> host = args[++index];
+					case "-p" -> port = Integer.parseInt(args[++index]);
+					case "-s" -> socket = args[++index];
+					case "-c" -> clients = Integer.parseInt(args[++index]);
+					case "-n" -> requests = Long.parseLong(args[++index]);
+					case "-P" -> pipeline = Integer.parseInt(args[++index]);
+					case "-d" -> dataSize = Integer.parseInt(args[++index]);
+					case "-r" -> keyspace = Long.parseLong(args[++index]);
+					case "-t" -> tests = Arrays.stream(args[++index].toLowerCase(Locale.ROOT).split(",")).map(String::strip).toList();
+					case "-q" -> quiet = true;
+					case "--csv" -> csv = true;
+					case "--help" -> {
+						return null;
+					}
+					default -> throw new IllegalArgumentException("unknown option: " + args[index]);
+				}
+			}
+
+			if (clients < 1 || requests < 1 || pipeline < 1 || dataSize < 0 || keyspace < 0) {
+				throw new IllegalArgumentException("clients, requests and pipeline must be positive, data size and keyspace length must not be negative");
+			}
+
+			final var address = socket != null
+				? UnixDomainSocketAddress.of(socket)
+				: new InetSocketAddress(host, port);
+
+			return new Options(address, clients, requests, pipeline, dataSize, keyspace, tests, quiet, csv);
+		}
+
+	}
+
+}
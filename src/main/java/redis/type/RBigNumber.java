@@ -0,0 +1,16 @@
+package redis.type;
+
+import java.math.BigInteger;
+
+import lombok.NonNull;
+
+/** RESP3 big number, sent as a bulk string to RESP2 clients. */
+public record RBigNumber(
+	@NonNull BigInteger value
+) implements RValue {
+
+	public static RBigNumber of(@NonNull BigInteger value) {
+		return new RBigNumber(value);
+	}
+
+}
@@ -0,0 +1,17 @@
+package redis.type;
+
+/** RESP3 boolean, sent as <code>1</code> or <code>0</code> to RESP2 clients. */
+public enum RBoolean implements RValue {
+
+	TRUE,
+	FALSE;
+
+	public boolean value() {
+		return this == TRUE;
+	}
+
+	public static RBoolean of(boolean value) {
+		return value ? TRUE : FALSE;
+	}
+
+}
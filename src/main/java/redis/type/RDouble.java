@@ -0,0 +1,12 @@
+package redis.type;
+
+/** RESP3 double, sent as a bulk string to RESP2 clients. */
+public record RDouble(
+	double value
+) implements RValue {
+
+	public static RDouble of(double value) {
+		return new RDouble(value);
+	}
+
+}
@@ -11,6 +11,7 @@ public record RError(
 	private static final RError WRONGTYPE_WRONG_KIND_OF_VALUE = new RError("WRONGTYPE Operation against a key holding the wrong kind of value");
 	private static final String INVALID_COMMAND_IN_SUBSCRIBED_CONTEXT_FORMAT = "ERR Can't execute '%s': only (P|S)SUBSCRIBE / (P|S)UNSUBSCRIBE / PING / QUIT / RESET are allowed in this context";
 	private static final RError VALUE_NOT_A_FLOAT = new RError("ERR value is not a valid float");
+	private static final RError VALUE_NOT_AN_INTEGER = new RError("ERR value is not an integer or out of range");
 	private static final String NO_SUCH_USER_FORMAT = "ERR no such user '%s'";
 	private static final RError AUTHENTICATION_REQUIRED = new RError("NOAUTH Authentication required.");
 
@@ -50,6 +51,10 @@ public record RError(
 		return VALUE_NOT_A_FLOAT;
 	}
 
+	public static RError valueNotAnInteger() {
+		return VALUE_NOT_AN_INTEGER;
+	}
+
 	public static RError noSuchUser(String username) {
 		return new RError(NO_SUCH_USER_FORMAT.formatted(username));
 	}
@@ -1,17 +1,41 @@
 package redis.type;
 
+/**
+ * Integer reply.
+ * <p>
+ * Small values are shared: {@link #of(int)} does not allocate between {@link #SHARED_MINIMUM} and {@link #SHARED_MAXIMUM}.
+ */
 public record RInteger(
 	int value
 ) implements RValue {
 
+	public static final int SHARED_MINIMUM = -1;
+	public static final int SHARED_MAXIMUM = 10_000;
+
+	private static final RInteger[] SHARED = new RInteger[SHARED_MAXIMUM - SHARED_MINIMUM + 1];
+
+	static {
+		for (var index = 0; index < SHARED.length; ++index) {
+			SHARED[index] = new RInteger(index + SHARED_MINIMUM);
+		}
+	}
+
 	public static final RInteger ZERO = of(0);
 	public static final RInteger ONE = of(1);
 
 	public RInteger addOne() {
-		return new RInteger(value + 1);
+		return of(value + 1);
+	}
+
+	public boolean isShared() {
+		return isShared(value);
 	}
 
 	public static RInteger of(int value) {
+		if (isShared(value)) {
+			return SHARED[value - SHARED_MINIMUM];
+		}
+
 		return new RInteger(value);
 	}
 
@@ -19,4 +43,8 @@ public record RInteger(
 		return value ? ONE : ZERO;
 	}
 
-}
\ No newline at end of file
+	public static boolean isShared(int value) {
+		return value >= SHARED_MINIMUM && value <= SHARED_MAXIMUM;
+	}
+
+}
@@ -0,0 +1,47 @@
+package redis.type;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import lombok.NonNull;
+
+/** RESP3 map, sent as a flat array of keys and values to RESP2 clients. */
+public record RMap(
+	@NonNull Map<? extends RValue, ? extends RValue> entries
+) implements RValue {
+
+	private static final RMap EMPTY = new RMap(Collections.emptyMap());
+
+	public int size() {
+		return entries.size();
+	}
+
+	@Override
+	public final String toString() {
+		return "RMap[%s]".formatted(entries);
+	}
+
+	public static RMap view(@NonNull Map<? extends RValue, ? extends RValue> entries) {
+		return new RMap(entries);
+	}
+
+	/** @param keyValues alternating keys and values */
+	public static RMap of(@NonNull RValue... keyValues) {
+		if (keyValues.length % 2 != 0) {
+			throw new IllegalArgumentException("keys and values must be paired");
+		}
+
+		final var entries = new LinkedHashMap<RValue, RValue>();
+		for (var index = 0; index < keyValues.length; index += 2) {
+			entries.put(keyValues[index], keyValues[index + 1]);
+		}
+
+		return new RMap(entries);
+	}
+
+	public static RMap empty() {
+		return EMPTY;
+	}
+
+}
@@ -0,0 +1,25 @@
+package redis.type;
+
+import java.util.List;
+
+import lombok.NonNull;
+
+/**
+ * RESP3 out-of-band message, such as a pub/sub message, sent as an array to RESP2 clients.
+ * <p>
+ * Clients can tell them apart from command replies, so a subscribed RESP3 connection can still run any command.
+ */
+public record RPush(
+	@NonNull List<? extends RValue> items
+) implements RValue {
+
+	@Override
+	public final String toString() {
+		return "RPush[%s]".formatted(items);
+	}
+
+	public static RPush of(@NonNull RValue... items) {
+		return new RPush(List.of(items));
+	}
+
+}
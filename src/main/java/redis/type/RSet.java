@@ -0,0 +1,21 @@
+package redis.type;
+
+import java.util.Collection;
+
+import lombok.NonNull;
+
+/** RESP3 set, sent as an array to RESP2 clients. */
+public record RSet(
+	@NonNull Collection<? extends RValue> items
+) implements RValue {
+
+	@Override
+	public final String toString() {
+		return "RSet[%s]".formatted(items);
+	}
+
+	public static RSet view(@NonNull Collection<? extends RValue> items) {
+		return new RSet(items);
+	}
+
+}
@@ -1,47 +1,90 @@
 package redis.type;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.temporal.TemporalUnit;
+import java.util.Arrays;
 import java.util.OptionalInt;
 
 import lombok.NonNull;
-import lombok.experimental.Delegate;
-import redis.serial.Protocol;
+import redis.util.NumberUtils;
 
-public record RString(
-	@NonNull String content,
-	boolean bulk
-) implements RValue, CharSequence {
+/**
+ * Binary-safe string, kept as the bytes that have been received.
+ * <p>
+ * Nothing is decoded unless {@link #content()} is called, so keys and values go from the parser to the storage and back to the serializer untouched.
+ * Two strings are equal if they have the same bytes, whether they are bulk or not.
+ */
+public final class RString implements RValue, Comparable<RString> {
 
-	private static final RString EMPTY_SIMPLE = new RString("", false);
-	private static final RString EMPTY_BULK = new RString("", true);
+	private static final RString EMPTY_SIMPLE = new RString(new byte[0], false);
+	private static final RString EMPTY_BULK = new RString(new byte[0], true);
 
-	public RString {
-		if (!bulk && content.contains(Protocol.CRLF)) {
+	private static final int SHARED_NUMBERS = 10_000;
+	private static final RString[] NUMBERS = new RString[SHARED_NUMBERS + 1];
+
+	static {
+		for (var number = 0; number <= SHARED_NUMBERS; ++number) {
+			NUMBERS[number] = new RString(NumberUtils.toAsciiBytes(number), true);
+		}
+	}
+
+	private final byte[] bytes;
+	private final boolean bulk;
+	private int hash;
+
+	private RString(byte[] bytes, boolean bulk) {
+		if (!bulk && containsLineBreak(bytes)) {
 			throw new IllegalStateException("simple string cannot contains CRLF");
 		}
+
+		this.bytes = bytes;
+		this.bulk = bulk;
+	}
+
+	/** @return the bytes themselves, they must not be modified */
+	public byte[] bytes() {
+		return bytes;
+	}
+
+	public boolean bulk() {
+		return bulk;
+	}
+
+	public int length() {
+		return bytes.length;
+	}
+
+	public boolean isEmpty() {
+		return bytes.length == 0;
 	}
 
-	@Delegate
+	/** @return the bytes decoded as UTF-8, to only use for what is meant to be text */
 	public String content() {
-		return content;
+		return new String(bytes, StandardCharsets.UTF_8);
 	}
 
 	public OptionalInt asInteger() {
 		try {
-			return OptionalInt.of(Integer.parseInt(content));
+			final var value = asLong();
+			if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+				return OptionalInt.empty();
+			}
+
+			return OptionalInt.of((int) value);
 		} catch (NumberFormatException __) {
 			return OptionalInt.empty();
 		}
 	}
 
+	/** Parse the digits without decoding a string first. */
 	public long asLong() {
-		return Long.parseLong(content);
+		return NumberUtils.parseLong(bytes, 0, bytes.length);
 	}
 
 	public double asDouble() {
 		try {
-			return Double.parseDouble(content);
+			return Double.parseDouble(content());
 		} catch (NumberFormatException exception) {
 			throw RError.valueNotAFloat().asException();
 		}
@@ -51,49 +94,132 @@ public record RString(
 		return Duration.of(asLong(), temporalUnit);
 	}
 
+	@Override
+	public int compareTo(RString other) {
+		return Arrays.compareUnsigned(bytes, other.bytes);
+	}
+
+	@Override
+	public boolean equals(Object object) {
+		if (this == object) {
+			return true;
+		}
+
+		return object instanceof RString other
+			&& hashCode() == other.hashCode()
+			&& Arrays.equals(bytes, other.bytes);
+	}
+
+	@Override
+	public int hashCode() {
+		var hash = this.hash;
+
+		if (hash == 0 && bytes.length != 0) {
+			hash = Arrays.hashCode(bytes);
+			this.hash = hash;
+		}
+
+		return hash;
+	}
+
+	@Override
 	public String toString() {
 		return "%s\"%s\"".formatted(
 			bulk ? "B" : "N",
-			content
+			content()
 		);
 	}
 
-	public static RString simple(@NonNull CharSequence value) {
-		if (value instanceof RString input) {
-			if (!input.bulk()) {
-				return input;
-			}
+	public static RString simple(@NonNull String value) {
+		return new RString(value.getBytes(StandardCharsets.UTF_8), false);
+	}
 
-			return new RString(input.content(), false);
+	public static RString simple(@NonNull RString value) {
+		if (!value.bulk) {
+			return value;
 		}
 
-		return new RString(value.toString(), false);
+		return new RString(value.bytes, false);
 	}
 
-	public static RString bulk(@NonNull CharSequence value) {
-		if (value instanceof RString input) {
-			if (input.bulk()) {
-				return input;
-			}
+	/** @param value taken as is, it must not be modified afterwards */
+	public static RString simple(@NonNull byte[] value) {
+		return new RString(value, false);
+	}
 
-			return new RString(input.content(), true);
+	public static RString bulk(@NonNull String value) {
+		return new RString(value.getBytes(StandardCharsets.UTF_8), true);
+	}
+
+	public static RString bulk(@NonNull RString value) {
+		if (value.bulk) {
+			return value;
 		}
 
-		return new RString(value.toString(), true);
+		return new RString(value.bytes, true);
+	}
+
+	/** @param value taken as is, it must not be modified afterwards */
+	public static RString bulk(@NonNull byte[] value) {
+		return new RString(value, true);
 	}
 
 	public static RString detect(@NonNull String value) {
-		final var bulk = value.contains(Protocol.CRLF);
+		final var bytes = value.getBytes(StandardCharsets.UTF_8);
 
-		return new RString(value, bulk);
+		return new RString(bytes, containsLineBreak(bytes));
 	}
 
+	/** Compare with an ASCII string, such as a command name or an option. */
 	public static boolean equalsIgnoreCase(@NonNull RString left, @NonNull String right) {
-		return left.content.equalsIgnoreCase(right);
+		final var bytes = left.bytes;
+		final var length = bytes.length;
+
+		if (length != right.length()) {
+			return false;
+		}
+
+		for (var index = 0; index < length; ++index) {
+			final var character = right.charAt(index);
+			final var value = (char) (bytes[index] & 0xff);
+
+			if (value != character && toUpperCase(value) != toUpperCase(character)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/** @return the bulk string of the number, shared for the small positive ones */
+	public static RString number(long value) {
+		if (value >= 0 && value <= SHARED_NUMBERS) {
+			return NUMBERS[(int) value];
+		}
+
+		return new RString(NumberUtils.toAsciiBytes(value), true);
 	}
 
 	public static RString empty(boolean bulk) {
 		return bulk ? EMPTY_BULK : EMPTY_SIMPLE;
 	}
 
-}
\ No newline at end of file
+	private static char toUpperCase(char character) {
+		if (character >= 'a' && character <= 'z') {
+			return (char) (character - ('a' - 'A'));
+		}
+
+		return character;
+	}
+
+	private static boolean containsLineBreak(byte[] bytes) {
+		for (var index = 0; index < bytes.length - 1; ++index) {
+			if (bytes[index] == '\r' && bytes[index + 1] == '\n') {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+}
@@ -1,5 +1,5 @@
 package redis.type;
 
-public sealed interface RValue permits RArray, RBlob, RError, RInteger, RNil, ROk, RString {
+public sealed interface RValue permits RArray, RBigNumber, RBlob, RBoolean, RDouble, RError, RInteger, RMap, RNil, ROk, RPush, RSet, RString {
 
 }
\ No newline at end of file
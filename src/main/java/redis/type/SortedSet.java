@@ -6,15 +6,18 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
 
 import lombok.Locked;
 import lombok.RequiredArgsConstructor;
 import redis.util.Range;
+import redis.util.ScanIndex;
 
 public class SortedSet {
 
 	private final Map<String, EntryValue> entries = new HashMap<>();
 	private final List<String> sortedValues = new ArrayList<>();
+	private final ScanIndex<String> scanIndex = new ScanIndex<>();
 
 	@Locked
 	public boolean add(String value, double score) {
@@ -35,6 +38,7 @@ public class SortedSet {
 
 			entry = new EntryValue(score);
 			entries.put(value, entry);
+			scanIndex.add(value);
 
 			computeIndexes();
 			return true;
@@ -49,6 +53,7 @@ public class SortedSet {
 		}
 
 		sortedValues.remove(entry.index);
+		scanIndex.remove(value);
 
 		for (final var mapEntry : entries.values()) {
 			if (mapEntry.index > entry.index) {
@@ -101,6 +106,17 @@ public class SortedSet {
 		return entries.size();
 	}
 
+	/**
+	 * Visit a few members, with their score.
+	 *
+	 * @return the cursor to continue from, <code>0</code> once every member has been visited
+	 * @see ScanIndex#scan(long, int, java.util.function.Consumer)
+	 */
+	@Locked
+	public long scan(long cursor, int count, BiConsumer<String, Double> consumer) {
+		return scanIndex.scan(cursor, count, (value) -> consumer.accept(value, entries.get(value).score));
+	}
+
 	public Iterator<Map.Entry<String, Double>> iterator() {
 		return new IteratorImpl(entries.entrySet().iterator());
 	}
@@ -23,7 +23,7 @@ public sealed interface Identifier permits MillisecondsIdentifier, UniqueIdentif
 			return UniqueIdentifier.MAXIMUM;
 		}
 
-		final var matcher = PATTERN.matcher(input);
+		final var matcher = PATTERN.matcher(input.content());
 		if (!matcher.find()) {
 			throw new RErrorException(RError.streamIdInvalid());
 		}
@@ -0,0 +1,143 @@
+package redis.util;
+
+/**
+ * Glob-style patterns, as matched by Redis for KEYS, SCAN and PSUBSCRIBE.
+ * <p>
+ * <code>*</code> matches any sequence, <code>?</code> any byte, <code>[abc]</code>, <code>[^abc]</code> and <code>[a-z]</code> a byte of a set, and <code>\</code> escapes the next byte.
+ */
+public final class Glob {
+
+	/* a pattern of many stars on a string that does not match is exponential, Redis gives up at the same depth */
+	private static final int MAXIMUM_NESTING = 1000;
+
+	private Glob() {}
+
+	public static boolean matches(byte[] pattern, byte[] string) {
+		final var skipLongerMatches = new boolean[1];
+
+		return matches(pattern, 0, string, 0, skipLongerMatches, 0);
+	}
+
+	private static boolean matches(byte[] pattern, int patternIndex, byte[] string, int stringIndex, boolean[] skipLongerMatches, int nesting) {
+		if (nesting > MAXIMUM_NESTING) {
+			return false;
+		}
+
+		final var patternLength = pattern.length;
+		final var stringLength = string.length;
+
+		while (patternIndex < patternLength && stringIndex < stringLength) {
+			switch (pattern[patternIndex]) {
+				case '*' -> {
+					while (patternIndex + 1 < patternLength && pattern[patternIndex + 1] == '*') {
+						++patternIndex;
+					}
+
+					if (patternIndex + 1 == patternLength) {
+						return true;
+					}
+
+					for (; stringIndex < stringLength; ++stringIndex) {
+						if (matches(pattern, patternIndex + 1, string, stringIndex, skipLongerMatches, nesting + 1)) {
+							return true;
+						}
+
+						/* if the rest of the pattern did not match the rest of the string, it will not match a shorter rest either */
+						if (skipLongerMatches[0]) {
+							return false;
+						}
+					}
+
+					skipLongerMatches[0] = true;
+					return false;
+				}
+
+				case '?' -> ++stringIndex;
+
+				case '[' -> {
+					++patternIndex;
+
+					final var not = patternIndex < patternLength && pattern[patternIndex] == '^';
+					if (not) {
+						++patternIndex;
+					}
+
+					final var value = string[stringIndex] & 0xff;
+					var match = false;
+
+					while (patternIndex < patternLength && pattern[patternIndex] != ']') {
+						if (pattern[patternIndex] == '\\' && patternIndex + 1 < patternLength) {
+							++patternIndex;
+
+							if ((pattern[patternIndex] & 0xff) == value) {
+								match = true;
+							}
+						} else if (patternIndex + 2 < patternLength && pattern[patternIndex + 1] == '-') {
+							var start = pattern[patternIndex] & 0xff;
+							var end = pattern[patternIndex + 2] & 0xff;
+
+							if (start > end) {
+								final var swap = start;
+								start = end;
+								end = swap;
+							}
+
+							patternIndex += 2;
+
+							if (value >= start && value <= end) {
+								match = true;
+							}
+						} else if ((pattern[patternIndex] & 0xff) == value) {
+							match = true;
+						}
+
+						++patternIndex;
+					}
+
+					/* an unterminated set ends with the pattern */
+					if (patternIndex == patternLength) {
+						--patternIndex;
+					}
+
+					if (match == not) {
+						return false;
+					}
+
+					++stringIndex;
+				}
+
+				case '\\' -> {
+					if (patternIndex + 1 < patternLength) {
+						++patternIndex;
+					}
+
+					if (pattern[patternIndex] != string[stringIndex]) {
+						return false;
+					}
+
+					++stringIndex;
+				}
+
+				default -> {
+					if (pattern[patternIndex] != string[stringIndex]) {
+						return false;
+					}
+
+					++stringIndex;
+				}
+			}
+
+			++patternIndex;
+		}
+
+		/* trailing stars also match an empty rest */
+		if (stringIndex == stringLength) {
+			while (patternIndex < patternLength && pattern[patternIndex] == '*') {
+				++patternIndex;
+			}
+		}
+
+		return patternIndex == patternLength && stringIndex == stringLength;
+	}
+
+}
@@ -1,5 +1,6 @@
 package redis.util;
 
+import java.nio.charset.StandardCharsets;
 import java.text.DecimalFormat;
 
 import lombok.experimental.UtilityClass;
@@ -17,4 +18,75 @@ public class NumberUtils {
 		return NO_SCIENTIFIC.format(value);
 	}
 
+	/**
+	 * Same as {@link Long#parseLong(String)}, without decoding a string first, and without accepting a leading <code>+</code> as Redis does not either.
+	 *
+	 * @throws NumberFormatException if the bytes are not a 64 bit integer
+	 */
+	public static long parseLong(byte[] array, int offset, int length) {
+		if (length == 0 || length > 20) {
+			throw invalidNumber(array, offset, length);
+		}
+
+		final var negative = array[offset] == '-';
+		var index = negative ? 1 : 0;
+		if (index == length) {
+			throw invalidNumber(array, offset, length);
+		}
+
+		/* accumulated negatively, to also reach Long.MIN_VALUE */
+		var value = 0L;
+		for (; index < length; ++index) {
+			final var digit = array[offset + index] - '0';
+			if (digit < 0 || digit > 9 || value < (Long.MIN_VALUE + digit) / 10) {
+				throw invalidNumber(array, offset, length);
+			}
+
+			value = value * 10 - digit;
+		}
+
+		if (negative) {
+			return value;
+		}
+
+		if (value == Long.MIN_VALUE) {
+			throw invalidNumber(array, offset, length);
+		}
+
+		return -value;
+	}
+
+	private static NumberFormatException invalidNumber(byte[] array, int offset, int length) {
+		return new NumberFormatException("For input string: \"%s\"".formatted(new String(array, offset, length, StandardCharsets.UTF_8)));
+	}
+
+	/** Same as <code>String.valueOf(value).getBytes(US_ASCII)</code>, without the intermediate string. */
+	public static byte[] toAsciiBytes(long value) {
+		if (value == Long.MIN_VALUE) {
+			return String.valueOf(value).getBytes(StandardCharsets.US_ASCII);
+		}
+
+		final var negative = value < 0;
+		if (negative) {
+			value = -value;
+		}
+
+		var length = negative ? 2 : 1;
+		for (var rest = value / 10; rest != 0; rest /= 10) {
+			++length;
+		}
+
+		final var bytes = new byte[length];
+		for (var index = length - 1; index >= (negative ? 1 : 0); --index) {
+			bytes[index] = (byte) ('0' + value % 10);
+			value /= 10;
+		}
+
+		if (negative) {
+			bytes[0] = '-';
+		}
+
+		return bytes;
+	}
+
 }
\ No newline at end of file
@@ -0,0 +1,123 @@
+package redis.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/** Growable byte buffer that can be filled by any thread and drained into a channel. */
+public class OutputBuffer extends OutputStream {
+
+	private static final int INITIAL_CAPACITY = 1024;
+
+	/* a larger array was only needed by a burst, such as a large reply, and is let go once empty */
+	private static final int RETAINED_CAPACITY = 64 * 1024;
+
+	private byte[] bytes = new byte[INITIAL_CAPACITY];
+	private byte[] spare;
+	private int start;
+	private int end;
+	private long written;
+	private long drained;
+
+	@Override
+	public synchronized void write(int b) {
+		ensureCapacity(1);
+		bytes[end++] = (byte) b;
+		++written;
+	}
+
+	@Override
+	public synchronized void write(byte[] b, int off, int len) {
+		ensureCapacity(len);
+		System.arraycopy(b, off, bytes, end, len);
+		end += len;
+		written += len;
+	}
+
+	/** @return whether everything has been written */
+	public synchronized boolean writeTo(WritableByteChannel channel) throws IOException {
+		if (start != end) {
+			final var count = channel.write(ByteBuffer.wrap(bytes, start, end - start));
+
+			start += count;
+			drained += count;
+		}
+
+		if (start == end) {
+			start = 0;
+			end = 0;
+
+			if (bytes.length > RETAINED_CAPACITY) {
+				bytes = new byte[INITIAL_CAPACITY];
+			}
+
+			return true;
+		}
+
+		return false;
+	}
+
+	/**
+	 * Hand the pending bytes over, so that they can be written to a blocking channel without holding the buffer.
+	 *
+	 * @return the pending bytes, to give back with {@link #recycle(ByteBuffer)} once written
+	 */
+	public synchronized ByteBuffer take() {
+		final var taken = ByteBuffer.wrap(bytes, start, end - start);
+
+		bytes = spare != null ? spare : new byte[INITIAL_CAPACITY];
+		spare = null;
+		start = 0;
+		end = 0;
+
+		return taken;
+	}
+
+	public synchronized void recycle(ByteBuffer taken) {
+		final var array = taken.array();
+
+		if (spare == null && array.length <= RETAINED_CAPACITY) {
+			spare = array;
+		}
+	}
+
+	public synchronized int size() {
+		return end - start;
+	}
+
+	public synchronized boolean isEmpty() {
+		return start == end;
+	}
+
+	/** @return the number of bytes ever written into the buffer */
+	public synchronized long count() {
+		return written;
+	}
+
+	/** @return the number of bytes ever written to a channel by {@link #writeTo(WritableByteChannel)} */
+	public synchronized long drained() {
+		return drained;
+	}
+
+	private void ensureCapacity(int length) {
+		if (end + length <= bytes.length) {
+			return;
+		}
+
+		final var size = end - start;
+		if (start != 0 && size + length <= bytes.length) {
+			System.arraycopy(bytes, start, bytes, 0, size);
+		} else {
+			final var capacity = Math.max(bytes.length * 2, size + length);
+			final var grown = new byte[capacity];
+
+			System.arraycopy(bytes, start, grown, 0, size);
+			bytes = grown;
+		}
+
+		start = 0;
+		end = size;
+	}
+
+}
@@ -0,0 +1,75 @@
+package redis.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free queue, for many producers and a single consumer.
+ * <p>
+ * Producers only contend on the claim of a slot, and never wait: {@link #offer(Object)} fails if the consumer is too late.
+ */
+public class RingBuffer<T> {
+
+	private final AtomicReferenceArray<T> slots;
+	private final int mask;
+	private final AtomicLong tail = new AtomicLong();
+	private volatile long head;
+
+	/** @param capacity rounded up to a power of two */
+	public RingBuffer(int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("capacity must be positive: %d".formatted(capacity));
+		}
+
+		final var size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+
+		this.slots = new AtomicReferenceArray<>(size);
+		this.mask = size - 1;
+	}
+
+	/** @return whether the value has been queued, <code>false</code> if the buffer is full */
+	public boolean offer(T value) {
+		while (true) {
+			final var position = tail.get();
+
+			if (position - head >= slots.length()) {
+				return false;
+			}
+
+			if (tail.compareAndSet(position, position + 1)) {
+				slots.set((int) (position & mask), value);
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Must only be called from the consumer thread.
+	 *
+	 * @return the oldest value, or <code>null</code> if none is ready
+	 */
+	public T poll() {
+		final var position = head;
+		final var index = (int) (position & mask);
+
+		final var value = slots.get(index);
+		if (value == null) {
+			return null;
+		}
+
+		slots.set(index, null);
+		head = position + 1;
+
+		return value;
+	}
+
+	/** Must only be called from the consumer thread. */
+	public boolean isEmpty() {
+		return slots.get((int) (head & mask)) == null;
+	}
+
+	public int capacity() {
+		return slots.length();
+	}
+
+}
@@ -0,0 +1,83 @@
+package redis.util;
+
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Consumer;
+
+/**
+ * Elements of a collection ordered by their hash with its bits reversed, so that they can be walked a few at a time with a cursor, as SCAN does.
+ * <p>
+ * This is the order in which Redis visits the buckets of a table, whatever its size. Here the order does not depend on any table, so a cursor stays valid while the collection grows and shrinks:
+ * an element present during a whole scan is returned, and returned once; an element added or removed during the scan may or may not be.
+ * <p>
+ * The cursor is the reversed hash of the next element to visit, <code>0</code> to start and once every element has been visited.
+ * Elements sharing a hash are always returned by the same call, so that the cursor never points to the middle of them.
+ * <p>
+ * Adding and removing cost <code>O(log n)</code>, and a scan costs <code>O(log n + count)</code>.
+ */
+public class ScanIndex<T extends Comparable<? super T>> {
+
+	/** Largest cursor, <code>2^32 - 1</code>. */
+	public static final long MAXIMUM_CURSOR = 0xffffffffL;
+
+	private final ConcurrentSkipListSet<Slot<T>> slots = new ConcurrentSkipListSet<>();
+
+	public void add(T element) {
+		slots.add(new Slot<>(position(element), element));
+	}
+
+	public void remove(T element) {
+		slots.remove(new Slot<>(position(element), element));
+	}
+
+	public void clear() {
+		slots.clear();
+	}
+
+	/**
+	 * @param count number of elements to visit, exceeded when the last ones share their hash
+	 * @return the cursor to continue from, <code>0</code> once every element has been visited
+	 */
+	public long scan(long cursor, int count, Consumer<T> consumer) {
+		var visited = 0;
+		var lastPosition = -1L;
+
+		for (final var slot : slots.tailSet(new Slot<>(cursor, null))) {
+			if (visited >= count && slot.position() != lastPosition) {
+				return slot.position();
+			}
+
+			consumer.accept(slot.element());
+			lastPosition = slot.position();
+			++visited;
+		}
+
+		return 0;
+	}
+
+	private static long position(Object element) {
+		return Integer.toUnsignedLong(Integer.reverse(element.hashCode()));
+	}
+
+	/** @param element <code>null</code> only to look up the first slot of a position */
+	private record Slot<T extends Comparable<? super T>>(
+		long position,
+		T element
+	) implements Comparable<Slot<T>> {
+
+		@Override
+		public int compareTo(Slot<T> other) {
+			final var comparison = Long.compare(position, other.position);
+			if (comparison != 0) {
+				return comparison;
+			}
+
+			if (element == null || other.element == null) {
+				return element == other.element ? 0 : (element == null ? -1 : 1);
+			}
+
+			return element.compareTo(other.element);
+		}
+
+	}
+
+}
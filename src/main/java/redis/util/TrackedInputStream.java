@@ -1,57 +1,90 @@
 package redis.util;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 
-import lombok.RequiredArgsConstructor;
-
-@RequiredArgsConstructor
+/**
+ * Buffered stream that keeps every byte read since the last {@link #begin()}.
+ * <p>
+ * The bytes of the current command stay in the read buffer, {@link #slice()} exposes them without copying.
+ */
 public class TrackedInputStream extends InputStream {
 
+	public static final int DEFAULT_BUFFER_SIZE = 16 * 1024;
+
 	private final InputStream delegate;
-	private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
-	private long read;
+	private byte[] buffer = new byte[DEFAULT_BUFFER_SIZE];
+	private int start;
+	private int position;
+	private int limit;
+
+	public TrackedInputStream(InputStream delegate) {
+		this.delegate = delegate;
+	}
 
 	@Override
 	public int available() throws IOException {
-		return delegate.available();
+		return (limit - position) + delegate.available();
+	}
+
+	/** @return the number of bytes that have been read from the delegate but not from this stream yet */
+	public int buffered() {
+		return limit - position;
 	}
 
 	@Override
 	public int read() throws IOException {
-		final var value = delegate.read();
-
-		if (value != -1) {
-			++read;
-			buffer.write(value);
+		if (position == limit && !fill()) {
+			return -1;
 		}
 
-		return value;
+		return buffer[position++] & 0xff;
 	}
 
 	@Override
-	public int read(byte[] b) throws IOException {
-		final var value = delegate.read(b);
+	public int read(byte[] b, int off, int len) throws IOException {
+		if (len == 0) {
+			return 0;
+		}
 
-		if (value != -1) {
-			this.read += value;
-			buffer.write(b, 0, value);
+		if (position == limit && !fill()) {
+			return -1;
 		}
 
-		return value;
+		final var count = Math.min(len, limit - position);
+		System.arraycopy(buffer, position, b, off, count);
+		position += count;
+
+		return count;
 	}
 
-	@Override
-	public int read(byte[] b, int off, int len) throws IOException {
-		final var value = delegate.read(b, off, len);
+	/** Read more bytes from the delegate, keeping the ones since {@link #begin()}. */
+	private boolean fill() throws IOException {
+		final var kept = limit - start;
+
+		if (kept == 0 && buffer.length != DEFAULT_BUFFER_SIZE) {
+			/* a large command is gone, do not hold its buffer forever */
+			buffer = new byte[DEFAULT_BUFFER_SIZE];
+		} else if (start != 0) {
+			System.arraycopy(buffer, start, buffer, 0, kept);
+		} else if (limit == buffer.length) {
+			final var grown = new byte[buffer.length * 2];
+			System.arraycopy(buffer, 0, grown, 0, kept);
+			buffer = grown;
+		}
+
+		position -= start;
+		limit = kept;
+		start = 0;
 
-		if (read != -1) {
-			this.read += value;
-			buffer.write(b, off, value);
+		final var read = delegate.read(buffer, limit, buffer.length - limit);
+		if (read <= 0) {
+			return false;
 		}
 
-		return value;
+		limit += read;
+		return true;
 	}
 
 	@Override
@@ -60,16 +93,21 @@ public class TrackedInputStream extends InputStream {
 	}
 
 	public void begin() {
-		read = 0;
-		buffer.reset();
+		start = position;
 	}
 
 	public long count() {
-		return read;
+		return position - start;
+	}
+
+	/** @return the bytes that have been read from the delegate but not from this stream yet, only valid until the next read */
+	public ByteBuffer pending() {
+		return ByteBuffer.wrap(buffer, position, limit - position).slice();
 	}
 
-	public byte[] buffer() {
-		return buffer.toByteArray();
+	/** @return the bytes read since {@link #begin()}, only valid until the next read */
+	public ByteBuffer slice() {
+		return ByteBuffer.wrap(buffer, start, position - start).slice();
 	}
 
-}
\ No newline at end of file
+}
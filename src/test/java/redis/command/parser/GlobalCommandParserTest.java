@@ -0,0 +1,152 @@
+package redis.command.parser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import redis.client.ClientClass;
+import redis.command.Arguments;
+import redis.command.ParsedCommand;
+import redis.command.builtin.client.ClientKillCommand;
+import redis.command.builtin.core.CommandGetKeysCommand;
+import redis.command.builtin.core.ConfigGetCommand;
+import redis.command.builtin.core.ExpireCommand;
+import redis.command.builtin.core.ScanCommand;
+import redis.command.builtin.core.SetCommand;
+import redis.store.ExpireCondition;
+import redis.type.RArray;
+import redis.type.RErrorException;
+import redis.type.RString;
+
+class GlobalCommandParserTest {
+
+	private final GlobalCommandParser parser = new GlobalCommandParser();
+
+	@Test
+	void lookup() {
+		final var command = parse("sEt", "key", "value");
+
+		assertInstanceOf(SetCommand.class, command.command());
+		assertEquals("SET", command.name());
+		assertTrue(command.isWriting());
+		assertTrue(command.isPropagatable());
+		assertEquals(1, command.definition().firstKey());
+	}
+
+	@Test
+	void subCommand() {
+		final var command = parse("config", "get", "dir");
+
+		assertInstanceOf(ConfigGetCommand.class, command.command());
+		assertEquals("CONFIG|GET", command.name());
+		assertFalse(command.isWriting());
+	}
+
+	@Test
+	void clientKill() {
+		final var legacy = (ClientKillCommand) parse("client", "kill", "127.0.0.1:6379").command();
+		assertTrue(legacy.legacy());
+		assertFalse(legacy.skipMe());
+		assertEquals(Optional.of("127.0.0.1:6379"), legacy.filter().address());
+
+		final var filtered = (ClientKillCommand) parse("CLIENT", "KILL", "ID", "4", "type", "pubsub", "SKIPME", "no").command();
+		assertFalse(filtered.legacy());
+		assertFalse(filtered.skipMe());
+		assertEquals(List.of(4), filtered.filter().ids());
+		assertEquals(Optional.of(ClientClass.PUBSUB), filtered.filter().type());
+
+		assertError("ERR syntax error", "CLIENT", "KILL", "ID", "4", "TYPE");
+		assertError("ERR client-id should be greater than 0", "CLIENT", "KILL", "ID", "zero");
+	}
+
+	@Test
+	void expire() {
+		final var relative = (ExpireCommand) parse("expire", "key", "10", "xx", "lt").command();
+		assertEquals(10_000, relative.milliseconds());
+		assertFalse(relative.absolute());
+		assertEquals(ExpireCondition.XX_LT, relative.condition());
+
+		final var absolute = (ExpireCommand) parse("PEXPIREAT", "key", "1700000000000").command();
+		assertEquals(1700000000000L, absolute.milliseconds());
+		assertTrue(absolute.absolute());
+		assertEquals(ExpireCondition.ALWAYS, absolute.condition());
+
+		assertError("ERR value is not an integer or out of range", "EXPIRE", "key", "ten");
+		assertError("ERR invalid expire time in 'expire' command", "EXPIRE", "key", "9223372036854775807");
+		assertError("ERR NX and XX, GT or LT options at the same time are not compatible", "EXPIRE", "key", "10", "NX", "GT");
+		assertError("ERR GT and LT options at the same time are not compatible", "EXPIRE", "key", "10", "GT", "LT");
+		assertError("ERR Unsupported option FOO", "EXPIRE", "key", "10", "FOO");
+	}
+
+	@Test
+	void scan() {
+		final var command = (ScanCommand) parse("SCAN", "18446744073709551615", "match", "user:*", "COUNT", "100", "type", "STRING").command();
+		assertEquals(-1, command.cursor());
+		assertEquals(Optional.of(RString.bulk("user:*")), command.options().pattern());
+		assertEquals(100, command.options().count());
+		assertEquals(Optional.of("string"), command.options().type());
+
+		assertEquals(ScanCommand.Options.DEFAULT_COUNT, ((ScanCommand) parse("SCAN", "0").command()).options().count());
+		assertEquals(Optional.of("list"), ((ScanCommand) parse("SCAN", "0", "TYPE", "LIST").command()).options().type());
+
+		assertError("ERR invalid cursor", "SCAN", "-1");
+		assertError("ERR syntax error", "SCAN", "0", "COUNT", "0");
+		assertError("ERR syntax error", "SCAN", "0", "MATCH");
+		assertError("ERR unknown type name 'table'", "SCAN", "0", "TYPE", "table");
+		assertError("ERR syntax error", "ZSCAN", "key", "0", "TYPE", "string");
+	}
+
+	@Test
+	void getKeys() {
+		assertEquals(RArray.of(RString.bulk("key")), ((CommandGetKeysCommand) parse("COMMAND", "GETKEYS", "set", "key", "value", "PX", "10").command()).keys());
+		assertEquals(RArray.of(RString.bulk("a"), RString.bulk("b")), ((CommandGetKeysCommand) parse("COMMAND", "GETKEYS", "DEL", "a", "b").command()).keys());
+
+		assertError("ERR The command has no key arguments", "COMMAND", "GETKEYS", "ECHO", "hello");
+		assertError("ERR wrong number of arguments for 'GET' command", "COMMAND", "GETKEYS", "GET");
+	}
+
+	@Test
+	void integers() {
+		assertError("ERR value is not an integer or out of range", "LRANGE", "key", "0", "abc");
+		assertError("ERR value is not an integer or out of range", "LRANGE", "key", "0", "2147483648");
+		assertError("ERR value is not an integer or out of range", "SET", "key", "value", "PX", "+10");
+		assertError("ERR value is not an integer or out of range", "LPOP", "key", "");
+		assertError("ERR value is not an integer or out of range", "XREAD", "BLOCK", "forever", "STREAMS", "key", "0");
+		assertError("ERR value is not an integer or out of range", "WAIT", "1", "soon");
+	}
+
+	@Test
+	void unknown() {
+		assertError("ERR unknown 'GETX' command", "GETX", "key");
+		assertError("ERR unknown 'G' command", "G", "key");
+		assertError("ERR unknown 'FOO' command", "CONFIG", "FOO");
+	}
+
+	@Test
+	void arity() {
+		assertError("ERR wrong number of arguments for 'GET' command", "get");
+		assertError("ERR wrong number of arguments for 'GET' command", "get", "a", "b");
+		assertError("ERR wrong number of arguments for 'RPUSH' command", "rpush", "list");
+	}
+
+	private ParsedCommand parse(String... arguments) {
+		final var values = Arrays.stream(arguments).map((argument) -> RString.bulk(argument)).toList();
+
+		return parser.parse(Arguments.of(RArray.view(values)));
+	}
+
+	private void assertError(String message, String... arguments) {
+		final var exception = assertThrows(RErrorException.class, () -> parse(arguments));
+
+		assertEquals(message, exception.getError().message().content());
+	}
+
+}
@@ -0,0 +1,30 @@
+package redis.metric;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class InstantaneousMetricTest {
+
+	@Test
+	void perSecond() {
+		final var metric = new InstantaneousMetric();
+		assertEquals(0, metric.perSecond());
+
+		metric.sample(0, 0);
+		assertEquals(0, metric.perSecond());
+
+		/* 100 then 300 per 100 milliseconds */
+		metric.sample(100_000_000, 100);
+		metric.sample(200_000_000, 400);
+		assertEquals(2_000, metric.perSecond(), 0.001);
+
+		for (var index = 3; index <= 18; ++index) {
+			metric.sample(index * 100_000_000L, 400 + (index - 2) * 50);
+		}
+
+		/* only the last samples are kept */
+		assertEquals(500, metric.perSecond(), 0.001);
+	}
+
+}
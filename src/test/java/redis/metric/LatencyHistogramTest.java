@@ -0,0 +1,58 @@
+package redis.metric;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class LatencyHistogramTest {
+
+	@Test
+	void buckets() {
+		for (var index = 0; index < LatencyHistogram.BUCKETS - 1; ++index) {
+			final var lower = LatencyHistogram.lowerBound(index);
+			final var upper = LatencyHistogram.upperBound(index);
+
+			assertEquals(index, LatencyHistogram.index(lower));
+			assertEquals(index, LatencyHistogram.index(upper));
+			assertEquals(upper + 1, LatencyHistogram.lowerBound(index + 1));
+
+			/* within 1/16 of the values */
+			assertTrue(upper - lower <= Math.max(0, lower / 16));
+		}
+	}
+
+	@Test
+	void percentiles() {
+		final var histogram = new LatencyHistogram(4);
+
+		for (var value = 1; value <= 1000; ++value) {
+			histogram.record(value * 1000L);
+		}
+
+		final var snapshot = histogram.snapshot();
+		assertEquals(1000, snapshot.count());
+		assertNear(500_000, snapshot.percentile(50));
+		assertNear(990_000, snapshot.percentile(99));
+		assertNear(1_000_000, snapshot.percentile(100));
+	}
+
+	@Test
+	void cumulative() {
+		final var histogram = new LatencyHistogram(1);
+		histogram.record(500);
+		histogram.record(1500);
+		histogram.record(1600);
+		histogram.record(10_000);
+		histogram.record(-1);
+
+		assertEquals(Map.of(1L, 2L, 2L, 4L, 16L, 5L), histogram.snapshot().cumulativeMicroseconds());
+	}
+
+	private static void assertNear(long expected, long actual) {
+		assertTrue(Math.abs(expected - actual) <= expected / 16, "expected %d but got %d".formatted(expected, actual));
+	}
+
+}
@@ -0,0 +1,34 @@
+package redis.metric;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class PrometheusExporterTest {
+
+	@Test
+	void histogram() {
+		final var histogram = new LatencyHistogram(1);
+		histogram.record(500);
+		histogram.record(1_500);
+		histogram.record(3_000_000_000L);
+
+		final var builder = new StringBuilder();
+		PrometheusExporter.histogram(builder, "latency_seconds", PrometheusExporter.label("cmd", "get"), histogram.snapshot(), 3_000_002_000L);
+
+		final var lines = builder.toString().lines().toList();
+		assertEquals("latency_seconds_bucket{cmd=\"get\",le=\"1.024E-6\"} 1", lines.get(0));
+		assertEquals("latency_seconds_bucket{cmd=\"get\",le=\"2.048E-6\"} 2", lines.get(1));
+		assertTrue(lines.contains("latency_seconds_bucket{cmd=\"get\",le=\"4.294967296\"} 3"));
+		assertTrue(lines.contains("latency_seconds_bucket{cmd=\"get\",le=\"+Inf\"} 3"));
+		assertTrue(lines.contains("latency_seconds_sum{cmd=\"get\"} 3.000002"));
+		assertTrue(lines.contains("latency_seconds_count{cmd=\"get\"} 3"));
+	}
+
+	@Test
+	void label() {
+		assertEquals("addr=\"a\\\"b\\\\c\\nd\"", PrometheusExporter.label("addr", "a\"b\\c\nd"));
+	}
+
+}
@@ -0,0 +1,80 @@
+package redis.metric;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import redis.type.RArray;
+import redis.type.RString;
+
+class SlowLogTest {
+
+	@Test
+	void ring() {
+		final var slowLog = new SlowLog(() -> 3);
+
+		for (var index = 0; index < 5; ++index) {
+			slowLog.add(RArray.of(RString.bulk("GET"), RString.number(index)), 20_000_000, "127.0.0.1:1234", null);
+		}
+
+		final var entries = slowLog.entries(-1);
+		assertEquals(3, entries.size());
+		assertEquals(4, entries.get(0).id());
+		assertEquals(2, entries.get(2).id());
+		assertEquals(20_000, entries.get(0).duration());
+		assertEquals(RString.number(4), entries.get(0).arguments().get(1));
+		assertEquals("127.0.0.1:1234", entries.get(0).address());
+		assertEquals("", entries.get(0).name());
+
+		assertEquals(2, slowLog.entries(2).size());
+		assertEquals(3, slowLog.size());
+
+		slowLog.reset();
+		assertEquals(0, slowLog.size());
+
+		slowLog.add(RArray.of(RString.bulk("PING")), 0, null, null);
+		assertEquals(5, slowLog.entries(-1).get(0).id());
+		assertEquals(1, slowLog.size());
+	}
+
+	@Test
+	void resize() {
+		final var capacity = new AtomicInteger(4);
+		final var slowLog = new SlowLog(capacity::get);
+
+		for (var index = 0; index < 4; ++index) {
+			slowLog.add(RArray.of(RString.bulk("PING")), 0, null, null);
+		}
+
+		capacity.set(2);
+		slowLog.add(RArray.of(RString.bulk("PING")), 0, null, null);
+
+		final var entries = slowLog.entries(-1);
+		assertEquals(2, entries.size());
+		assertEquals(4, entries.get(0).id());
+		assertEquals(3, entries.get(1).id());
+
+		capacity.set(0);
+		slowLog.add(RArray.of(RString.bulk("PING")), 0, null, null);
+		assertEquals(0, slowLog.size());
+	}
+
+	@Test
+	void truncate() {
+		final var arguments = new ArrayList<RString>();
+		arguments.add(RString.bulk("x".repeat(200)));
+		for (var index = 1; index < 40; ++index) {
+			arguments.add(RString.number(index));
+		}
+
+		final var truncated = SlowLog.truncate(RArray.view(arguments));
+		assertEquals(SlowLog.MAXIMUM_ARGUMENTS, truncated.size());
+		assertEquals("x".repeat(128) + "... (72 more bytes)", truncated.get(0).content());
+		assertEquals(RString.number(30), truncated.get(30));
+		assertEquals("... (9 more arguments)", truncated.get(31).content());
+	}
+
+}
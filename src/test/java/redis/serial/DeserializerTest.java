@@ -0,0 +1,31 @@
+package redis.serial;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+class DeserializerTest {
+
+	@Test
+	void containsValue() {
+		assertTrue(containsValue("*2\r\n$3\r\nGET\r\n$3\r\nkey\r\n"));
+		assertTrue(containsValue("*1\r\n$4\r\nPING\r\n*1\r\n$4\r\nPI"));
+		assertTrue(containsValue(":1\r\n"));
+		assertTrue(containsValue("*1\r\n$-1\r\n"));
+
+		assertFalse(containsValue(""));
+		assertFalse(containsValue("*2\r\n$3\r\nGET\r\n$3\r\nke"));
+		assertFalse(containsValue("*2\r\n$3\r\nGET\r\n"));
+		assertFalse(containsValue("*2\r\n$100"));
+		assertFalse(containsValue("*2\r\n$3\r\nSET\r\n$1000000\r\nvalue"));
+	}
+
+	private static boolean containsValue(String value) {
+		return Deserializer.containsValue(ByteBuffer.wrap(value.getBytes(StandardCharsets.US_ASCII)));
+	}
+
+}
@@ -0,0 +1,162 @@
+package redis.serial;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+
+import redis.command.Arguments;
+import redis.type.RErrorException;
+import redis.type.RNil;
+import redis.type.RString;
+import redis.type.RValue;
+
+class IncrementalDeserializerTest {
+
+	private static final byte[] INPUT = "*3\r\n$3\r\nSET\r\n$3\r\nkey\r\n$5\r\nvalue\r\n+OK\r\n-ERR bad\r\n*2\r\n*1\r\n$0\r\n\r\n*0\r\n".getBytes();
+
+	@Test
+	void sameAsDeserializer() throws IOException {
+		final var expected = new ArrayList<RValue>();
+
+		final var deserializer = new Deserializer(new ByteArrayInputStream(INPUT));
+		RValue value;
+		while ((value = deserializer.read()) != null) {
+			expected.add(value);
+		}
+
+		final var buffer = ByteBuffer.wrap(INPUT);
+		final var incremental = new IncrementalDeserializer();
+		final var actual = new ArrayList<RValue>();
+		while ((value = incremental.read(buffer)) != null) {
+			actual.add(value);
+		}
+
+		assertEquals(expected, actual);
+		assertFalse(incremental.isPending());
+	}
+
+	@Test
+	void byteByByte() {
+		final var buffer = ByteBuffer.wrap(INPUT);
+		final var whole = new IncrementalDeserializer().read(buffer);
+		final var length = buffer.position();
+
+		final var deserializer = new IncrementalDeserializer();
+		for (var index = 0; index < length; ++index) {
+			final var value = deserializer.read(ByteBuffer.wrap(INPUT, index, 1));
+
+			if (index == length - 1) {
+				assertEquals(whole, value);
+			} else {
+				assertNull(value);
+				assertTrue(deserializer.isPending());
+			}
+		}
+	}
+
+	@Test
+	void nil() {
+		final var buffer = ByteBuffer.wrap("*-1\r\n$-1\r\n".getBytes());
+		final var deserializer = new IncrementalDeserializer();
+
+		assertEquals(RNil.ARRAY, deserializer.read(buffer));
+		assertEquals(RNil.BULK, deserializer.read(buffer));
+	}
+
+	@Test
+	void binary() {
+		final var content = new byte[] { (byte) 0xff, 0, '\r', '\n', (byte) 0xc3 };
+		final var input = new ByteArrayOutputStream();
+		input.writeBytes("$5\r\n".getBytes());
+		input.writeBytes(content);
+		input.writeBytes("\r\n".getBytes());
+
+		final var bytes = input.toByteArray();
+
+		/* whole, then split so that the value is not read in one go */
+		final var whole = (RString) new IncrementalDeserializer().read(ByteBuffer.wrap(bytes));
+		assertArrayEquals(content, whole.bytes());
+
+		final var deserializer = new IncrementalDeserializer();
+		assertNull(deserializer.read(ByteBuffer.wrap(bytes, 0, 6)));
+
+		final var split = (RString) deserializer.read(ByteBuffer.wrap(bytes, 6, bytes.length - 6));
+		assertArrayEquals(content, split.bytes());
+	}
+
+	@Test
+	void line() throws IOException {
+		final var bytes = new byte[] { '+', (byte) 0xe9, '\r', '\n' };
+
+		assertEquals(new Deserializer(new ByteArrayInputStream(bytes)).read(), new IncrementalDeserializer().read(ByteBuffer.wrap(bytes)));
+		assertThrows(IllegalArgumentException.class, () -> new IncrementalDeserializer().read(ByteBuffer.wrap("+OK\rX".getBytes())));
+	}
+
+	@Test
+	void bulkLength() {
+		final var tooLong = "$%d\r\n".formatted(IncrementalDeserializer.MAXIMUM_BULK_LENGTH + 1).getBytes();
+		assertThrows(RErrorException.class, () -> new IncrementalDeserializer().read(ByteBuffer.wrap(tooLong)));
+
+		final var request = "*1\r\n$%d\r\n".formatted(IncrementalDeserializer.MAXIMUM_BULK_LENGTH + 1).getBytes();
+		assertThrows(RErrorException.class, () -> new IncrementalDeserializer().readArguments(ByteBuffer.wrap(request), new Arguments()));
+	}
+
+	@Test
+	void arguments() {
+		final var deserializer = new IncrementalDeserializer();
+		final var arguments = new Arguments();
+
+		final var buffer = ByteBuffer.wrap(INPUT);
+		assertTrue(deserializer.readArguments(buffer, arguments));
+		assertEquals(3, arguments.size());
+		assertTrue(arguments.equalsIgnoreCase(0, "set"));
+		assertEquals(RString.bulk("value"), arguments.get(2));
+		assertEquals(RString.bulk("key"), arguments.shift().get(0));
+
+		/* not an array, left to the other path */
+		final var position = buffer.position();
+		assertFalse(deserializer.readArguments(buffer, arguments));
+		assertEquals(position, buffer.position());
+	}
+
+	@Test
+	void numberArguments() {
+		final var arguments = new Arguments();
+
+		assertTrue(new IncrementalDeserializer().readArguments(ByteBuffer.wrap("*3\r\n$4\r\nSETX\r\n$3\r\n-12\r\n$3\r\n1.5\r\n".getBytes()), arguments));
+		assertEquals(-12, arguments.asLong(1));
+		assertEquals(1.5, arguments.asDouble(2));
+		assertTrue(arguments.asInteger(2).isEmpty());
+	}
+
+	@Test
+	void partialArguments() {
+		final var deserializer = new IncrementalDeserializer();
+		final var arguments = new Arguments();
+
+		final var request = "*3\r\n$3\r\nSET\r\n$3\r\nkey\r\n$5\r\nvalue\r\n".getBytes();
+		for (var length = 0; length < request.length; ++length) {
+			final var buffer = ByteBuffer.wrap(request, 0, length);
+
+			assertFalse(deserializer.readArguments(buffer, arguments));
+			assertEquals(0, buffer.position());
+		}
+
+		final var buffer = ByteBuffer.wrap(request);
+		assertTrue(deserializer.readArguments(buffer, arguments));
+		assertEquals(5, arguments.length(2));
+		assertEquals(request.length, buffer.position());
+	}
+
+}
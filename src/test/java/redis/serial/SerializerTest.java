@@ -0,0 +1,109 @@
+package redis.serial;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import redis.type.RArray;
+import redis.type.RBigNumber;
+import redis.type.RBoolean;
+import redis.type.RDouble;
+import redis.type.RError;
+import redis.type.RInteger;
+import redis.type.RMap;
+import redis.type.RNil;
+import redis.type.ROk;
+import redis.type.RPush;
+import redis.type.RString;
+import redis.type.RValue;
+
+class SerializerTest {
+
+	@Test
+	void integers() throws IOException {
+		assertEquals(":0\r\n", serialize(RInteger.of(0)));
+		assertEquals(":10000\r\n", serialize(RInteger.of(10_000)));
+		assertEquals(":10001\r\n", serialize(RInteger.of(10_001)));
+		assertEquals(":-42\r\n", serialize(RInteger.of(-42)));
+		assertEquals(":-2147483648\r\n", serialize(RInteger.of(Integer.MIN_VALUE)));
+	}
+
+	@Test
+	void strings() throws IOException {
+		assertEquals("+OK\r\n", serialize(ROk.OK));
+		assertEquals("+PONG\r\n", serialize(RString.simple("PONG")));
+		assertEquals("-ERR bad\r\n", serialize(new RError("ERR bad")));
+		assertEquals("$0\r\n\r\n", serialize(RString.bulk("")));
+		assertEquals("$5\r\nvalue\r\n", serialize(RString.bulk("value")));
+		assertEquals("$6\r\nvalué\r\n", serialize(RString.bulk("valué")));
+		assertEquals("$-1\r\n", serialize(RNil.BULK));
+		assertEquals("*-1\r\n", serialize(RNil.ARRAY));
+	}
+
+	@Test
+	void larger() throws IOException {
+		final var ascii = "a".repeat(20_000);
+		final var unicode = "é".repeat(3_000);
+
+		assertEquals("$20000\r\n" + ascii + "\r\n", serialize(RString.bulk(ascii)));
+		assertEquals("$6000\r\n" + unicode + "\r\n", serialize(RString.bulk(unicode)));
+
+		final var array = RArray.<RValue>of(RString.bulk(unicode), RString.bulk(unicode), RString.bulk(ascii));
+		assertEquals("*3\r\n$6000\r\n" + unicode + "\r\n$6000\r\n" + unicode + "\r\n$20000\r\n" + ascii + "\r\n", serialize(array));
+	}
+
+	@Test
+	void resp3() throws IOException {
+		final var map = RMap.of(RString.bulk("a"), RInteger.of(1));
+
+		assertEquals("%1\r\n$1\r\na\r\n:1\r\n", serialize(map, Protocol.RESP3));
+		assertEquals("*2\r\n$1\r\na\r\n:1\r\n", serialize(map, Protocol.RESP2));
+
+		assertEquals(",1.5\r\n", serialize(RDouble.of(1.5), Protocol.RESP3));
+		assertEquals(",-inf\r\n", serialize(RDouble.of(Double.NEGATIVE_INFINITY), Protocol.RESP3));
+		assertEquals("$3\r\n1.5\r\n", serialize(RDouble.of(1.5), Protocol.RESP2));
+
+		assertEquals("#t\r\n", serialize(RBoolean.TRUE, Protocol.RESP3));
+		assertEquals(":0\r\n", serialize(RBoolean.FALSE, Protocol.RESP2));
+
+		assertEquals("(12345678901234567890\r\n", serialize(RBigNumber.of(new BigInteger("12345678901234567890")), Protocol.RESP3));
+		assertEquals(">1\r\n$7\r\nmessage\r\n", serialize(RPush.of(RString.bulk("message")), Protocol.RESP3));
+		assertEquals("_\r\n", serialize(RNil.BULK, Protocol.RESP3));
+	}
+
+	@Test
+	void binary() throws IOException {
+		final var content = new byte[] { (byte) 0xff, 0, '\r', '\n', (byte) 0xc3 };
+
+		final var outputStream = new ByteArrayOutputStream();
+		new Serializer(outputStream).write(RString.bulk(content));
+
+		final var expected = new ByteArrayOutputStream();
+		expected.writeBytes("$5\r\n".getBytes());
+		expected.writeBytes(content);
+		expected.writeBytes("\r\n".getBytes());
+
+		assertArrayEquals(expected.toByteArray(), outputStream.toByteArray());
+	}
+
+	private static String serialize(RValue value) throws IOException {
+		return serialize(value, Protocol.RESP2);
+	}
+
+	private static String serialize(RValue value, int version) throws IOException {
+		final var outputStream = new ByteArrayOutputStream();
+
+		final var serializer = new Serializer(outputStream);
+		serializer.setVersion(version);
+		serializer.write(value);
+
+		return outputStream.toString(StandardCharsets.UTF_8);
+	}
+
+}
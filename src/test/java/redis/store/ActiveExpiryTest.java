@@ -0,0 +1,88 @@
+package redis.store;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import redis.type.RString;
+
+class ActiveExpiryTest {
+
+	private static final long PERIOD = TimeUnit.SECONDS.toNanos(10);
+
+	@Test
+	void removesExpiredKeys() {
+		final var storage = new Storage();
+		final var past = System.currentTimeMillis() - 1;
+
+		for (var index = 0; index < 1000; ++index) {
+			storage.put(RString.bulk("expired:" + index), new Cell<>(RString.bulk("value"), past));
+		}
+
+		for (var index = 0; index < 100; ++index) {
+			storage.set(RString.bulk("volatile:" + index), RString.bulk("value"), Duration.ofHours(1));
+			storage.set(RString.bulk("persistent:" + index), RString.bulk("value"));
+		}
+
+		assertEquals(1100, storage.countExpiring());
+		assertEquals(200, storage.keys().size());
+
+		/* the keys that are due are found from the index, without looking at the others */
+		storage.getActiveExpiry().cycle(PERIOD, 1);
+
+		assertEquals(100, storage.countExpiring());
+		assertEquals(200, storage.size());
+		assertEquals(1000, storage.getExpired());
+		assertEquals(0, storage.getActiveExpiry().getStalePercent());
+	}
+
+	@Test
+	void stopsWhenOutOfTime() {
+		final var storage = new Storage();
+		final var past = System.currentTimeMillis() - 1;
+
+		for (var index = 0; index < 1000; ++index) {
+			storage.put(RString.bulk("expired:" + index), new Cell<>(RString.bulk("value"), past));
+		}
+
+		storage.getActiveExpiry().cycle(0, 1);
+
+		assertEquals(1, storage.getActiveExpiry().getTimeCapReached());
+		assertTrue(storage.countExpiring() < 1000);
+		assertTrue(storage.getActiveExpiry().getStalePercent() > 0);
+	}
+
+	@Test
+	void tracksVolatileKeys() {
+		final var storage = new Storage();
+		final var key = RString.bulk("key");
+
+		storage.set(key, RString.bulk("value"), Duration.ofHours(1));
+		assertEquals(1, storage.countExpiring());
+
+		storage.set(key, RString.bulk("value"));
+		assertEquals(0, storage.countExpiring());
+
+		/* as INCR or RPUSH, a change of the value keeps the expiration */
+		storage.set(key, RString.bulk("value"), Duration.ofHours(1));
+		storage.compute(key, (RString value) -> value);
+		assertEquals(1, storage.countExpiring());
+
+		assertTrue(storage.persist(key));
+		assertEquals(0, storage.countExpiring());
+
+		storage.set(key, RString.bulk("value"), Duration.ofHours(1));
+		storage.set(key, RString.bulk("value"), Duration.ofHours(2));
+		assertEquals(1, storage.countExpiring());
+
+		storage.put(key, new Cell<>(RString.bulk("value"), System.currentTimeMillis() - 1));
+		assertNull(storage.get(key));
+		assertEquals(0, storage.countExpiring());
+	}
+
+}
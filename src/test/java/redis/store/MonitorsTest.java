@@ -0,0 +1,27 @@
+package redis.store;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import redis.type.RArray;
+import redis.type.RString;
+
+class MonitorsTest {
+
+	@Test
+	void format() {
+		final var arguments = RArray.of(
+			RString.bulk("SET"),
+			RString.bulk("key"),
+			RString.bulk(new byte[] { 'a', '"', '\\', '\r', '\n', 0, (byte) 0xff })
+		);
+
+		final var line = Monitors.format(1339518083_107L, "127.0.0.1:60866", arguments);
+
+		assertEquals("1339518083.107000 [0 127.0.0.1:60866] \"SET\" \"key\" \"a\\\"\\\\\\r\\n\\x00\\xff\"", new String(line, StandardCharsets.UTF_8));
+	}
+
+}
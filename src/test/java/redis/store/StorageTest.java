@@ -0,0 +1,86 @@
+package redis.store;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import redis.type.RString;
+
+class StorageTest {
+
+	private final Storage storage = new Storage();
+	private final RString key = RString.bulk("key");
+	private final RString value = RString.bulk("value");
+
+	@Test
+	void expire() {
+		final var later = System.currentTimeMillis() + 60_000;
+
+		assertFalse(storage.expire(key, later, ExpireCondition.ALWAYS));
+		assertEquals(-2, storage.getExpiration(key));
+
+		storage.set(key, value);
+		assertEquals(-1, storage.getExpiration(key));
+
+		assertTrue(storage.expire(key, later, ExpireCondition.ALWAYS));
+		assertEquals(later, storage.getExpiration(key));
+		assertEquals(1, storage.countExpiring());
+
+		assertTrue(storage.persist(key));
+		assertFalse(storage.persist(key));
+		assertEquals(-1, storage.getExpiration(key));
+		assertEquals(0, storage.countExpiring());
+	}
+
+	@Test
+	void expireInThePast() {
+		storage.set(key, value);
+
+		assertTrue(storage.expire(key, System.currentTimeMillis() - 1, ExpireCondition.ALWAYS));
+		assertNull(storage.get(key));
+		assertEquals(0, storage.countExpiring());
+		assertEquals(0, storage.size());
+	}
+
+	@Test
+	void conditions() {
+		final var now = System.currentTimeMillis();
+		storage.set(key, value);
+
+		assertFalse(storage.expire(key, now + 1000, ExpireCondition.XX));
+		assertFalse(storage.expire(key, now + 1000, ExpireCondition.GT));
+		assertFalse(storage.expire(key, now + 1000, ExpireCondition.XX_LT));
+		assertTrue(storage.expire(key, now + 2000, ExpireCondition.LT));
+		assertFalse(storage.expire(key, now + 1000, ExpireCondition.NX));
+
+		assertFalse(storage.expire(key, now + 1000, ExpireCondition.GT));
+		assertTrue(storage.expire(key, now + 3000, ExpireCondition.GT));
+		assertTrue(storage.expire(key, now + 1000, ExpireCondition.XX_LT));
+		assertEquals(now + 1000, storage.getExpiration(key));
+		assertEquals(1, storage.countExpiring());
+	}
+
+	@Test
+	void keyspace() {
+		final var now = System.currentTimeMillis();
+
+		storage.addToSet(RString.bulk("zset"), value, 1);
+		assertEquals(1, storage.size());
+
+		storage.set(key, value);
+		storage.set(RString.bulk("other"), value);
+		assertTrue(storage.expire(key, now + 60_000, ExpireCondition.ALWAYS));
+		assertTrue(storage.expire(RString.bulk("other"), now + 20_000, ExpireCondition.ALWAYS));
+		assertEquals(3, storage.size());
+
+		final var averageTtl = storage.averageTtl();
+		assertTrue(averageTtl > 35_000 && averageTtl <= 40_000, String.valueOf(averageTtl));
+
+		assertTrue(storage.persist(key));
+		assertTrue(storage.averageTtl() <= 20_000);
+	}
+
+}
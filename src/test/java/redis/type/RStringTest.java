@@ -0,0 +1,59 @@
+package redis.type;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.OptionalInt;
+
+import org.junit.jupiter.api.Test;
+
+class RStringTest {
+
+	@Test
+	void numbers() {
+		assertEquals(0, RString.bulk("0").asLong());
+		assertEquals(-42, RString.bulk("-42").asLong());
+		assertEquals(Long.MAX_VALUE, RString.bulk("9223372036854775807").asLong());
+		assertEquals(Long.MIN_VALUE, RString.bulk("-9223372036854775808").asLong());
+
+		assertThrows(NumberFormatException.class, () -> RString.bulk("9223372036854775808").asLong());
+		assertThrows(NumberFormatException.class, () -> RString.bulk("").asLong());
+		assertThrows(NumberFormatException.class, () -> RString.bulk("-").asLong());
+		assertThrows(NumberFormatException.class, () -> RString.bulk("1a").asLong());
+		assertThrows(NumberFormatException.class, () -> RString.bulk("+42").asLong());
+
+		assertEquals(OptionalInt.of(Integer.MIN_VALUE), RString.bulk("-2147483648").asInteger());
+		assertEquals(OptionalInt.empty(), RString.bulk("2147483648").asInteger());
+		assertEquals(OptionalInt.empty(), RString.bulk("abc").asInteger());
+
+		for (final var number : new long[] { 0, 7, 10_000, 10_001, -1, Long.MAX_VALUE, Long.MIN_VALUE }) {
+			assertEquals(RString.bulk(String.valueOf(number)), RString.number(number));
+		}
+
+		assertSame(RString.number(42), RString.number(42));
+	}
+
+	@Test
+	void equality() {
+		assertEquals(RString.bulk("key"), RString.simple("key"));
+		assertEquals(RString.bulk("key").hashCode(), RString.bulk("key".getBytes()).hashCode());
+		assertNotEquals(RString.bulk("key"), RString.bulk("KEY"));
+
+		assertTrue(RString.equalsIgnoreCase(RString.bulk("px"), "PX"));
+		assertFalse(RString.equalsIgnoreCase(RString.bulk("p"), "PX"));
+		assertFalse(RString.equalsIgnoreCase(RString.bulk("{x"), "[X"));
+	}
+
+	@Test
+	void binary() {
+		final var bytes = new byte[] { (byte) 0xff, (byte) 0xfe };
+
+		assertEquals(2, RString.bulk(bytes).length());
+		assertEquals(RString.bulk(bytes.clone()), RString.bulk(bytes));
+	}
+
+}
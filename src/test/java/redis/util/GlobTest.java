@@ -0,0 +1,45 @@
+package redis.util;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+class GlobTest {
+
+	@Test
+	void wildcards() {
+		assertTrue(matches("*", ""));
+		assertTrue(matches("*", "anything"));
+		assertTrue(matches("user:*", "user:42"));
+		assertFalse(matches("user:*", "session:42"));
+		assertTrue(matches("h?llo", "hello"));
+		assertFalse(matches("h?llo", "hllo"));
+		assertTrue(matches("*:*:end", "a:b:end"));
+		assertFalse(matches("*a*b", "aaaaaaaaaaaaaaaaaaaaaaaaaaaaac"));
+	}
+
+	@Test
+	void sets() {
+		assertTrue(matches("h[ae]llo", "hallo"));
+		assertFalse(matches("h[ae]llo", "hillo"));
+		assertTrue(matches("h[^e]llo", "hallo"));
+		assertFalse(matches("h[^e]llo", "hello"));
+		assertTrue(matches("h[a-b]llo", "hbllo"));
+		assertTrue(matches("h[b-a]llo", "hallo"));
+		assertFalse(matches("key[", "keyx"));
+	}
+
+	@Test
+	void escape() {
+		assertTrue(matches("a\\*b", "a*b"));
+		assertFalse(matches("a\\*b", "axb"));
+	}
+
+	private static boolean matches(String pattern, String string) {
+		return Glob.matches(pattern.getBytes(StandardCharsets.UTF_8), string.getBytes(StandardCharsets.UTF_8));
+	}
+
+}
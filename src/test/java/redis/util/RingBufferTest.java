@@ -0,0 +1,96 @@
+package redis.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+class RingBufferTest {
+
+	@Test
+	void capacity() {
+		assertEquals(1, new RingBuffer<>(1).capacity());
+		assertEquals(4, new RingBuffer<>(3).capacity());
+		assertEquals(4, new RingBuffer<>(4).capacity());
+		assertEquals(8, new RingBuffer<>(5).capacity());
+	}
+
+	@Test
+	void full() {
+		final var buffer = new RingBuffer<Integer>(2);
+
+		assertTrue(buffer.isEmpty());
+		assertTrue(buffer.offer(1));
+		assertTrue(buffer.offer(2));
+		assertFalse(buffer.offer(3));
+
+		assertEquals(1, buffer.poll());
+		assertTrue(buffer.offer(3));
+
+		assertEquals(2, buffer.poll());
+		assertEquals(3, buffer.poll());
+		assertNull(buffer.poll());
+		assertTrue(buffer.isEmpty());
+	}
+
+	/* a lost value would make the consumer wait forever */
+	@Test
+	@Timeout(10)
+	void producers() throws InterruptedException {
+		final var producers = 4;
+		final var perProducer = 5_000;
+
+		final var buffer = new RingBuffer<Integer>(256);
+		final var start = new CountDownLatch(1);
+		final var threads = new ArrayList<Thread>();
+
+		for (var producer = 0; producer < producers; ++producer) {
+			final var offset = producer * perProducer;
+
+			threads.add(Thread.ofPlatform().start(() -> {
+				try {
+					start.await();
+				} catch (InterruptedException exception) {
+					return;
+				}
+
+				for (var index = 0; index < perProducer; ++index) {
+					/* yield rather than spin, a single processor would otherwise be held until preempted */
+					while (!buffer.offer(offset + index)) {
+						Thread.yield();
+					}
+				}
+			}));
+		}
+
+		start.countDown();
+
+		/* values of a producer must come in order, and none may be lost */
+		final var next = new int[producers];
+		for (var received = 0; received < producers * perProducer;) {
+			final var value = buffer.poll();
+			if (value == null) {
+				Thread.yield();
+				continue;
+			}
+
+			final var producer = value / perProducer;
+			assertEquals(producer * perProducer + next[producer], value);
+			++next[producer];
+			++received;
+		}
+
+		for (final var thread : threads) {
+			thread.join();
+		}
+
+		assertTrue(buffer.isEmpty());
+	}
+
+}
@@ -0,0 +1,84 @@
+package redis.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class ScanIndexTest {
+
+	@Test
+	void visitsEveryElementOnce() {
+		final var index = new ScanIndex<Integer>();
+		for (var value = 0; value < 1000; ++value) {
+			index.add(value);
+		}
+
+		final var visited = new ArrayList<Integer>();
+		var cursor = 0L;
+		var calls = 0;
+
+		do {
+			cursor = index.scan(cursor, 10, visited::add);
+			++calls;
+		} while (cursor != 0);
+
+		assertEquals(100, calls);
+		assertEquals(1000, visited.size());
+		assertEquals(1000, new HashSet<>(visited).size());
+	}
+
+	@Test
+	void survivesChanges() {
+		final var index = new ScanIndex<Integer>();
+		for (var value = 0; value < 1000; ++value) {
+			index.add(value);
+		}
+
+		final var visited = new HashSet<Integer>();
+		var cursor = 0L;
+		var added = 1000;
+		var removed = 0;
+
+		do {
+			cursor = index.scan(cursor, 10, visited::add);
+
+			/* grow and shrink while scanning, the elements that stay must all be seen */
+			for (var count = 0; count < 20; ++count) {
+				index.add(added++);
+			}
+
+			if (removed < 500) {
+				index.remove(removed++);
+			}
+		} while (cursor != 0);
+
+		for (var value = 500; value < 1000; ++value) {
+			assertTrue(visited.contains(value), String.valueOf(value));
+		}
+	}
+
+	@Test
+	void collisions() {
+		/* "Aa" and "BB" share their hash */
+		final var index = new ScanIndex<String>();
+		index.add("Aa");
+		index.add("BB");
+		index.add("C");
+
+		final var visited = new ArrayList<String>();
+		final var cursor = index.scan(0, 1, visited::add);
+
+		if (visited.contains("Aa")) {
+			assertTrue(visited.containsAll(List.of("Aa", "BB")));
+		}
+
+		index.scan(cursor, 10, visited::add);
+		assertEquals(3, visited.size());
+	}
+
+}